@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@link JSONOutput} that encodes characters as UTF-8 bytes directly, and writes them to an OutputStream.
+ * Unpaired surrogate characters are encoded as <code>?</code>.
+ * @author Matthew Tropiano
+ */
+class JSONByteOutput extends JSONOutput
+{
+	/** Buffer pool. Holds a buffer for each thread, when not in use. */
+	private static final ThreadLocal<byte[]> BUFFER_POOL = new ThreadLocal<>();
+
+	/** The target stream. */
+	private OutputStream out;
+	/** The write buffer. */
+	private byte[] buffer;
+	/** Current position in the write buffer. */
+	private int position;
+
+	/**
+	 * Creates a new output that writes to an OutputStream.
+	 * @param out the output stream to write to.
+	 */
+	JSONByteOutput(OutputStream out)
+	{
+		this.out = out;
+		this.buffer = BUFFER_POOL.get();
+		if (buffer != null)
+			BUFFER_POOL.set(null);
+		else
+			this.buffer = new byte[BUFFER_SIZE];
+		this.position = 0;
+	}
+
+	@Override
+	void write(char c) throws IOException
+	{
+		if (buffer.length - position < 3)
+			drain();
+		if (c < 0x80)
+			buffer[position++] = (byte)c;
+		else
+			encode(c);
+	}
+
+	@Override
+	void write(String s, int start, int end) throws IOException
+	{
+		int i = start;
+		while (i < end)
+		{
+			// encode run of ASCII characters.
+			byte[] buf = buffer;
+			int p = position;
+			int stop = Math.min(end, i + (buf.length - p));
+			char c;
+			while (i < stop && (c = s.charAt(i)) < 0x80)
+			{
+				buf[p++] = (byte)c;
+				i++;
+			}
+			position = p;
+
+			if (i == end)
+				return;
+
+			if (buffer.length - position < 4)
+				drain();
+			c = s.charAt(i++);
+			if (c < 0x80)
+				buffer[position++] = (byte)c;
+			else if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(s.charAt(i)))
+				encodeCodePoint(Character.toCodePoint(c, s.charAt(i++)));
+			else
+				encode(c);
+		}
+	}
+
+	@Override
+	void write(char[] cbuf, int start, int end) throws IOException
+	{
+		for (int i = start; i < end; i++)
+		{
+			char c = cbuf[i];
+			if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(cbuf[i + 1]))
+			{
+				if (buffer.length - position < 4)
+					drain();
+				encodeCodePoint(Character.toCodePoint(c, cbuf[++i]));
+			}
+			else
+			{
+				write(c);
+			}
+		}
+	}
+
+	@Override
+	void flush() throws IOException
+	{
+		drain();
+		out.flush();
+	}
+
+	@Override
+	void release()
+	{
+		BUFFER_POOL.set(buffer);
+		buffer = null;
+	}
+
+	// Encodes a non-ASCII character that is not part of a surrogate pair. Needs 3 bytes of room.
+	private void encode(char c)
+	{
+		if (c < 0x800)
+		{
+			buffer[position++] = (byte)(0xC0 | (c >> 6));
+			buffer[position++] = (byte)(0x80 | (c & 0x3F));
+		}
+		else if (Character.isSurrogate(c))
+		{
+			buffer[position++] = (byte)'?';
+		}
+		else
+		{
+			buffer[position++] = (byte)(0xE0 | (c >> 12));
+			buffer[position++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+			buffer[position++] = (byte)(0x80 | (c & 0x3F));
+		}
+	}
+
+	// Encodes a supplementary code point. Needs 4 bytes of room.
+	private void encodeCodePoint(int codePoint)
+	{
+		buffer[position++] = (byte)(0xF0 | (codePoint >> 18));
+		buffer[position++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+		buffer[position++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+		buffer[position++] = (byte)(0x80 | (codePoint & 0x3F));
+	}
+
+	// Writes the buffer's contents to the stream.
+	private void drain() throws IOException
+	{
+		if (position > 0)
+			out.write(buffer, 0, position);
+		position = 0;
+	}
+
+}
@@ -0,0 +1,665 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link JSONScanner} that scans UTF-8 encoded bytes directly.
+ * <p>
+ * Structure, keywords, and numbers are scanned as raw bytes - only the contents
+ * of strings and identifiers are decoded to characters. Malformed UTF-8 sequences
+ * are decoded as the Unicode replacement character (U+FFFD).
+ * @author Matthew Tropiano
+ */
+class JSONByteScanner extends JSONScanner
+{
+	/** Unicode replacement character. */
+	private static final int REPLACEMENT_CHARACTER = 0xFFFD;
+	/** Largest region of a file to map at once. */
+	private static final long MAX_REGION_SIZE = 1L << 30;
+
+	/** The source stream. Can be null if the whole input is already in the buffer, or is read from a region. */
+	private InputStream in;
+	/** The read buffer. Null if reading from a region. */
+	private byte[] buffer;
+	/** The ByteBuffer or mapped file region to read from with absolute gets. Null if reading from the read buffer. */
+	private ByteBuffer region;
+	/** The file channel to map regions from. Null if not reading a file. */
+	private FileChannel channel;
+	/** File position of the next region to map. */
+	private long regionPosition;
+	/** File position of the end of the last region. */
+	private long regionEnd;
+	/** Current position in the read buffer or region. */
+	private int position;
+	/** The end of valid bytes in the read buffer or region. */
+	private int limit;
+
+	/**
+	 * Creates a scanner for reading JSON from an InputStream.
+	 * The encoding is detected from the first bytes of the stream, as described in RFC 4627:
+	 * a UTF-8 byte order mark is skipped, and UTF-16 input (with or without a byte order mark) is
+	 * read through a {@link JSONCharScanner}. Everything else is read as UTF-8.
+	 * @param in the input stream to read from.
+	 * @return a new scanner.
+	 * @throws IOException if the stream can't be read.
+	 */
+	static JSONScanner create(InputStream in) throws IOException
+	{
+		JSONByteScanner out = new JSONByteScanner(in);
+		if (!out.fill())
+			return out;
+
+		// Byte order mark and UTF-16 detection need the first few bytes.
+		int b0 = out.buffer[0] & 0x0ff;
+		out.fillAtLeast(b0 == 0xEF ? 3 : 2);
+
+		byte[] buf = out.buffer;
+		int len = out.limit;
+		Charset charset = detectCharset(buf, 0, len);
+		int skip = byteOrderMarkLength(buf, 0, len, charset);
+		if (charset == null)
+		{
+			out.position = skip;
+			return out;
+		}
+
+		InputStream remainder = new SequenceInputStream(new ByteArrayInputStream(buf, skip, len - skip), in);
+		return new JSONCharScanner(new InputStreamReader(remainder, charset));
+	}
+
+	/**
+	 * Creates a scanner for reading JSON from a range of a byte array.
+	 * The encoding is detected the same way as {@link #create(InputStream)}.
+	 * UTF-8 input is scanned in place, and is not copied.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte.
+	 * @param length the amount of bytes.
+	 * @return a new scanner.
+	 * @throws IndexOutOfBoundsException if the offset or length are out of the array's bounds.
+	 */
+	static JSONScanner create(byte[] data, int offset, int length)
+	{
+		if (offset < 0 || length < 0 || length > data.length - offset)
+			throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length + ", Array length: " + data.length);
+
+		Charset charset = detectCharset(data, offset, length);
+		int skip = byteOrderMarkLength(data, offset, length, charset);
+		if (charset == null)
+		{
+			JSONByteScanner out = new JSONByteScanner(data, offset, length);
+			out.position += skip;
+			return out;
+		}
+
+		return new JSONCharScanner(new InputStreamReader(new ByteArrayInputStream(data, offset + skip, length - skip), charset));
+	}
+
+	/**
+	 * Creates a scanner for reading JSON from the remaining bytes in a buffer.
+	 * The encoding is detected the same way as {@link #create(InputStream)}.
+	 * The buffer's position and limit are not changed. UTF-8 input is scanned in place, and is not copied:
+	 * through the backing array if the buffer has an accessible one, or else with absolute gets 
+	 * (for direct and read-only buffers).
+	 * @param buffer the buffer to read.
+	 * @return a new scanner.
+	 * @throws IOException if the buffer can't be read.
+	 */
+	static JSONScanner create(ByteBuffer buffer) throws IOException
+	{
+		if (buffer.hasArray())
+			return create(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		return createForRegions(new JSONByteScanner(buffer));
+	}
+
+	/**
+	 * Creates a scanner for reading JSON from a file channel, through memory-mapped regions of the file.
+	 * The file is read from the channel's current position to its end, and the channel's position is not changed.
+	 * The encoding is detected the same way as {@link #create(InputStream)}.
+	 * UTF-8 input is scanned straight from the mapped regions, one at a time, and is not copied.
+	 * @param channel the file channel to read from.
+	 * @return a new scanner.
+	 * @throws IOException if the channel can't be read or mapped.
+	 */
+	static JSONScanner create(FileChannel channel) throws IOException
+	{
+		return createForRegions(new JSONByteScanner(channel));
+	}
+
+	// Detects the encoding of input read from regions, and returns the scanner for it.
+	private static JSONScanner createForRegions(JSONByteScanner out) throws IOException
+	{
+		if (out.position >= out.limit && !out.fill())
+			return out;
+
+		// A region only ends before the input does if it is the largest size, so it has all of the first few bytes.
+		byte[] start = new byte[Math.min(3, out.limit - out.position)];
+		for (int i = 0; i < start.length; i++)
+			start[i] = out.region.get(out.position + i);
+
+		Charset charset = detectCharset(start, 0, start.length);
+		out.position += byteOrderMarkLength(start, 0, start.length, charset);
+		if (charset == null)
+			return out;
+
+		return new JSONCharScanner(Channels.newReader(new RegionChannel(out), charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE), 
+		-1));
+	}
+
+	// Gets the charset of input from its first bytes (RFC 4627), or null if it is UTF-8.
+	private static Charset detectCharset(byte[] buf, int offset, int length)
+	{
+		if (length < 2)
+			return null;
+		int b0 = buf[offset] & 0x0ff;
+		int b1 = buf[offset + 1] & 0x0ff;
+		if (b0 == 0xFE && b1 == 0xFF)
+			return StandardCharsets.UTF_16BE;
+		else if (b0 == 0xFF && b1 == 0xFE)
+			return StandardCharsets.UTF_16LE;
+		else if (b0 == 0x00 && b1 != 0x00)
+			return StandardCharsets.UTF_16BE;
+		else if (b0 != 0x00 && b1 == 0x00)
+			return StandardCharsets.UTF_16LE;
+		else
+			return null;
+	}
+
+	// Gets the length of the byte order mark at the start of input, or 0 if none.
+	private static int byteOrderMarkLength(byte[] buf, int offset, int length, Charset charset)
+	{
+		if (charset == null)
+		{
+			if (length >= 3 && (buf[offset] & 0x0ff) == 0xEF && (buf[offset + 1] & 0x0ff) == 0xBB && (buf[offset + 2] & 0x0ff) == 0xBF)
+				return 3;
+			return 0;
+		}
+		int b0 = buf[offset] & 0x0ff;
+		int b1 = buf[offset + 1] & 0x0ff;
+		if ((b0 == 0xFE && b1 == 0xFF) || (b0 == 0xFF && b1 == 0xFE))
+			return 2;
+		return 0;
+	}
+
+	/**
+	 * Creates a new scanner that reads UTF-8 from an InputStream.
+	 * @param in the input stream to read from.
+	 */
+	JSONByteScanner(InputStream in)
+	{
+		super();
+		this.in = in;
+		this.buffer = new byte[BUFFER_SIZE];
+		this.position = 0;
+		this.limit = 0;
+	}
+
+	/**
+	 * Creates a new scanner that reads UTF-8 from the remaining bytes in a ByteBuffer.
+	 * The bytes are scanned in place with absolute gets, and the buffer's position and limit are not changed.
+	 * @param buffer the buffer to read.
+	 */
+	JSONByteScanner(ByteBuffer buffer)
+	{
+		super();
+		this.region = buffer;
+		this.position = buffer.position();
+		this.limit = position + acceptInput(buffer.remaining());
+	}
+
+	/**
+	 * Creates a new scanner that reads UTF-8 from a file channel, from its current position to the end of the file.
+	 * The file is mapped one region at a time, as the scanner needs it, and the channel's position is not changed.
+	 * @param channel the file channel to read from.
+	 * @throws IOException if the channel's position or size can't be read.
+	 */
+	JSONByteScanner(FileChannel channel) throws IOException
+	{
+		super();
+		this.channel = channel;
+		this.regionPosition = channel.position();
+		this.regionEnd = channel.size();
+		this.position = 0;
+		this.limit = 0;
+	}
+
+	/**
+	 * Creates a new scanner that reads UTF-8 from a range of a byte array.
+	 * The bytes are scanned in place, and are not copied.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte.
+	 * @param length the amount of bytes.
+	 */
+	JSONByteScanner(byte[] data, int offset, int length)
+	{
+		super();
+		this.in = null;
+		this.buffer = data;
+		this.position = offset;
+		this.limit = offset + acceptInput(length);
+	}
+
+	@Override
+	int nextToken() throws IOException
+	{
+		tokenLength = 0;
+		while (true)
+		{
+			if (position >= limit && !fill())
+			{
+				tokenLineNumber = lineNumber;
+				return tokenType = TOKEN_END;
+			}
+
+			byte b = byteAt(position);
+			tokenLineNumber = lineNumber;
+			if (b < 0)
+			{
+				if (scanNonAscii())
+					return identifierType();
+				continue;
+			}
+
+			switch (CHAR_CLASS[b])
+			{
+				case CLASS_NEWLINE:
+					lineNumber++;
+					position++;
+					break;
+				case CLASS_WHITESPACE:
+					position++;
+					break;
+				case CLASS_DELIMITER:
+					position++;
+					tokenChars[0] = (char)b;
+					tokenLength = 1;
+					return tokenType = DELIMITER_TYPE[b];
+				case CLASS_QUOTE:
+					position++;
+					tokenType = TOKEN_STRING;
+					scanString(b);
+					return tokenType;
+				case CLASS_NUMBER:
+					tokenType = TOKEN_NUMBER;
+					scanNumber();
+					return tokenType;
+				case CLASS_IDENTIFIER:
+					tokenType = TOKEN_IDENTIFIER;
+					scanIdentifier();
+					return identifierType();
+				default:
+					position++;
+					tokenType = TOKEN_IDENTIFIER;
+					appendToken((char)b);
+					throw error("Unexpected character.");
+			}
+		}
+	}
+
+	@Override
+	void setLimits(int maxTokenLength, long maxInputLength)
+	{
+		super.setLimits(maxTokenLength, maxInputLength);
+		// what was already buffered was already counted: cut off what is past the limit.
+		limit -= (int)Math.min(inputOverLimit(), limit - position);
+	}
+
+	@Override
+	protected int readAscii() throws IOException
+	{
+		if (position >= limit && !fill())
+			return -1;
+		return byteAt(position++);
+	}
+
+	// Gets a byte from the read buffer or region.
+	private byte byteAt(int index)
+	{
+		return region != null ? region.get(index) : buffer[index];
+	}
+
+	// Fills the buffer, or maps the next region of a file. Returns false if no more bytes.
+	private boolean fill() throws IOException
+	{
+		checkInputLimit();
+		if (channel != null)
+			return nextRegion();
+		if (in == null)
+			return false;
+
+		int read;
+		while ((read = in.read(buffer, 0, buffer.length)) == 0) ;
+		if (read < 0)
+		{
+			position = limit = 0;
+			return false;
+		}
+
+		position = 0;
+		limit = acceptInput(read);
+		return true;
+	}
+
+	// Maps the next region of the file. Returns false if at the end of the file.
+	private boolean nextRegion() throws IOException
+	{
+		if (regionPosition >= regionEnd)
+			return false;
+
+		long length = Math.min(regionEnd - regionPosition, MAX_REGION_SIZE);
+		region = channel.map(FileChannel.MapMode.READ_ONLY, regionPosition, length);
+		regionPosition += length;
+		position = 0;
+		limit = acceptInput((int)length);
+		return true;
+	}
+
+	// Reads until the buffer has at least a certain amount of bytes, or the stream ends.
+	private void fillAtLeast(int amount) throws IOException
+	{
+		int read;
+		while (limit < amount && (read = in.read(buffer, limit, buffer.length - limit)) >= 0)
+		{
+			limit += read;
+			inputLength += read;
+		}
+	}
+
+	// Peeks a byte, or -1 if end of stream.
+	private int peekByte() throws IOException
+	{
+		if (position >= limit && !fill())
+			return -1;
+		return byteAt(position) & 0x0ff;
+	}
+
+	// Reads a UTF-8 continuation byte's payload, or -1 if the next byte is not a continuation byte (not consumed).
+	private int readContinuation() throws IOException
+	{
+		int b = peekByte();
+		if ((b & 0xC0) != 0x80)
+			return -1;
+		position++;
+		return b & 0x3F;
+	}
+
+	// Decodes a code point from a UTF-8 sequence, after its lead byte is consumed.
+	private int decodeCodePoint(int lead) throws IOException
+	{
+		int c1, c2, c3;
+		if (lead >= 0xC2 && lead <= 0xDF)
+		{
+			if ((c1 = readContinuation()) < 0)
+				return REPLACEMENT_CHARACTER;
+			return ((lead & 0x1F) << 6) | c1;
+		}
+		else if (lead >= 0xE0 && lead <= 0xEF)
+		{
+			if ((c1 = readContinuation()) < 0 || (c2 = readContinuation()) < 0)
+				return REPLACEMENT_CHARACTER;
+			int out = ((lead & 0x0F) << 12) | (c1 << 6) | c2;
+			return out < 0x800 || Character.isSurrogate((char)out) ? REPLACEMENT_CHARACTER : out;
+		}
+		else if (lead >= 0xF0 && lead <= 0xF4)
+		{
+			if ((c1 = readContinuation()) < 0 || (c2 = readContinuation()) < 0 || (c3 = readContinuation()) < 0)
+				return REPLACEMENT_CHARACTER;
+			int out = ((lead & 0x07) << 18) | (c1 << 12) | (c2 << 6) | c3;
+			return out < 0x10000 || out > Character.MAX_CODE_POINT ? REPLACEMENT_CHARACTER : out;
+		}
+		else
+			return REPLACEMENT_CHARACTER;
+	}
+
+	// Handles a non-ASCII character outside of a string: either whitespace or an identifier start.
+	// Returns true if an identifier was scanned.
+	private boolean scanNonAscii() throws IOException
+	{
+		int codePoint = decodeCodePoint(byteAt(position++) & 0x0ff);
+		if (Character.isWhitespace(codePoint))
+			return false;
+
+		appendCodePoint(codePoint);
+		tokenType = TOKEN_IDENTIFIER;
+		if (!Character.isLetter(codePoint))
+			throw error("Unexpected character.");
+		scanIdentifier();
+		return true;
+	}
+
+	// Scans a string, starting after the opening quote.
+	private void scanString(byte quote) throws IOException
+	{
+		while (true)
+		{
+			if (position >= limit && !fill())
+				throw error("Unterminated string.");
+
+			// scan run of plain ASCII characters.
+			byte[] buf = buffer;
+			ByteBuffer reg = region;
+			int end = limit;
+			int p = position;
+			char[] out = tokenChars;
+			int o = tokenLength;
+			byte b = 0;
+			while (p < end)
+			{
+				b = reg != null ? reg.get(p) : buf[p];
+				if (b < 0 || b == quote || b == '\\' || b == '\n')
+					break;
+				if (o == out.length)
+				{
+					tokenLength = o;
+					growToken(o + 1);
+					out = tokenChars;
+				}
+				out[o++] = (char)b;
+				p++;
+			}
+
+			tokenLength = o;
+			position = p;
+			if (p == end)
+				continue;
+
+			position++;
+			if (b == quote)
+				return;
+			else if (b == '\n')
+				throw error("Unterminated string.");
+			else if (b == '\\')
+				appendEscape(readAscii());
+			else
+				appendCodePoint(decodeCodePoint(b & 0x0ff));
+		}
+	}
+
+	// Scans a number.
+	private void scanNumber() throws IOException
+	{
+		numberFlags = 0;
+		int c = peekByte();
+		if (c == '-')
+		{
+			appendToken('-');
+			position++;
+			c = peekByte();
+		}
+
+		int digits = 0;
+		if (c == '0')
+		{
+			appendToken('0');
+			position++;
+			digits++;
+			if ((c = peekByte()) == 'x' || c == 'X')
+			{
+				numberFlags |= NUMBER_HEX;
+				appendToken((char)c);
+				position++;
+				digits = 0;
+				while ((c = peekByte()) >= 0 && c < 128 && HEX_VALUE[c] >= 0)
+				{
+					appendToken((char)c);
+					position++;
+					digits++;
+				}
+			}
+		}
+
+		if ((numberFlags & NUMBER_HEX) == 0)
+		{
+			while (c >= '0' && c <= '9')
+			{
+				appendToken((char)c);
+				position++;
+				digits++;
+				c = peekByte();
+			}
+
+			if (c == '.')
+			{
+				numberFlags |= NUMBER_FRACTION;
+				appendToken('.');
+				position++;
+				while ((c = peekByte()) >= '0' && c <= '9')
+				{
+					appendToken((char)c);
+					position++;
+					digits++;
+				}
+			}
+
+			if (digits > 0 && (c == 'e' || c == 'E'))
+			{
+				numberFlags |= NUMBER_EXPONENT;
+				appendToken((char)c);
+				position++;
+				if ((c = peekByte()) == '+' || c == '-')
+				{
+					appendToken((char)c);
+					position++;
+					c = peekByte();
+				}
+				int exponentDigits = 0;
+				while (c >= '0' && c <= '9')
+				{
+					appendToken((char)c);
+					position++;
+					exponentDigits++;
+					c = peekByte();
+				}
+				if (exponentDigits == 0)
+					digits = 0;
+			}
+		}
+
+		if (c >= 128)
+		{
+			position++;
+			endNumber(decodeCodePoint(c), digits == 0);
+		}
+		else if (digits == 0 || (c >= 0 && IDENTIFIER_PART[c]))
+		{
+			if (c >= 0 && IDENTIFIER_PART[c])
+			{
+				appendToken((char)c);
+				position++;
+			}
+			throw error("Malformed number.");
+		}
+	}
+
+	// Scans the rest of an identifier.
+	private void scanIdentifier() throws IOException
+	{
+		int c;
+		while ((c = peekByte()) >= 0)
+		{
+			if (c < 128)
+			{
+				if (!IDENTIFIER_PART[c])
+					return;
+				appendToken((char)c);
+				position++;
+			}
+			else
+			{
+				position++;
+				int codePoint = decodeCodePoint(c);
+				if (Character.isLetterOrDigit(codePoint))
+					appendCodePoint(codePoint);
+				else if (Character.isWhitespace(codePoint))
+					return;
+				else
+				{
+					appendCodePoint(codePoint);
+					throw error("Unexpected character.");
+				}
+			}
+		}
+	}
+
+	/**
+	 * A channel over the rest of the input of a scanner that reads from regions, 
+	 * for decoding the input as characters when it is not UTF-8.
+	 * Reading this does not change the position of the ByteBuffer or file channel.
+	 */
+	private static class RegionChannel implements ReadableByteChannel
+	{
+		/** The scanner to take the regions from. */
+		private JSONByteScanner scanner;
+
+		private RegionChannel(JSONByteScanner scanner)
+		{
+			this.scanner = scanner;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) throws IOException
+		{
+			if (scanner.position >= scanner.limit && !scanner.fill())
+				return -1;
+			int amount = Math.min(dst.remaining(), scanner.limit - scanner.position);
+			ByteBuffer src = scanner.region.duplicate();
+			src.limit(scanner.position + amount);
+			src.position(scanner.position);
+			dst.put(src);
+			scanner.position += amount;
+			return amount;
+		}
+
+		@Override
+		public boolean isOpen()
+		{
+			return true;
+		}
+
+		@Override
+		public void close()
+		{
+			// Nothing to close: the buffer or file channel belongs to the caller.
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A {@link JSONOutput} that writes characters to a Writer.
+ * @author Matthew Tropiano
+ */
+class JSONCharOutput extends JSONOutput
+{
+	/** Buffer pool. Holds a buffer for each thread, when not in use. */
+	private static final ThreadLocal<char[]> BUFFER_POOL = new ThreadLocal<>();
+
+	/** The target writer. */
+	private Writer writer;
+	/** The write buffer. */
+	private char[] buffer;
+	/** Current position in the write buffer. */
+	private int position;
+
+	/**
+	 * Creates a new output that writes to a Writer.
+	 * @param writer the writer to write to.
+	 */
+	JSONCharOutput(Writer writer)
+	{
+		this.writer = writer;
+		this.buffer = BUFFER_POOL.get();
+		if (buffer != null)
+			BUFFER_POOL.set(null);
+		else
+			this.buffer = new char[BUFFER_SIZE];
+		this.position = 0;
+	}
+
+	@Override
+	void write(char c) throws IOException
+	{
+		if (position == buffer.length)
+			drain();
+		buffer[position++] = c;
+	}
+
+	@Override
+	void write(String s, int start, int end) throws IOException
+	{
+		int len = end - start;
+		if (len > buffer.length - position)
+		{
+			drain();
+			// Too big to buffer - write it directly.
+			if (len > buffer.length)
+			{
+				writer.write(s, start, len);
+				return;
+			}
+		}
+		s.getChars(start, end, buffer, position);
+		position += len;
+	}
+
+	@Override
+	void write(char[] cbuf, int start, int end) throws IOException
+	{
+		int len = end - start;
+		if (len > buffer.length - position)
+		{
+			drain();
+			// Too big to buffer - write it directly.
+			if (len > buffer.length)
+			{
+				writer.write(cbuf, start, len);
+				return;
+			}
+		}
+		System.arraycopy(cbuf, start, buffer, position, len);
+		position += len;
+	}
+
+	@Override
+	void flush() throws IOException
+	{
+		drain();
+		writer.flush();
+	}
+
+	@Override
+	void release()
+	{
+		BUFFER_POOL.set(buffer);
+		buffer = null;
+	}
+
+	// Writes the buffer's contents to the writer.
+	private void drain() throws IOException
+	{
+		if (position > 0)
+			writer.write(buffer, 0, position);
+		position = 0;
+	}
+
+}
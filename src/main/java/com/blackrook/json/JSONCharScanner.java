@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A {@link JSONScanner} that scans characters from a Reader or String.
+ * @author Matthew Tropiano
+ */
+class JSONCharScanner extends JSONScanner
+{
+	/** The source reader. Can be null if the whole input is already in the buffer. */
+	private Reader reader;
+	/** The read buffer. */
+	private char[] buffer;
+	/** Current position in the read buffer. */
+	private int position;
+	/** The end of valid characters in the read buffer. */
+	private int limit;
+
+	/**
+	 * Creates a new scanner that reads from a Reader.
+	 * @param reader the reader to read from.
+	 */
+	JSONCharScanner(Reader reader)
+	{
+		this(reader, new char[BUFFER_SIZE], 0);
+	}
+
+	/**
+	 * Creates a new scanner that reads from a String.
+	 * @param data the string to read.
+	 */
+	JSONCharScanner(String data)
+	{
+		this(null, data.toCharArray(), data.length());
+	}
+
+	private JSONCharScanner(Reader reader, char[] buffer, int limit)
+	{
+		super();
+		this.reader = reader;
+		this.buffer = buffer;
+		this.position = 0;
+		this.limit = acceptInput(limit);
+	}
+
+	@Override
+	int nextToken() throws IOException
+	{
+		tokenLength = 0;
+		while (true)
+		{
+			if (position >= limit && !fill())
+			{
+				tokenLineNumber = lineNumber;
+				return tokenType = TOKEN_END;
+			}
+
+			char c = buffer[position];
+			tokenLineNumber = lineNumber;
+			if (c >= 128)
+			{
+				if (scanNonAscii())
+					return identifierType();
+				continue;
+			}
+
+			switch (CHAR_CLASS[c])
+			{
+				case CLASS_NEWLINE:
+					lineNumber++;
+					position++;
+					break;
+				case CLASS_WHITESPACE:
+					position++;
+					break;
+				case CLASS_DELIMITER:
+					position++;
+					tokenChars[0] = c;
+					tokenLength = 1;
+					return tokenType = DELIMITER_TYPE[c];
+				case CLASS_QUOTE:
+					position++;
+					tokenType = TOKEN_STRING;
+					scanString(c);
+					return tokenType;
+				case CLASS_NUMBER:
+					tokenType = TOKEN_NUMBER;
+					scanNumber();
+					return tokenType;
+				case CLASS_IDENTIFIER:
+					tokenType = TOKEN_IDENTIFIER;
+					scanIdentifier();
+					return identifierType();
+				default:
+					position++;
+					tokenType = TOKEN_IDENTIFIER;
+					appendToken(c);
+					throw error("Unexpected character.");
+			}
+		}
+	}
+
+	@Override
+	void setLimits(int maxTokenLength, long maxInputLength)
+	{
+		super.setLimits(maxTokenLength, maxInputLength);
+		// what was already buffered was already counted: cut off what is past the limit.
+		limit -= (int)Math.min(inputOverLimit(), limit - position);
+	}
+
+	@Override
+	protected int readAscii() throws IOException
+	{
+		if (position >= limit && !fill())
+			return -1;
+		return buffer[position++];
+	}
+
+	// Fills the buffer. Returns false if no more characters.
+	private boolean fill() throws IOException
+	{
+		checkInputLimit();
+		if (reader == null)
+			return false;
+
+		int read;
+		while ((read = reader.read(buffer, 0, buffer.length)) == 0) ;
+		if (read < 0)
+		{
+			position = limit = 0;
+			return false;
+		}
+
+		position = 0;
+		limit = acceptInput(read);
+		return true;
+	}
+
+	// Peeks a character, or -1 if end of stream.
+	private int peekChar() throws IOException
+	{
+		if (position >= limit && !fill())
+			return -1;
+		return buffer[position];
+	}
+
+	// Reads a code point, after its first character is consumed: a surrogate pair is read as one code point.
+	private int readCodePoint(char c) throws IOException
+	{
+		if (Character.isHighSurrogate(c))
+		{
+			int low = peekChar();
+			if (low >= 0 && Character.isLowSurrogate((char)low))
+			{
+				position++;
+				return Character.toCodePoint(c, (char)low);
+			}
+		}
+		return c;
+	}
+
+	// Handles a non-ASCII character outside of a string: either whitespace or an identifier start.
+	// Returns true if an identifier was scanned.
+	private boolean scanNonAscii() throws IOException
+	{
+		int codePoint = readCodePoint(buffer[position++]);
+		if (Character.isWhitespace(codePoint))
+			return false;
+
+		appendCodePoint(codePoint);
+		tokenType = TOKEN_IDENTIFIER;
+		if (!Character.isLetter(codePoint))
+			throw error("Unexpected character.");
+		scanIdentifier();
+		return true;
+	}
+
+	// Scans a string, starting after the opening quote.
+	private void scanString(char quote) throws IOException
+	{
+		while (true)
+		{
+			if (position >= limit && !fill())
+				throw error("Unterminated string.");
+
+			// scan run of plain characters.
+			char[] buf = buffer;
+			int start = position;
+			int end = limit;
+			int p = start;
+			char c = 0;
+			while (p < end)
+			{
+				c = buf[p];
+				if (c == quote || c == '\\' || c == '\n')
+					break;
+				p++;
+			}
+
+			appendToken(buf, start, p - start);
+			position = p;
+			if (p == end)
+				continue;
+
+			position++;
+			if (c == quote)
+				return;
+			else if (c == '\n')
+				throw error("Unterminated string.");
+			else
+				appendEscape(readAscii());
+		}
+	}
+
+	// Scans a number.
+	private void scanNumber() throws IOException
+	{
+		numberFlags = 0;
+		int c = peekChar();
+		if (c == '-')
+		{
+			appendToken('-');
+			position++;
+			c = peekChar();
+		}
+
+		int digits = 0;
+		if (c == '0')
+		{
+			appendToken('0');
+			position++;
+			digits++;
+			if ((c = peekChar()) == 'x' || c == 'X')
+			{
+				numberFlags |= NUMBER_HEX;
+				appendToken((char)c);
+				position++;
+				digits = 0;
+				while ((c = peekChar()) >= 0 && c < 128 && HEX_VALUE[c] >= 0)
+				{
+					appendToken((char)c);
+					position++;
+					digits++;
+				}
+			}
+		}
+
+		if ((numberFlags & NUMBER_HEX) == 0)
+		{
+			while (c >= '0' && c <= '9')
+			{
+				appendToken((char)c);
+				position++;
+				digits++;
+				c = peekChar();
+			}
+
+			if (c == '.')
+			{
+				numberFlags |= NUMBER_FRACTION;
+				appendToken('.');
+				position++;
+				while ((c = peekChar()) >= '0' && c <= '9')
+				{
+					appendToken((char)c);
+					position++;
+					digits++;
+				}
+			}
+
+			if (digits > 0 && (c == 'e' || c == 'E'))
+			{
+				numberFlags |= NUMBER_EXPONENT;
+				appendToken((char)c);
+				position++;
+				if ((c = peekChar()) == '+' || c == '-')
+				{
+					appendToken((char)c);
+					position++;
+					c = peekChar();
+				}
+				int exponentDigits = 0;
+				while (c >= '0' && c <= '9')
+				{
+					appendToken((char)c);
+					position++;
+					exponentDigits++;
+					c = peekChar();
+				}
+				if (exponentDigits == 0)
+					digits = 0;
+			}
+		}
+
+		if (c >= 128)
+		{
+			position++;
+			endNumber(readCodePoint((char)c), digits == 0);
+		}
+		else if (digits == 0 || (c >= 0 && IDENTIFIER_PART[c]))
+		{
+			if (c >= 0 && IDENTIFIER_PART[c])
+			{
+				appendToken((char)c);
+				position++;
+			}
+			throw error("Malformed number.");
+		}
+	}
+
+	// Scans the rest of an identifier.
+	private void scanIdentifier() throws IOException
+	{
+		int c;
+		while ((c = peekChar()) >= 0)
+		{
+			if (c < 128)
+			{
+				if (!IDENTIFIER_PART[c])
+					return;
+				appendToken((char)c);
+				position++;
+			}
+			else
+			{
+				position++;
+				int codePoint = readCodePoint((char)c);
+				if (Character.isLetterOrDigit(codePoint))
+					appendCodePoint(codePoint);
+				else if (Character.isWhitespace(codePoint))
+					return;
+				else
+				{
+					appendCodePoint(codePoint);
+					throw error("Unexpected character.");
+				}
+			}
+		}
+	}
+
+}
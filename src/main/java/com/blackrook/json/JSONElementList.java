@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A list of JSONObjects, for array-typed JSONObjects.
+ * <p>
+ * Elements are kept in a growable ring buffer, so that adding or removing at either end takes constant time,
+ * as does getting an element by index. Adding or removing anywhere else moves the elements on the nearer side.
+ * @author Matthew Tropiano
+ */
+final class JSONElementList extends AbstractList<JSONObject> implements RandomAccess
+{
+	/** Default starting capacity. Must be a power of two. */
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/** Element buffer. Its length is always a power of two. */
+	private JSONObject[] elements;
+	/** Buffer position of the first element. */
+	private int head;
+	/** Element count. */
+	private int size;
+
+	/**
+	 * Creates a new, empty list.
+	 */
+	JSONElementList()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new, empty list.
+	 * @param capacity the starting capacity.
+	 */
+	JSONElementList(int capacity)
+	{
+		this.elements = new JSONObject[capacity <= DEFAULT_CAPACITY ? DEFAULT_CAPACITY : Integer.highestOneBit(capacity - 1) << 1];
+		this.head = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	@Override
+	public JSONObject get(int index)
+	{
+		checkIndex(index);
+		return elements[(head + index) & (elements.length - 1)];
+	}
+
+	@Override
+	public JSONObject set(int index, JSONObject element)
+	{
+		checkIndex(index);
+		int i = (head + index) & (elements.length - 1);
+		JSONObject out = elements[i];
+		elements[i] = element;
+		return out;
+	}
+
+	@Override
+	public boolean add(JSONObject element)
+	{
+		if (size == elements.length)
+			grow();
+		elements[(head + size) & (elements.length - 1)] = element;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public void add(int index, JSONObject element)
+	{
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		if (size == elements.length)
+			grow();
+
+		JSONObject[] e = elements;
+		int mask = e.length - 1;
+		if (index < (size >> 1))
+		{
+			// move the elements before the index down.
+			head = (head - 1) & mask;
+			for (int i = 0; i < index; i++)
+				e[(head + i) & mask] = e[(head + i + 1) & mask];
+		}
+		else
+		{
+			// move the elements from the index up.
+			for (int i = size; i > index; i--)
+				e[(head + i) & mask] = e[(head + i - 1) & mask];
+		}
+		e[(head + index) & mask] = element;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public JSONObject remove(int index)
+	{
+		checkIndex(index);
+
+		JSONObject[] e = elements;
+		int mask = e.length - 1;
+		JSONObject out = e[(head + index) & mask];
+		if (index < (size >> 1))
+		{
+			// move the elements before the index up.
+			for (int i = index; i > 0; i--)
+				e[(head + i) & mask] = e[(head + i - 1) & mask];
+			e[head] = null;
+			head = (head + 1) & mask;
+		}
+		else
+		{
+			// move the elements after the index down.
+			for (int i = index; i < size - 1; i++)
+				e[(head + i) & mask] = e[(head + i + 1) & mask];
+			e[(head + size - 1) & mask] = null;
+		}
+		size--;
+		modCount++;
+		return out;
+	}
+
+	@Override
+	public void clear()
+	{
+		Arrays.fill(elements, null);
+		head = 0;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public Spliterator<JSONObject> spliterator()
+	{
+		return new ElementSpliterator(0, size, modCount);
+	}
+
+	/**
+	 * @return the modification count, for detecting changes during iteration.
+	 */
+	int modCount()
+	{
+		return modCount;
+	}
+
+	private void checkIndex(int index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+	}
+
+	// Doubles the buffer, moving the elements to the start of it.
+	private void grow()
+	{
+		JSONObject[] e = new JSONObject[elements.length * 2];
+		int firstPart = Math.min(size, elements.length - head);
+		System.arraycopy(elements, head, e, 0, firstPart);
+		System.arraycopy(elements, 0, e, firstPart, size - firstPart);
+		elements = e;
+		head = 0;
+	}
+
+	/**
+	 * A Spliterator over a range of the list.
+	 */
+	private class ElementSpliterator implements Spliterator<JSONObject>
+	{
+		/** Next index. */
+		private int index;
+		/** End index, exclusive. */
+		private final int fence;
+		/** Expected modification count. */
+		private final int expectedModCount;
+
+		private ElementSpliterator(int index, int fence, int expectedModCount)
+		{
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super JSONObject> action)
+		{
+			if (index >= fence)
+				return false;
+			action.accept(get(index++));
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super JSONObject> action)
+		{
+			JSONObject[] e = elements;
+			int mask = e.length - 1;
+			for (; index < fence; index++)
+				action.accept(e[(head + index) & mask]);
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+
+		@Override
+		public Spliterator<JSONObject> trySplit()
+		{
+			int mid = (index + fence) >>> 1;
+			if (mid <= index)
+				return null;
+			Spliterator<JSONObject> out = new ElementSpliterator(index, mid, expectedModCount);
+			index = mid;
+			return out;
+		}
+
+		@Override
+		public long estimateSize()
+		{
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics()
+		{
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+/**
+ * A handler for JSON parse events, for use with {@link JSONReader#parse(java.io.Reader, JSONHandler)}
+ * and its variants. No {@link JSONObject}s are created during parsing - each part of the input
+ * is passed to a method on this handler, in the order that it is read.
+ * <p>
+ * All methods do nothing by default, so implementors only need to override the ones they need.
+ * @author Matthew Tropiano
+ * @since [NOW]
+ */
+public interface JSONHandler
+{
+	/**
+	 * Called on the start of an object.
+	 */
+	public default void startObject()
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on the end of an object.
+	 */
+	public default void endObject()
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on the start of an array.
+	 */
+	public default void startArray()
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on the end of an array.
+	 */
+	public default void endArray()
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on an object member name. The next call is for the member's value.
+	 * @param name the member name.
+	 */
+	public default void field(String name)
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on a string value.
+	 * @param value the value.
+	 */
+	public default void value(String value)
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on an integer value (a number with no fractional part or exponent).
+	 * @param value the value.
+	 */
+	public default void value(long value)
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on a number value with a fractional part or exponent.
+	 * @param value the value.
+	 */
+	public default void value(double value)
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on a <code>true</code> or <code>false</code> value.
+	 * @param value the value.
+	 */
+	public default void value(boolean value)
+	{
+		// Do nothing.
+	}
+
+	/**
+	 * Called on a <code>null</code> value.
+	 */
+	public default void nullValue()
+	{
+		// Do nothing.
+	}
+
+}
@@ -0,0 +1,502 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A compact map of member names to JSONObjects, for object-typed JSONObjects.
+ * <p>
+ * Members are kept in parallel name and value arrays, with no per-member objects.
+ * Small maps are searched linearly. Once a map grows past {@link #INDEX_THRESHOLD} members,
+ * an open-addressed (linear probing) hash index into the arrays is kept as well. Name hashes are
+ * mixed with a random seed, and if a name ever probes past {@link #MAX_PROBE_LENGTH} slots
+ * (such as when many names have the same hash code), a {@link HashMap} index is kept instead,
+ * so that colliding names cannot make lookups take linear time.
+ * <p>
+ * Members are kept in insertion order. Replacing the value of a member keeps its position,
+ * and removing a member keeps the order of the rest.
+ * @author Matthew Tropiano
+ */
+final class JSONMemberMap extends AbstractMap<String, JSONObject>
+{
+	/** Member count past which a hash index is built. */
+	static final int INDEX_THRESHOLD = 12;
+	/** Longest probe allowed in the hash index before using a fallback index. */
+	static final int MAX_PROBE_LENGTH = 32;
+	/** Hash seed, so that slots cannot be predicted from member names. */
+	private static final int HASH_SEED = ThreadLocalRandom.current().nextInt();
+	/** Default starting capacity. */
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/** Member names. */
+	private String[] names;
+	/** Member values. */
+	private JSONObject[] values;
+	/** Member count. */
+	private int size;
+	/** Hash index: member position plus one for each slot, or 0 if empty. Null if not indexed. */
+	private int[] index;
+	/** Fallback index: member positions by name, used if names collide too much for the hash index. Null if not used. */
+	private HashMap<String, Integer> fallbackIndex;
+	/** Modification count, for iterators. */
+	private int modCount;
+	/** Entry set view. */
+	private Set<Entry<String, JSONObject>> entrySet;
+
+	/**
+	 * Creates a new, empty member map.
+	 */
+	JSONMemberMap()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new, empty member map.
+	 * @param capacity the starting capacity.
+	 */
+	JSONMemberMap(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		this.names = new String[capacity];
+		this.values = new JSONObject[capacity];
+		this.size = 0;
+		this.index = null;
+		this.fallbackIndex = null;
+		this.modCount = 0;
+		this.entrySet = null;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object name)
+	{
+		return indexOf(name) >= 0;
+	}
+
+	@Override
+	public JSONObject get(Object name)
+	{
+		int i = indexOf(name);
+		return i >= 0 ? values[i] : null;
+	}
+
+	@Override
+	public JSONObject put(String name, JSONObject value)
+	{
+		if (name == null)
+			throw new NullPointerException("Member name cannot be null.");
+
+		int i = indexOf(name);
+		if (i >= 0)
+		{
+			JSONObject out = values[i];
+			values[i] = value;
+			return out;
+		}
+
+		if (size == names.length)
+		{
+			int capacity = names.length * 2;
+			String[] newNames = new String[capacity];
+			JSONObject[] newValues = new JSONObject[capacity];
+			System.arraycopy(names, 0, newNames, 0, size);
+			System.arraycopy(values, 0, newValues, 0, size);
+			names = newNames;
+			values = newValues;
+		}
+		names[size] = name;
+		values[size] = value;
+		size++;
+		modCount++;
+
+		if (fallbackIndex != null)
+		{
+			fallbackIndex.put(name, size - 1);
+		}
+		else if (index != null)
+		{
+			if (size * 2 > index.length)
+				rebuildIndex();
+			else if (!addToIndex(size - 1))
+				useFallbackIndex();
+		}
+		else if (size > INDEX_THRESHOLD)
+		{
+			rebuildIndex();
+		}
+		return null;
+	}
+
+	@Override
+	public JSONObject remove(Object name)
+	{
+		int i = indexOf(name);
+		if (i < 0)
+			return null;
+		JSONObject out = values[i];
+		removeAt(i);
+		return out;
+	}
+
+	@Override
+	public void clear()
+	{
+		for (int i = 0; i < size; i++)
+		{
+			names[i] = null;
+			values[i] = null;
+		}
+		size = 0;
+		index = null;
+		fallbackIndex = null;
+		modCount++;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super JSONObject> action)
+	{
+		int expectedModCount = modCount;
+		for (int i = 0; i < size; i++)
+		{
+			action.accept(names[i], values[i]);
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+	}
+
+	@Override
+	public Set<Entry<String, JSONObject>> entrySet()
+	{
+		Set<Entry<String, JSONObject>> out;
+		return (out = entrySet) != null ? out : (entrySet = new EntrySet());
+	}
+
+	/**
+	 * Gets a member name by position.
+	 * @param i the member position, from 0 to {@link #size()} - 1.
+	 * @return the member name.
+	 */
+	String nameAt(int i)
+	{
+		return names[i];
+	}
+
+	/**
+	 * Gets a member value by position.
+	 * @param i the member position, from 0 to {@link #size()} - 1.
+	 * @return the member value.
+	 */
+	JSONObject valueAt(int i)
+	{
+		return values[i];
+	}
+
+	/**
+	 * @return the modification count, for detecting changes during iteration.
+	 */
+	int modCount()
+	{
+		return modCount;
+	}
+
+	/**
+	 * @return a Spliterator over the member values, in member order.
+	 */
+	Spliterator<JSONObject> valueSpliterator()
+	{
+		return new ValueSpliterator(0, size, modCount);
+	}
+
+	// Finds the position of a member, or -1 if not found.
+	private int indexOf(Object name)
+	{
+		if (name == null)
+			return -1;
+
+		if (fallbackIndex != null)
+		{
+			Integer i = fallbackIndex.get(name);
+			return i != null ? i : -1;
+		}
+		
+		if (index == null)
+		{
+			for (int i = 0; i < size; i++)
+				if (name.equals(names[i]))
+					return i;
+			return -1;
+		}
+
+		int mask = index.length - 1;
+		for (int slot = hash(name) & mask; ; slot = (slot + 1) & mask)
+		{
+			int e = index[slot];
+			if (e == 0)
+				return -1;
+			else if (name.equals(names[e - 1]))
+				return e - 1;
+		}
+	}
+
+	// Removes the member at a position. The members after it are moved down.
+	private void removeAt(int i)
+	{
+		int last = size - 1;
+		System.arraycopy(names, i + 1, names, i, last - i);
+		System.arraycopy(values, i + 1, values, i, last - i);
+		names[last] = null;
+		values[last] = null;
+		size--;
+		modCount++;
+
+		if (index != null || fallbackIndex != null)
+		{
+			if (size > INDEX_THRESHOLD)
+				rebuildIndex();
+			else
+			{
+				index = null;
+				fallbackIndex = null;
+			}
+		}
+	}
+
+	// Rebuilds the hash index for all members.
+	private void rebuildIndex()
+	{
+		int capacity = Integer.highestOneBit(size * 2 - 1) << 1;
+		index = new int[Math.max(capacity, 32)];
+		fallbackIndex = null;
+		for (int i = 0; i < size; i++)
+		{
+			if (!addToIndex(i))
+			{
+				useFallbackIndex();
+				return;
+			}
+		}
+	}
+
+	// Adds a member position to the hash index. Returns false if it probed too far to be added.
+	private boolean addToIndex(int i)
+	{
+		int mask = index.length - 1;
+		int slot = hash(names[i]) & mask;
+		for (int probes = 0; index[slot] != 0; probes++)
+		{
+			if (probes == MAX_PROBE_LENGTH)
+				return false;
+			slot = (slot + 1) & mask;
+		}
+		index[slot] = i + 1;
+		return true;
+	}
+
+	// Replaces the hash index with a fallback index of all members.
+	private void useFallbackIndex()
+	{
+		index = null;
+		fallbackIndex = new HashMap<>(size * 2);
+		for (int i = 0; i < size; i++)
+			fallbackIndex.put(names[i], i);
+	}
+
+	private static int hash(Object name)
+	{
+		int h = (name.hashCode() ^ HASH_SEED) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * A Spliterator over a range of the member values.
+	 */
+	private class ValueSpliterator implements Spliterator<JSONObject>
+	{
+		/** Next position. */
+		private int next;
+		/** End position, exclusive. */
+		private final int fence;
+		/** Expected modification count. */
+		private final int expectedModCount;
+
+		private ValueSpliterator(int next, int fence, int expectedModCount)
+		{
+			this.next = next;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super JSONObject> action)
+		{
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			if (next >= fence)
+				return false;
+			action.accept(values[next++]);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super JSONObject> action)
+		{
+			for (; next < fence; next++)
+			{
+				if (modCount != expectedModCount)
+					throw new ConcurrentModificationException();
+				action.accept(values[next]);
+			}
+		}
+
+		@Override
+		public Spliterator<JSONObject> trySplit()
+		{
+			int mid = (next + fence) >>> 1;
+			if (mid <= next)
+				return null;
+			Spliterator<JSONObject> out = new ValueSpliterator(next, mid, expectedModCount);
+			next = mid;
+			return out;
+		}
+
+		@Override
+		public long estimateSize()
+		{
+			return fence - next;
+		}
+
+		@Override
+		public int characteristics()
+		{
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
+	/**
+	 * Entry set view.
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, JSONObject>>
+	{
+		@Override
+		public int size()
+		{
+			return size;
+		}
+
+		@Override
+		public void clear()
+		{
+			JSONMemberMap.this.clear();
+		}
+
+		@Override
+		public Iterator<Entry<String, JSONObject>> iterator()
+		{
+			return new EntryIterator();
+		}
+	}
+
+	/**
+	 * Entry iterator. Entries are views into the map.
+	 */
+	private class EntryIterator implements Iterator<Entry<String, JSONObject>>
+	{
+		/** Next position. */
+		private int next;
+		/** Last returned position, or -1. */
+		private int last;
+		/** Expected modification count. */
+		private int expectedModCount;
+
+		private EntryIterator()
+		{
+			this.next = 0;
+			this.last = -1;
+			this.expectedModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return next < size;
+		}
+
+		@Override
+		public Entry<String, JSONObject> next()
+		{
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			if (next >= size)
+				throw new NoSuchElementException();
+			last = next++;
+			return new MemberEntry(last, expectedModCount);
+		}
+
+		@Override
+		public void remove()
+		{
+			if (last < 0)
+				throw new IllegalStateException();
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			removeAt(last);
+			// the following members were moved down.
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	/**
+	 * A map entry at a member position.
+	 */
+	private class MemberEntry extends SimpleEntry<String, JSONObject>
+	{
+		private static final long serialVersionUID = 3262087734557460447L;
+
+		/** Member position. */
+		private int position;
+		/** Expected modification count. */
+		private int expectedModCount;
+
+		private MemberEntry(int position, int expectedModCount)
+		{
+			super(names[position], values[position]);
+			this.position = position;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public JSONObject setValue(JSONObject value)
+		{
+			// members may have moved since: the position would not be this entry's anymore.
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			values[position] = value;
+			return super.setValue(value);
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A number kept as its decimal text, as it was read.
+ * The text is only converted when a value is requested from it.
+ * @author Matthew Tropiano
+ * @see JSONReader.Options#setKeepingRawNumbers(boolean)
+ */
+final class JSONNumber extends Number
+{
+	private static final long serialVersionUID = -2570424409637911734L;
+
+	/** Longest integer text that always fits in a long. */
+	private static final int MAX_LONG_LENGTH = 18;
+
+	/** The number text. */
+	private final String text;
+	/** If true, the number has no fractional part or exponent. */
+	private final boolean integer;
+
+	/**
+	 * Creates a new number.
+	 * @param text the decimal text of the number.
+	 * @param integer true if the number has no fractional part or exponent, false otherwise.
+	 */
+	JSONNumber(String text, boolean integer)
+	{
+		this.text = text;
+		this.integer = integer;
+	}
+
+	@Override
+	public int intValue()
+	{
+		return (int)longValue();
+	}
+
+	@Override
+	public long longValue()
+	{
+		if (integer && text.length() <= MAX_LONG_LENGTH)
+			return Long.parseLong(text);
+		return bigDecimalValue().longValue();
+	}
+
+	@Override
+	public float floatValue()
+	{
+		return Float.parseFloat(text);
+	}
+
+	@Override
+	public double doubleValue()
+	{
+		return Double.parseDouble(text);
+	}
+
+	/**
+	 * @return this number as a BigDecimal.
+	 */
+	BigDecimal bigDecimalValue()
+	{
+		return new BigDecimal(text);
+	}
+
+	/**
+	 * @return this number as a BigInteger. Any fractional part is discarded.
+	 */
+	BigInteger bigIntegerValue()
+	{
+		return integer ? new BigInteger(text) : bigDecimalValue().toBigInteger();
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return text.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (obj instanceof JSONNumber)
+			return text.equals(((JSONNumber)obj).text);
+		return false;
+	}
+
+	@Override
+	public String toString()
+	{
+		return text;
+	}
+
+}
@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.math.BigInteger;
+
+/**
+ * Allocation-free number formatting into character buffers.
+ * <p>
+ * Doubles and floats are written as the shortest decimal that rounds back to the same value,
+ * using the Schubfach algorithm (R. Giulietti, "The Schubfach way to render doubles", 2020).
+ * The format is the same as {@link Double#toString(double)} and {@link Float#toString(float)}:
+ * plain notation for magnitudes from 10<sup>-3</sup> (inclusive) to 10<sup>7</sup> (exclusive),
+ * and computerized scientific notation (for example, <code>1.0E-5</code>) otherwise.
+ * @author Matthew Tropiano
+ */
+final class JSONNumberFormatter
+{
+	/** The maximum amount of characters written for a single number. */
+	static final int MAX_LENGTH = 24;
+
+	/** Double precision, in bits. */
+	private static final int DOUBLE_P = 53;
+	/** Double minimum exponent. */
+	private static final int DOUBLE_Q_MIN = -1074;
+	/** Double minimum normal significand. */
+	private static final long DOUBLE_C_MIN = 1L << (DOUBLE_P - 1);
+	/** Double subnormal significands smaller than this need an extra digit of precision. */
+	private static final int DOUBLE_C_TINY = 3;
+	/** Double maximum decimal digits. */
+	private static final int DOUBLE_H = 17;
+
+	/** Float precision, in bits. */
+	private static final int FLOAT_P = 24;
+	/** Float minimum exponent. */
+	private static final int FLOAT_Q_MIN = -149;
+	/** Float minimum normal significand. */
+	private static final int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+	/** Float subnormal significands smaller than this need an extra digit of precision. */
+	private static final int FLOAT_C_TINY = 8;
+	/** Float maximum decimal digits. */
+	private static final int FLOAT_H = 9;
+
+	/** Minimum power-of-ten exponent in the table. */
+	private static final int K_MIN = -324;
+	/** Maximum power-of-ten exponent in the table. */
+	private static final int K_MAX = 292;
+
+	private static final long MASK_63 = 0x7FFFFFFFFFFFFFFFL;
+	private static final long MASK_32 = 0xFFFFFFFFL;
+	private static final int MASK_28 = (1 << 28) - 1;
+
+	/** High 63 bits of the 126-bit approximations of 10<sup>-k</sup>. */
+	private static final long[] G1 = new long[K_MAX - K_MIN + 1];
+	/** Low 63 bits of the 126-bit approximations of 10<sup>-k</sup>. */
+	private static final long[] G0 = new long[K_MAX - K_MIN + 1];
+	/** Powers of ten that fit in a long. */
+	private static final long[] POW10 = new long[19];
+	/** Two-digit pairs, for integers. */
+	private static final char[] DIGIT_PAIRS = new char[200];
+
+	static
+	{
+		// For each k, 10^-k = b * 2^r, where 2^125 <= b < 2^126. The table holds floor(b) + 1, split into two 63-bit halves.
+		BigInteger mask63 = BigInteger.valueOf(MASK_63);
+		for (int k = K_MIN; k <= K_MAX; k++)
+		{
+			int r = flog2pow10(-k) - 125;
+			BigInteger g;
+			if (k <= 0)
+			{
+				BigInteger p = BigInteger.TEN.pow(-k);
+				g = r >= 0 ? p.shiftRight(r) : p.shiftLeft(-r);
+			}
+			else
+			{
+				g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+			}
+			g = g.add(BigInteger.ONE);
+			G1[k - K_MIN] = g.shiftRight(63).longValue();
+			G0[k - K_MIN] = g.and(mask63).longValue();
+		}
+
+		long p = 1;
+		for (int i = 0; i < POW10.length; i++, p *= 10)
+			POW10[i] = p;
+
+		for (int i = 0; i < 100; i++)
+		{
+			DIGIT_PAIRS[i * 2] = (char)('0' + i / 10);
+			DIGIT_PAIRS[i * 2 + 1] = (char)('0' + i % 10);
+		}
+	}
+
+	private JSONNumberFormatter() {}
+
+	/**
+	 * Writes a long integer.
+	 * @param value the value to write.
+	 * @param buf the target buffer. Must have at least {@link #MAX_LENGTH} characters from the offset.
+	 * @param offset the starting offset in the buffer.
+	 * @return the offset after the last character written.
+	 */
+	static int formatLong(long value, char[] buf, int offset)
+	{
+		if (value == Long.MIN_VALUE)
+		{
+			String s = "-9223372036854775808";
+			s.getChars(0, s.length(), buf, offset);
+			return offset + s.length();
+		}
+
+		if (value < 0)
+		{
+			buf[offset++] = '-';
+			value = -value;
+		}
+
+		int len = 1;
+		while (len < 19 && value >= POW10[len])
+			len++;
+
+		int p = offset + len;
+		while (value >= 100)
+		{
+			int pair = (int)(value % 100) * 2;
+			value /= 100;
+			buf[--p] = DIGIT_PAIRS[pair + 1];
+			buf[--p] = DIGIT_PAIRS[pair];
+		}
+		if (value >= 10)
+		{
+			int pair = (int)value * 2;
+			buf[--p] = DIGIT_PAIRS[pair + 1];
+			buf[--p] = DIGIT_PAIRS[pair];
+		}
+		else
+		{
+			buf[--p] = (char)('0' + value);
+		}
+		return offset + len;
+	}
+
+	/**
+	 * Writes a double as the shortest decimal that rounds back to it.
+	 * @param value the value to write.
+	 * @param buf the target buffer. Must have at least {@link #MAX_LENGTH} characters from the offset.
+	 * @param offset the starting offset in the buffer.
+	 * @return the offset after the last character written.
+	 */
+	static int formatDouble(double value, char[] buf, int offset)
+	{
+		long bits = Double.doubleToRawLongBits(value);
+		long t = bits & ((1L << (DOUBLE_P - 1)) - 1);
+		int bq = (int)(bits >>> (DOUBLE_P - 1)) & 0x7FF;
+		if (bq == 0x7FF)
+			return writeString(t != 0 ? "NaN" : (bits > 0 ? "Infinity" : "-Infinity"), buf, offset);
+
+		if (bits < 0)
+			buf[offset++] = '-';
+
+		if (bq != 0)
+		{
+			int mq = -DOUBLE_Q_MIN + 1 - bq;
+			long c = DOUBLE_C_MIN | t;
+			// integers that are exactly representable.
+			if (0 < mq && mq < DOUBLE_P)
+			{
+				long f = c >> mq;
+				if (f << mq == c)
+					return doubleChars(f, 0, buf, offset);
+			}
+			return doubleDecimal(-mq, c, 0, buf, offset);
+		}
+		else if (t != 0)
+		{
+			return t < DOUBLE_C_TINY
+				? doubleDecimal(DOUBLE_Q_MIN, 10 * t, -1, buf, offset)
+				: doubleDecimal(DOUBLE_Q_MIN, t, 0, buf, offset);
+		}
+		else
+		{
+			return writeString("0.0", buf, offset);
+		}
+	}
+
+	/**
+	 * Writes a float as the shortest decimal that rounds back to it.
+	 * @param value the value to write.
+	 * @param buf the target buffer. Must have at least {@link #MAX_LENGTH} characters from the offset.
+	 * @param offset the starting offset in the buffer.
+	 * @return the offset after the last character written.
+	 */
+	static int formatFloat(float value, char[] buf, int offset)
+	{
+		int bits = Float.floatToRawIntBits(value);
+		int t = bits & ((1 << (FLOAT_P - 1)) - 1);
+		int bq = (bits >>> (FLOAT_P - 1)) & 0xFF;
+		if (bq == 0xFF)
+			return writeString(t != 0 ? "NaN" : (bits > 0 ? "Infinity" : "-Infinity"), buf, offset);
+
+		if (bits < 0)
+			buf[offset++] = '-';
+
+		if (bq != 0)
+		{
+			int mq = -FLOAT_Q_MIN + 1 - bq;
+			int c = FLOAT_C_MIN | t;
+			// integers that are exactly representable.
+			if (0 < mq && mq < FLOAT_P)
+			{
+				int f = c >> mq;
+				if (f << mq == c)
+					return floatChars(f, 0, buf, offset);
+			}
+			return floatDecimal(-mq, c, 0, buf, offset);
+		}
+		else if (t != 0)
+		{
+			return t < FLOAT_C_TINY
+				? floatDecimal(FLOAT_Q_MIN, 10 * t, -1, buf, offset)
+				: floatDecimal(FLOAT_Q_MIN, t, 0, buf, offset);
+		}
+		else
+		{
+			return writeString("0.0", buf, offset);
+		}
+	}
+
+	// Finds the shortest decimal for c * 2^q, and writes it.
+	private static int doubleDecimal(int q, long c, int dk, char[] buf, int offset)
+	{
+		int out = (int)c & 1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN)
+		{
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		}
+		else
+		{
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 2;
+		long g1 = G1[k - K_MIN];
+		long g0 = G0[k - K_MIN];
+		long vb = rop(g1, g0, cb << h);
+		long vbl = rop(g1, g0, cbl << h);
+		long vbr = rop(g1, g0, cbr << h);
+
+		long s = vb >> 2;
+		if (s >= 100)
+		{
+			// s / 10 * 10
+			long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin)
+				return doubleChars(upin ? sp10 : tp10, k, buf, offset);
+		}
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win)
+			return doubleChars(uin ? s : t, k + dk, buf, offset);
+		long cmp = vb - (s + t << 1);
+		return doubleChars(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, buf, offset);
+	}
+
+	// Finds the shortest decimal for c * 2^q, and writes it.
+	private static int floatDecimal(int q, int c, int dk, char[] buf, int offset)
+	{
+		int out = c & 1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN)
+		{
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		}
+		else
+		{
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 33;
+		long g = G1[k - K_MIN] + 1;
+		int vb = rop(g, cb << h);
+		int vbl = rop(g, cbl << h);
+		int vbr = rop(g, cbr << h);
+
+		int s = vb >> 2;
+		if (s >= 100)
+		{
+			// s / 10 * 10
+			int sp10 = 10 * (int)(s * 1717986919L >>> 34);
+			int tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin)
+				return floatChars(upin ? sp10 : tp10, k, buf, offset);
+		}
+		int t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win)
+			return floatChars(uin ? s : t, k + dk, buf, offset);
+		int cmp = vb - (s + t << 1);
+		return floatChars(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, buf, offset);
+	}
+
+	// Writes f * 10^e, where f has at most 17 digits.
+	private static int doubleChars(long f, int e, char[] buf, int offset)
+	{
+		// Normalize to 17 digits: f * 10^e = 0.f * 10^e'
+		int len = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+		if (f >= POW10[len])
+			len++;
+		f *= POW10[DOUBLE_H - len];
+		e += len;
+
+		// Split into the first digit (h), the next 8 (m), and the last 8 (l).
+		long hm = multiplyHigh(f, 193428131138340668L) >>> 20;
+		int l = (int)(f - 100000000L * hm);
+		int h = (int)(hm * 1441151881L >>> 57);
+		int m = (int)(hm - 100000000 * h);
+
+		int p = offset;
+		if (0 < e && e <= 7)
+		{
+			// plain, no leading zeroes.
+			buf[p++] = (char)('0' + h);
+			int y = y(m);
+			int i = 1;
+			for (; i < e; i++)
+			{
+				int d = 10 * y;
+				buf[p++] = (char)('0' + (d >>> 28));
+				y = d & MASK_28;
+			}
+			buf[p++] = '.';
+			for (; i <= 8; i++)
+			{
+				int d = 10 * y;
+				buf[p++] = (char)('0' + (d >>> 28));
+				y = d & MASK_28;
+			}
+			if (l != 0)
+				p = write8Digits(l, buf, p);
+			return removeTrailingZeroes(buf, p);
+		}
+		else if (-3 < e && e <= 0)
+		{
+			// plain, leading zeroes.
+			buf[p++] = '0';
+			buf[p++] = '.';
+			for (; e < 0; e++)
+				buf[p++] = '0';
+			buf[p++] = (char)('0' + h);
+			p = write8Digits(m, buf, p);
+			if (l != 0)
+				p = write8Digits(l, buf, p);
+			return removeTrailingZeroes(buf, p);
+		}
+		else
+		{
+			// scientific.
+			buf[p++] = (char)('0' + h);
+			buf[p++] = '.';
+			p = write8Digits(m, buf, p);
+			if (l != 0)
+				p = write8Digits(l, buf, p);
+			p = removeTrailingZeroes(buf, p);
+			return writeExponent(e - 1, buf, p);
+		}
+	}
+
+	// Writes f * 10^e, where f has at most 9 digits.
+	private static int floatChars(int f, int e, char[] buf, int offset)
+	{
+		// Normalize to 9 digits: f * 10^e = 0.f * 10^e'
+		int len = flog10pow2(Integer.SIZE - Integer.numberOfLeadingZeros(f));
+		if (f >= POW10[len])
+			len++;
+		f *= (int)POW10[FLOAT_H - len];
+		e += len;
+
+		// Split into the first digit (h) and the last 8 (l).
+		int h = (int)(f * 1441151881L >>> 57);
+		int l = f - 100000000 * h;
+
+		int p = offset;
+		if (0 < e && e <= 7)
+		{
+			// plain, no leading zeroes.
+			buf[p++] = (char)('0' + h);
+			int y = y(l);
+			int i = 1;
+			for (; i < e; i++)
+			{
+				int d = 10 * y;
+				buf[p++] = (char)('0' + (d >>> 28));
+				y = d & MASK_28;
+			}
+			buf[p++] = '.';
+			for (; i <= 8; i++)
+			{
+				int d = 10 * y;
+				buf[p++] = (char)('0' + (d >>> 28));
+				y = d & MASK_28;
+			}
+			return removeTrailingZeroes(buf, p);
+		}
+		else if (-3 < e && e <= 0)
+		{
+			// plain, leading zeroes.
+			buf[p++] = '0';
+			buf[p++] = '.';
+			for (; e < 0; e++)
+				buf[p++] = '0';
+			buf[p++] = (char)('0' + h);
+			p = write8Digits(l, buf, p);
+			return removeTrailingZeroes(buf, p);
+		}
+		else
+		{
+			// scientific.
+			buf[p++] = (char)('0' + h);
+			buf[p++] = '.';
+			p = write8Digits(l, buf, p);
+			p = removeTrailingZeroes(buf, p);
+			return writeExponent(e - 1, buf, p);
+		}
+	}
+
+	// Writes exactly 8 digits, with leading zeroes.
+	private static int write8Digits(int m, char[] buf, int p)
+	{
+		int y = y(m);
+		for (int i = 0; i < 8; i++)
+		{
+			int d = 10 * y;
+			buf[p++] = (char)('0' + (d >>> 28));
+			y = d & MASK_28;
+		}
+		return p;
+	}
+
+	// Removes trailing zeroes, but keeps one digit after the decimal point.
+	private static int removeTrailingZeroes(char[] buf, int p)
+	{
+		while (buf[p - 1] == '0')
+			p--;
+		if (buf[p - 1] == '.')
+			p++;
+		return p;
+	}
+
+	// Writes a decimal exponent.
+	private static int writeExponent(int e, char[] buf, int p)
+	{
+		buf[p++] = 'E';
+		if (e < 0)
+		{
+			buf[p++] = '-';
+			e = -e;
+		}
+		if (e < 10)
+		{
+			buf[p++] = (char)('0' + e);
+			return p;
+		}
+		if (e >= 100)
+		{
+			int d = e * 1311 >>> 17;
+			buf[p++] = (char)('0' + d);
+			e -= 100 * d;
+		}
+		int d = e * 103 >>> 10;
+		buf[p++] = (char)('0' + d);
+		buf[p++] = (char)('0' + (e - 10 * d));
+		return p;
+	}
+
+	private static int writeString(String s, char[] buf, int offset)
+	{
+		s.getChars(0, s.length(), buf, offset);
+		return offset + s.length();
+	}
+
+	// Computes floor((a + 1) * 2^28 / 10^8) - 1, for left-to-right digit extraction.
+	private static int y(int a)
+	{
+		return (int)(multiplyHigh((long)(a + 1) << 28, 193428131138340668L) >>> 20) - 1;
+	}
+
+	// Rounds the product of a 126-bit g and cp to odd, keeping the high bits.
+	private static long rop(long g1, long g0, long cp)
+	{
+		long x1 = multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | (z & MASK_63) + MASK_63 >>> 63;
+	}
+
+	// Rounds the product of a 63-bit g and cp to odd, keeping the high bits.
+	private static int rop(long g, long cp)
+	{
+		long x1 = multiplyHigh(g, cp);
+		long vbp = x1 >>> 31;
+		return (int)(vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+	}
+
+	// floor(log10(2^e))
+	private static int flog10pow2(int e)
+	{
+		return (int)(e * 661971961083L >> 41);
+	}
+
+	// floor(log10(3/4 * 2^e))
+	private static int flog10threeQuartersPow2(int e)
+	{
+		return (int)(e * 661971961083L + -274743187321L >> 41);
+	}
+
+	// floor(log2(10^e))
+	private static int flog2pow10(int e)
+	{
+		return (int)(e * 913124641741L >> 38);
+	}
+
+	// The high 64 bits of a signed 128-bit product (Math.multiplyHigh() is not available in Java 8).
+	private static long multiplyHigh(long x, long y)
+	{
+		long x1 = x >> 32;
+		long x2 = x & 0xFFFFFFFFL;
+		long y1 = y >> 32;
+		long y2 = y & 0xFFFFFFFFL;
+		long z2 = x2 * y2;
+		long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		long z0 = t >> 32;
+		z1 += x2 * y1;
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+}
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.math.BigInteger;
+
+/**
+ * Allocation-free number parsing from character buffers.
+ * <p>
+ * Numbers are decoded in a single pass over their characters. Doubles are correctly rounded:
+ * values that are exact in double precision are computed directly, the rest use the Eisel-Lemire
+ * algorithm (D. Lemire, "Number Parsing at a Gigabyte per Second", 2021), and the rare cases that
+ * neither can decide (including significands longer than 19 digits) fall back to {@link Double#parseDouble(String)}.
+ * <p>
+ * The characters are expected to already be a valid number token, as read by a {@link JSONScanner}.
+ * @author Matthew Tropiano
+ */
+final class JSONNumberParser
+{
+	/** Smallest power of ten in the table. Anything smaller rounds to zero. */
+	private static final int Q_MIN = -342;
+	/** Largest power of ten in the table. Anything larger rounds to infinity. */
+	private static final int Q_MAX = 308;
+	/** Most significant digits that fit in a long. */
+	private static final int MAX_DIGITS = 19;
+	/** Double mantissa bits, not including the implicit bit. */
+	private static final int MANTISSA_BITS = 52;
+
+	/** High 64 bits of 5<sup>q</sup>, normalized to 128 bits. */
+	private static final long[] POW5_HIGH = new long[Q_MAX - Q_MIN + 1];
+	/** Low 64 bits of 5<sup>q</sup>, normalized to 128 bits. */
+	private static final long[] POW5_LOW = new long[Q_MAX - Q_MIN + 1];
+	/** Powers of ten that are exact in double precision. */
+	private static final double[] POW10 = new double[23];
+
+	static
+	{
+		BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+		for (int q = Q_MIN; q <= Q_MAX; q++)
+		{
+			BigInteger c;
+			if (q < 0)
+			{
+				BigInteger p = BigInteger.valueOf(5).pow(-q);
+				int z = p.subtract(BigInteger.ONE).bitLength();
+				int b = q >= -27 ? z + 127 : 2 * z + 128;
+				c = BigInteger.ONE.shiftLeft(b).divide(p).add(BigInteger.ONE);
+				c = c.shiftRight(Math.max(0, c.bitLength() - 128));
+			}
+			else
+			{
+				c = BigInteger.valueOf(5).pow(q);
+				c = c.bitLength() > 128 ? c.shiftRight(c.bitLength() - 128) : c.shiftLeft(128 - c.bitLength());
+			}
+			POW5_HIGH[q - Q_MIN] = c.shiftRight(64).longValue();
+			POW5_LOW[q - Q_MIN] = c.and(mask64).longValue();
+		}
+
+		double p = 1.0;
+		for (int i = 0; i < POW10.length; i++, p *= 10.0)
+			POW10[i] = p;
+	}
+
+	private JSONNumberParser() {}
+
+	/**
+	 * Parses a decimal or hexadecimal integer.
+	 * @param chars the source characters.
+	 * @param offset the offset of the first character.
+	 * @param length the amount of characters.
+	 * @param hex if true, the number is hexadecimal (<code>0x</code> prefix, with optional sign).
+	 * @return the parsed value.
+	 * @throws NumberFormatException if the number does not fit in a long.
+	 */
+	static long parseLong(char[] chars, int offset, int length, boolean hex)
+	{
+		int end = offset + length;
+		int i = offset;
+		boolean negative = chars[i] == '-';
+		if (negative)
+			i++;
+
+		if (hex)
+		{
+			i += 2;
+			long value = 0L;
+			for (; i < end; i++)
+			{
+				if ((value & 0xF800000000000000L) != 0)
+					throw new NumberFormatException();
+				value = (value << 4) | JSONScanner.HEX_VALUE[chars[i]];
+			}
+			return negative ? -value : value;
+		}
+		else
+		{
+			// accumulated negatively, so that Long.MIN_VALUE can be read.
+			long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+			long multLimit = limit / 10;
+			long value = 0L;
+			for (; i < end; i++)
+			{
+				int digit = chars[i] - '0';
+				if (value < multLimit)
+					throw new NumberFormatException();
+				value *= 10;
+				if (value < limit + digit)
+					throw new NumberFormatException();
+				value -= digit;
+			}
+			return negative ? value : -value;
+		}
+	}
+
+	/**
+	 * Parses a decimal number, with optional fraction and exponent.
+	 * @param chars the source characters.
+	 * @param offset the offset of the first character.
+	 * @param length the amount of characters.
+	 * @return the parsed value, correctly rounded.
+	 * @throws NumberFormatException if the number is malformed.
+	 */
+	static double parseDouble(char[] chars, int offset, int length)
+	{
+		int end = offset + length;
+		int i = offset;
+		boolean negative = chars[i] == '-';
+		if (negative)
+			i++;
+
+		long w = 0L;
+		int digits = 0;
+		int q = 0;
+		boolean fraction = false;
+		char c;
+		for (; i < end; i++)
+		{
+			c = chars[i];
+			if (c == '.')
+			{
+				fraction = true;
+				continue;
+			}
+			else if (c < '0' || c > '9')
+				break;
+
+			if (w == 0L && c == '0')
+			{
+				// leading zeroes are not significant.
+			}
+			else if (digits < MAX_DIGITS)
+			{
+				w = w * 10 + (c - '0');
+				digits++;
+			}
+			else
+			{
+				return Double.parseDouble(new String(chars, offset, length));
+			}
+
+			if (fraction)
+				q--;
+		}
+
+		if (i < end)
+		{
+			// exponent
+			i++;
+			boolean negativeExponent = false;
+			if (chars[i] == '-' || chars[i] == '+')
+				negativeExponent = chars[i++] == '-';
+			int exponent = 0;
+			for (; i < end; i++)
+			{
+				if (exponent < 100000)
+					exponent = exponent * 10 + (chars[i] - '0');
+			}
+			q += negativeExponent ? -exponent : exponent;
+		}
+
+		double value = toDouble(w, q);
+		if (Double.isNaN(value))
+			return Double.parseDouble(new String(chars, offset, length));
+		return negative ? -value : value;
+	}
+
+	// Computes w * 10^q (w is unsigned), correctly rounded, or NaN if it cannot be decided.
+	private static double toDouble(long w, int q)
+	{
+		if (w == 0L || q < Q_MIN)
+			return 0.0;
+		if (q > Q_MAX)
+			return Double.POSITIVE_INFINITY;
+
+		// both exact in double precision: the result is correctly rounded.
+		if (w >= 0L && w <= (1L << 53) && q >= -22 && q <= 22)
+			return q < 0 ? w / POW10[-q] : w * POW10[q];
+
+		// Eisel-Lemire
+		int lz = Long.numberOfLeadingZeros(w);
+		w <<= lz;
+		long p5High = POW5_HIGH[q - Q_MIN];
+		long high = multiplyHighUnsigned(w, p5High);
+		long low = w * p5High;
+		if ((high & 0x1FF) == 0x1FF)
+		{
+			// product may be inexact: add the next 64 bits of precision.
+			long secondHigh = multiplyHighUnsigned(w, POW5_LOW[q - Q_MIN]);
+			low += secondHigh;
+			if (Long.compareUnsigned(secondHigh, low) > 0)
+				high++;
+		}
+		// still inexact, and outside the range where the table is exact enough.
+		if (low == -1L && (q < -27 || q > 55))
+			return Double.NaN;
+
+		int upperBit = (int)(high >>> 63);
+		int shift = upperBit + 64 - MANTISSA_BITS - 3;
+		long mantissa = high >>> shift;
+		int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz + 1023;
+
+		if (power2 <= 0)
+		{
+			// subnormal
+			if (-power2 + 1 >= 64)
+				return 0.0;
+			mantissa >>>= -power2 + 1;
+			mantissa += mantissa & 1;
+			mantissa >>>= 1;
+			power2 = mantissa < (1L << MANTISSA_BITS) ? 0 : 1;
+			return Double.longBitsToDouble(mantissa | (long)power2 << MANTISSA_BITS);
+		}
+
+		// exactly halfway between two doubles: round to even.
+		if ((low == 0L || low == 1L) && q >= -4 && q <= 23 && (mantissa & 3) == 1 && (mantissa << shift) == high)
+			mantissa &= ~1L;
+
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		if (mantissa >= (2L << MANTISSA_BITS))
+		{
+			mantissa = 1L << MANTISSA_BITS;
+			power2++;
+		}
+		mantissa &= ~(1L << MANTISSA_BITS);
+		if (power2 >= 0x7FF)
+			return Double.POSITIVE_INFINITY;
+		return Double.longBitsToDouble(mantissa | (long)power2 << MANTISSA_BITS);
+	}
+
+	// The high 64 bits of an unsigned 128-bit product (Math.unsignedMultiplyHigh() is not available in Java 8).
+	private static long multiplyHighUnsigned(long x, long y)
+	{
+		long x1 = x >>> 32;
+		long x0 = x & 0xFFFFFFFFL;
+		long y1 = y >>> 32;
+		long y0 = y & 0xFFFFFFFFL;
+		long p00 = x0 * y0;
+		long p01 = x0 * y1;
+		long p10 = x1 * y0;
+		long p11 = x1 * y1;
+		long middle = (p00 >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+		return p11 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+	}
+
+}
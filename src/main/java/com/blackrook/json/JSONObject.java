@@ -12,8 +12,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -21,7 +25,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.blackrook.json.annotation.JSONIgnore;
 import com.blackrook.json.annotation.JSONName;
@@ -92,7 +102,7 @@ public class JSONObject
 	{
 		/** Undefined type for undefined. */ 
 		UNDEFINED,
-		/** Object type for objects, or null. Stored as HashMap&lt;String, JSONObject&gt;, or null. */
+		/** Object type for objects, or null. Stored as Map&lt;String, JSONObject&gt;, or null. */
 		OBJECT,
 		/** Numeric type. */
 		NUMBER,
@@ -104,10 +114,12 @@ public class JSONObject
 
 	/** JavaScript type. */
 	private Type type;
-	/** Object internal value. */
+	/** Object internal value. For primitive numbers, this is the primitive type (for example, <code>long.class</code>). */
 	private Object value;
 	/** Array length. */
 	private int length;
+	/** Primitive number value, if the value is a primitive type (raw bits, if floating-point). */
+	private long number;
 	
 	/**
 	 * Gets a converter for a type for the default converter set.
@@ -173,6 +185,18 @@ public class JSONObject
 		}
 		else if (object instanceof Boolean)
 			return new JSONObject(Type.BOOLEAN, object, NOT_ARRAY);
+		else if (object instanceof Long)
+			return create(((Long)object).longValue());
+		else if (object instanceof Integer)
+			return create(((Integer)object).intValue());
+		else if (object instanceof Double)
+			return create(((Double)object).doubleValue());
+		else if (object instanceof Float)
+			return create(((Float)object).floatValue());
+		else if (object instanceof Short)
+			return new JSONObject(Short.TYPE, ((Short)object).longValue());
+		else if (object instanceof Byte)
+			return new JSONObject(Byte.TYPE, ((Byte)object).longValue());
 		else if (object instanceof Number)
 			return new JSONObject(Type.NUMBER, object, NOT_ARRAY);
 		else if (object instanceof String)
@@ -181,13 +205,57 @@ public class JSONObject
 		return createFromObject(object, converterSet);
 	}
 
+	/**
+	 * Creates a new JSON number from a long, without boxing it.
+	 * @param value the value to encapsulate.
+	 * @return the JSONObject representing the value.
+	 * @since [NOW]
+	 */
+	public static JSONObject create(long value)
+	{
+		return new JSONObject(Long.TYPE, value);
+	}
+
+	/**
+	 * Creates a new JSON number from an int, without boxing it.
+	 * @param value the value to encapsulate.
+	 * @return the JSONObject representing the value.
+	 * @since [NOW]
+	 */
+	public static JSONObject create(int value)
+	{
+		return new JSONObject(Integer.TYPE, value);
+	}
+
+	/**
+	 * Creates a new JSON number from a double, without boxing it.
+	 * @param value the value to encapsulate.
+	 * @return the JSONObject representing the value.
+	 * @since [NOW]
+	 */
+	public static JSONObject create(double value)
+	{
+		return new JSONObject(Double.TYPE, Double.doubleToRawLongBits(value));
+	}
+
+	/**
+	 * Creates a new JSON number from a float, without boxing it.
+	 * @param value the value to encapsulate.
+	 * @return the JSONObject representing the value.
+	 * @since [NOW]
+	 */
+	public static JSONObject create(float value)
+	{
+		return new JSONObject(Float.TYPE, Double.doubleToRawLongBits(value));
+	}
+
 	/**
 	 * Creates a JSONObject that represents an empty object type.
 	 * @return a JSONObject representing a blank object.
 	 */
 	public static JSONObject createEmptyObject()
 	{
-		return new JSONObject(Type.OBJECT, new HashMap<String, JSONObject>(2), NOT_ARRAY);
+		return new JSONObject(Type.OBJECT, new JSONMemberMap(), NOT_ARRAY);
 	}
 	
 	/**
@@ -196,7 +264,7 @@ public class JSONObject
 	 */
 	public static JSONObject createEmptyArray()
 	{
-		return new JSONObject(Type.OBJECT, new ArrayList<JSONObject>(3), 0);
+		return new JSONObject(Type.OBJECT, new JSONElementList(), 0);
 	}
 	
 	/**
@@ -274,6 +342,17 @@ public class JSONObject
 		this.length = arrayLength;
 	}
 
+	/**
+	 * JSON number constructor, for primitive numbers.
+	 * @param primitiveType the primitive type of the number.
+	 * @param number the number value (raw bits, if floating-point).
+	 */
+	private JSONObject(Class<?> primitiveType, long number)
+	{
+		this(Type.NUMBER, primitiveType, NOT_ARRAY);
+		this.number = number;
+	}
+
 	/**
 	 * Gets this object's JavaScript type.
 	 * @return the object type.
@@ -331,6 +410,26 @@ public class JSONObject
 		return (Map<String, JSONObject>)value;
 	}
 	
+	/** 
+	 * Returns the underlying value as a member map.
+	 * This must be a non-null, non-array object.
+	 * @return the member map.
+	 */
+	JSONMemberMap getMemberMap()
+	{
+		return (JSONMemberMap)value;
+	}
+	
+	/** 
+	 * Returns the underlying value as an element list.
+	 * This must be an array.
+	 * @return the element list.
+	 */
+	JSONElementList getElementList()
+	{
+		return (JSONElementList)value;
+	}
+	
 	/** 
 	 * Returns the underlying value as a list of objects. 
 	 * @return the list.   
@@ -345,6 +444,8 @@ public class JSONObject
 	 * Returns an array of member names on this object, if
 	 * it is Object typed. This may return an array of index numbers,
 	 * if this is an array under the covers.
+	 * <p>Members are in the order that they were added (for objects read by {@link JSONReader}, 
+	 * the order that they appear in the source document).
 	 * @return an array of member names, suitable for use with {@link #get(String)}, or an empty array,
 	 * if this does not represent an object.
 	 */
@@ -366,6 +467,138 @@ public class JSONObject
 		return out;
 	}
 	
+	/**
+	 * Calls a consumer for each member on this object, if it is Object typed, in member order 
+	 * (see {@link #getMemberNames()}). If this is an array, the member names are the index numbers.
+	 * <p>Unlike {@link #getMemberNames()}, this does not copy the member names, nor look up each member again:
+	 * object members are passed straight from where they are stored. Array member names are created for each index.
+	 * The members must not be added or removed during iteration.
+	 * @param consumer the consumer to call with each member name and value.
+	 * @throws ConcurrentModificationException if members or elements are added or removed by the consumer.
+	 * @since [NOW]
+	 */
+	public void forEachMember(BiConsumer<String, JSONObject> consumer)
+	{
+		if (isArray())
+		{
+			JSONElementList list = getElementList();
+			int expectedModCount = list.modCount();
+			for (int i = 0; i < length; i++)
+			{
+				consumer.accept(String.valueOf(i), list.get(i));
+				if (list.modCount() != expectedModCount)
+					throw new ConcurrentModificationException();
+			}
+		}
+		else if (isObject() && value != null)
+		{
+			getMap().forEach(consumer);
+		}
+	}
+	
+	/**
+	 * Returns an iterator over the members on this object, if it is Object typed, in member order 
+	 * (see {@link #getMemberNames()}). If this is an array, the member names are the index numbers.
+	 * Each member is returned as a new entry, which cannot be changed, nor can members be removed through the iterator.
+	 * If members are added or removed during iteration, the iterator throws a {@link ConcurrentModificationException}.
+	 * @return an iterator of member name and value entries. If this does not represent an object, 
+	 * the iterator is empty.
+	 * @since [NOW]
+	 */
+	public Iterator<Map.Entry<String, JSONObject>> memberIterator()
+	{
+		return Spliterators.iterator(memberSpliterator());
+	}
+	
+	/**
+	 * Returns a Spliterator over the members on this object, if it is Object typed, in member order 
+	 * (see {@link #getMemberNames()}). If this is an array, the member names are the index numbers.
+	 * The Spliterator is sized and splits evenly, and is suitable for parallel streams.
+	 * Each member is returned as a new entry, which cannot be changed.
+	 * If members are added or removed during traversal, the Spliterator throws a {@link ConcurrentModificationException}.
+	 * @return a Spliterator of member name and value entries. If this does not represent an object, 
+	 * the Spliterator is empty.
+	 * @since [NOW]
+	 */
+	public Spliterator<Map.Entry<String, JSONObject>> memberSpliterator()
+	{
+		if (isArray())
+			return new MemberSpliterator(null, getElementList(), 0, length);
+		else if (isObject() && value != null)
+			return new MemberSpliterator(getMemberMap(), null, 0, getMap().size());
+		else
+			return Spliterators.emptySpliterator();
+	}
+	
+	/**
+	 * Returns a sequential Stream of the elements of this array, or the member values of this object, 
+	 * in order (see {@link #getMemberNames()}).
+	 * The array or object must not be modified while the Stream is in use, 
+	 * or a {@link ConcurrentModificationException} is thrown.
+	 * @return a new Stream. If this does not represent an object or array, the Stream is empty.
+	 * @see #memberStream()
+	 * @since [NOW]
+	 */
+	public Stream<JSONObject> stream()
+	{
+		return valueStream(false);
+	}
+	
+	/**
+	 * Returns a parallel Stream of the elements of this array, or the member values of this object.
+	 * The Stream splits the underlying storage directly, without copying it.
+	 * The array or object must not be modified while the Stream is in use, 
+	 * or a {@link ConcurrentModificationException} is thrown.
+	 * @return a new Stream. If this does not represent an object or array, the Stream is empty.
+	 * @see #parallelMemberStream()
+	 * @since [NOW]
+	 */
+	public Stream<JSONObject> parallelStream()
+	{
+		return valueStream(true);
+	}
+	
+	/**
+	 * Returns a sequential Stream of the members of this object, as name and value entries, in member order
+	 * (see {@link #getMemberNames()}). If this is an array, the member names are the index numbers.
+	 * @return a new Stream. If this does not represent an object, the Stream is empty.
+	 * @see #memberSpliterator()
+	 * @since [NOW]
+	 */
+	public Stream<Map.Entry<String, JSONObject>> memberStream()
+	{
+		return StreamSupport.stream(memberSpliterator(), false);
+	}
+	
+	/**
+	 * Returns a parallel Stream of the members of this object, as name and value entries.
+	 * If this is an array, the member names are the index numbers.
+	 * @return a new Stream. If this does not represent an object, the Stream is empty.
+	 * @see #memberSpliterator()
+	 * @since [NOW]
+	 */
+	public Stream<Map.Entry<String, JSONObject>> parallelMemberStream()
+	{
+		return StreamSupport.stream(memberSpliterator(), true);
+	}
+	
+	// Creates a stream of array elements or member values.
+	private Stream<JSONObject> valueStream(boolean parallel)
+	{
+		if (isArray())
+		{
+			return StreamSupport.stream(getList().spliterator(), parallel);
+		}
+		else if (isObject() && value != null)
+		{
+			return StreamSupport.stream(getMemberMap().valueSpliterator(), parallel);
+		}
+		else
+		{
+			return Stream.empty();
+		}
+	}
+	
 	/**
 	 * Checks if this is a null object.
 	 * @return true if so, false if not.
@@ -390,6 +623,21 @@ public class JSONObject
 	 */
 	public Object getValue()
 	{
+		if (value instanceof Class)
+		{
+			if (value == Long.TYPE)
+				return Long.valueOf(number);
+			else if (value == Integer.TYPE)
+				return Integer.valueOf((int)number);
+			else if (value == Double.TYPE)
+				return Double.valueOf(primitiveDouble());
+			else if (value == Float.TYPE)
+				return Float.valueOf((float)primitiveDouble());
+			else if (value == Short.TYPE)
+				return Short.valueOf((short)number);
+			else
+				return Byte.valueOf((byte)number);
+		}
 		return value;
 	}
 	
@@ -456,7 +704,9 @@ public class JSONObject
 	 */
 	public byte getByte()
 	{
-		if (type == Type.UNDEFINED)
+		if (value instanceof Class)
+			return isPrimitiveFloatingPoint() ? (byte)primitiveDouble() : (byte)number;
+		else if (type == Type.UNDEFINED)
 			return 0;
 		else if (type == Type.OBJECT)
 			return 0;
@@ -476,7 +726,9 @@ public class JSONObject
 	 */
 	public short getShort()
 	{
-		if (type == Type.UNDEFINED)
+		if (value instanceof Class)
+			return isPrimitiveFloatingPoint() ? (short)primitiveDouble() : (short)number;
+		else if (type == Type.UNDEFINED)
 			return 0;
 		else if (type == Type.OBJECT)
 			return 0;
@@ -496,7 +748,9 @@ public class JSONObject
 	 */
 	public int getInt()
 	{
-		if (type == Type.UNDEFINED)
+		if (value instanceof Class)
+			return isPrimitiveFloatingPoint() ? (int)primitiveDouble() : (int)number;
+		else if (type == Type.UNDEFINED)
 			return 0;
 		else if (type == Type.OBJECT)
 			return 0;
@@ -516,7 +770,9 @@ public class JSONObject
 	 */
 	public float getFloat()
 	{
-		if (type == Type.UNDEFINED)
+		if (value instanceof Class)
+			return isPrimitiveFloatingPoint() ? (float)primitiveDouble() : (float)number;
+		else if (type == Type.UNDEFINED)
 			return 0f;
 		else if (type == Type.OBJECT)
 			return 0f;
@@ -536,7 +792,9 @@ public class JSONObject
 	 */
 	public long getLong()
 	{
-		if (type == Type.UNDEFINED)
+		if (value instanceof Class)
+			return isPrimitiveFloatingPoint() ? (long)primitiveDouble() : number;
+		else if (type == Type.UNDEFINED)
 			return 0L;
 		else if (type == Type.OBJECT)
 			return 0L;
@@ -556,7 +814,9 @@ public class JSONObject
 	 */
 	public double getDouble()
 	{
-		if (type == Type.UNDEFINED)
+		if (value instanceof Class)
+			return isPrimitiveFloatingPoint() ? primitiveDouble() : (double)number;
+		else if (type == Type.UNDEFINED)
 			return 0.0;
 		else if (type == Type.OBJECT)
 			return 0.0;
@@ -570,6 +830,71 @@ public class JSONObject
 			return 0.0;
 	}
 	
+	/**
+	 * Returns the value of this JSON Object as a BigDecimal.
+	 * Numbers read with {@link JSONReader.Options#setKeepingRawNumbers(boolean)} are converted without loss of precision.
+	 * @return the BigDecimal value, or null if this cannot be reasonably converted to a BigDecimal.
+	 * @since [NOW]
+	 */
+	public BigDecimal getBigDecimal()
+	{
+		if (value instanceof Class)
+		{
+			if (!isPrimitiveFloatingPoint())
+				return BigDecimal.valueOf(number);
+			double d = primitiveDouble();
+			return Double.isNaN(d) || Double.isInfinite(d) ? null : new BigDecimal(getString());
+		}
+		else if (type == Type.UNDEFINED)
+			return null;
+		else if (type == Type.OBJECT)
+			return null;
+		else if (value instanceof Boolean)
+			return ((Boolean)value) ? BigDecimal.ONE : BigDecimal.ZERO;
+		else if (value instanceof BigDecimal)
+			return (BigDecimal)value;
+		else if (value instanceof BigInteger)
+			return new BigDecimal((BigInteger)value);
+		else if (value instanceof JSONNumber)
+			return ((JSONNumber)value).bigDecimalValue();
+		else if (value instanceof Double || value instanceof Float)
+		{
+			double d = ((Number)value).doubleValue();
+			return Double.isNaN(d) || Double.isInfinite(d) ? null : new BigDecimal(value.toString());
+		}
+		else if (value instanceof Number)
+			return BigDecimal.valueOf(((Number)value).longValue());
+		else if (value instanceof String)
+			return Utils.parseBigDecimal((String)value, null);
+		else
+			return null;
+	}
+	
+	/**
+	 * Returns the value of this JSON Object as a BigInteger.
+	 * Numbers read with {@link JSONReader.Options#setKeepingRawNumbers(boolean)} are converted without loss of precision.
+	 * Any fractional part is discarded.
+	 * @return the BigInteger value, or null if this cannot be reasonably converted to a BigInteger.
+	 * @since [NOW]
+	 */
+	public BigInteger getBigInteger()
+	{
+		if (value instanceof Class && !isPrimitiveFloatingPoint())
+			return BigInteger.valueOf(number);
+		else if (type == Type.UNDEFINED)
+			return null;
+		else if (type == Type.OBJECT)
+			return null;
+		else if (value instanceof BigInteger)
+			return (BigInteger)value;
+		else if (value instanceof JSONNumber)
+			return ((JSONNumber)value).bigIntegerValue();
+		else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+			return BigInteger.valueOf(((Number)value).longValue());
+		BigDecimal out = getBigDecimal();
+		return out != null ? out.toBigInteger() : null;
+	}
+	
 	/**
 	 * Returns the value of this JSON Object as an boolean.
 	 * Non-null Objects are always true, <i>undefined</i> is always false.
@@ -577,7 +902,9 @@ public class JSONObject
 	 */
 	public boolean getBoolean()
 	{
-		if (type == Type.UNDEFINED)
+		if (value instanceof Class)
+			return (isPrimitiveFloatingPoint() ? primitiveDouble() : (double)number) != 0.0;
+		else if (type == Type.UNDEFINED)
 			return false;
 		else if (type == Type.OBJECT)
 			return !isNull();
@@ -607,6 +934,8 @@ public class JSONObject
 			return "Object";
 		else if (isArray())
 			return "Object";
+		else if (value instanceof Class)
+			return String.valueOf(getValue());
 		else if (value instanceof Boolean)
 			return String.valueOf(value);
 		else if (value instanceof Number)
@@ -737,6 +1066,7 @@ public class JSONObject
 	/**
 	 * Removes a member from the beginning index of this JSONObject, shifting the contents, 
 	 * but only if this is an array. 
+	 * This takes constant time, regardless of the array's length.
 	 * @return the JSONObject at index 0 or null if this is empty.
 	 * @see #isArray()
 	 * @throws IllegalStateException if this JSONObject is not an array type.
@@ -767,6 +1097,7 @@ public class JSONObject
 	/**
 	 * Adds a member to the beginning of this JSONObject, shifting the contents, 
 	 * but only if this is an array.
+	 * This takes constant time, regardless of the array's length.
 	 * @param object the object to add.
 	 * @see #isArray()
 	 * @throws IllegalStateException if this JSONObject is not an array type.
@@ -929,7 +1260,7 @@ public class JSONObject
 		
 		Profile<T> profile = PROFILE_FACTORY.getProfile((Class<T>)object.getClass());
 
-		for (String member : getMemberNames())
+		forEachMember((member, memberValue) ->
 		{
 			FieldInfo fieldInfo = null; 
 			MethodInfo setterInfo = null;
@@ -937,31 +1268,56 @@ public class JSONObject
 			if ((fieldInfo = Utils.isNull(profile.getPublicFieldsByAlias().get(member), (profile.getPublicFieldsByName().get(member)))) != null)
 			{
 				Class<?> type = fieldInfo.getType();
-				String alias = fieldInfo.getAlias();
-				JSONObject jsobj = get(Utils.isNull(alias, member));
+				JSONObject jsobj = aliasedMember(member, fieldInfo.getAlias(), memberValue);
 				if (!jsobj.isUndefined())
 					Utils.setFieldValue(object, fieldInfo.getField(), createForType(member, jsobj, converterSet, type, fieldInfo.getKeyClass(), fieldInfo.getValueClass()));
 			}
 			else if ((setterInfo = Utils.isNull(profile.getSetterMethodsByAlias().get(member), (profile.getSetterMethodsByName().get(member)))) != null)
 			{
 				Class<?> type = setterInfo.getType();
-				String alias = setterInfo.getAlias();
 				Method method = setterInfo.getMethod();
-				JSONObject jsobj = get(Utils.isNull(alias, member));
+				JSONObject jsobj = aliasedMember(member, setterInfo.getAlias(), memberValue);
 				if (!jsobj.isUndefined())
 					Utils.invokeBlind(method, object, createForType(member, jsobj, converterSet, type, setterInfo.getKeyClass(), setterInfo.getValueClass()));
 			}			
-		}
+		});
 		
 		return object;
 	}
 
+	// Gets the member to apply for a member name: itself, or the member named by an alias, if it has a different one.
+	private JSONObject aliasedMember(String member, String alias, JSONObject memberValue)
+	{
+		return alias == null || alias.equals(member) ? memberValue : get(alias);
+	}
+	
+	/**
+	 * Gets the primitive type of this number, if it is stored as a primitive.
+	 * @return the primitive type (for example, <code>long.class</code>), or null if this is not a primitive number.
+	 */
+	Class<?> getPrimitiveNumberType()
+	{
+		return value instanceof Class ? (Class<?>)value : null;
+	}
+	
+	// Checks if this holds a primitive floating-point number.
+	private boolean isPrimitiveFloatingPoint()
+	{
+		return value == Double.TYPE || value == Float.TYPE;
+	}
+	
+	// Gets the primitive floating-point number.
+	private double primitiveDouble()
+	{
+		return Double.longBitsToDouble(number);
+	}
+	
 	/**
 	 * Promotes this array to an object.
 	 */
 	private void promoteArrayToObject()
 	{
-		HashMap<String, JSONObject> newmap = new HashMap<String, JSONObject>();
+		JSONMemberMap newmap = new JSONMemberMap(length);
 		for (int i = 0; i < length; i++)
 			newmap.put(String.valueOf(i), get(i));
 		value = newmap;
@@ -992,7 +1348,7 @@ public class JSONObject
 			throw new IllegalStateException("This is not an Object type.");
 	}
 	
-	private static <T> T newClassInstance(String memberName, JSONConverterSet converterSet, Class<T> type)
+	static <T> T newClassInstance(String memberName, JSONConverterSet converterSet, Class<T> type)
 	{
 		try {
 			return type.getDeclaredConstructor().newInstance();
@@ -1015,7 +1371,7 @@ public class JSONObject
 	
 	// Creates an object for application later.
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static <T, K, V> T createForType(String memberName, JSONObject jsonObject, JSONConverterSet converterSet, Class<T> type, Class<K> keyType, Class<V> valueType)
+	static <T, K, V> T createForType(String memberName, JSONObject jsonObject, JSONConverterSet converterSet, Class<T> type, Class<K> keyType, Class<V> valueType)
 	{
 		if (JSONObject.class.isAssignableFrom(type))
 		{
@@ -1072,6 +1428,10 @@ public class JSONObject
 					return (T)Double.valueOf(jsonObject.getDouble());
 				else if (type == Double.class)
 					return type.cast(jsonObject.getDouble());
+				else if (type == BigDecimal.class)
+					return type.cast(jsonObject.getBigDecimal());
+				else if (type == BigInteger.class)
+					return type.cast(jsonObject.getBigInteger());
 				else if (type == Object.class)
 				{
 					if ((double)jsonObject.getLong() == jsonObject.getDouble())
@@ -1170,24 +1530,20 @@ public class JSONObject
 					// Not instantiate-able.
 					if (type.isInterface() || (type.getModifiers() & Modifier.ABSTRACT) != 0)
 					{
-						String[] keys = jsonObject.getMemberNames();
-						Map<K, V> map = new HashMap<K, V>(keys.length);
-						for (String key : keys)
-							map.put(
-								createForType(String.format("%s->%s", memberName, key), JSONObject.create(key), converterSet, keyType, null, null), 
-								createForType(String.format("%s[%s]", memberName, key), jsonObject.get(key), converterSet, valueType, null, null)
-							);
+						Map<K, V> map = new HashMap<K, V>(jsonObject.getMemberCount());
+						jsonObject.forEachMember((key, memberObject) -> map.put(
+							createForType(String.format("%s->%s", memberName, key), JSONObject.create(key), converterSet, keyType, null, null), 
+							createForType(String.format("%s[%s]", memberName, key), memberObject, converterSet, valueType, null, null)
+						));
 						out = map;
 					}
 					else
 					{
-						String[] keys = jsonObject.getMemberNames();
 						Map<K, V> map = (Map<K, V>)newClassInstance(memberName, converterSet, type);
-						for (String key : keys)
-							map.put(
-								createForType(String.format("%s->%s", memberName, key), JSONObject.create(key), converterSet, keyType, null, null), 
-								createForType(String.format("%s[%s]", memberName, key), jsonObject.get(key), converterSet, valueType, null, null)
-							);
+						jsonObject.forEachMember((key, memberObject) -> map.put(
+							createForType(String.format("%s->%s", memberName, key), JSONObject.create(key), converterSet, keyType, null, null), 
+							createForType(String.format("%s[%s]", memberName, key), memberObject, converterSet, valueType, null, null)
+						));
 						out = map;
 					}
 					return type.cast(out);
@@ -1211,5 +1567,91 @@ public class JSONObject
 			
 		}
 	}
-
+	/**
+	 * A Spliterator over the members of an object or the elements of an array.
+	 */
+	private static final class MemberSpliterator implements Spliterator<Map.Entry<String, JSONObject>>
+	{
+		/** The member map, or null if this is over an array. */
+		private final JSONMemberMap map;
+		/** The array element list, or null if this is over an object. */
+		private final JSONElementList list;
+		/** Expected member map or element list modification count. */
+		private final int expectedModCount;
+		/** Next position. */
+		private int index;
+		/** End position, exclusive. */
+		private final int fence;
+		
+		private MemberSpliterator(JSONMemberMap map, JSONElementList list, int index, int fence)
+		{
+			this(map, list, map != null ? map.modCount() : list.modCount(), index, fence);
+		}
+		
+		private MemberSpliterator(JSONMemberMap map, JSONElementList list, int expectedModCount, int index, int fence)
+		{
+			this.map = map;
+			this.list = list;
+			this.expectedModCount = expectedModCount;
+			this.index = index;
+			this.fence = fence;
+		}
+		
+		// Creates the entry at a position.
+		private Map.Entry<String, JSONObject> entry(int i)
+		{
+			if (map != null)
+			{
+				if (map.modCount() != expectedModCount)
+					throw new ConcurrentModificationException();
+				return new AbstractMap.SimpleImmutableEntry<>(map.nameAt(i), map.valueAt(i));
+			}
+			else
+			{
+				if (list.modCount() != expectedModCount)
+					throw new ConcurrentModificationException();
+				return new AbstractMap.SimpleImmutableEntry<>(String.valueOf(i), list.get(i));
+			}
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super Map.Entry<String, JSONObject>> action)
+		{
+			if (index >= fence)
+				return false;
+			action.accept(entry(index++));
+			return true;
+		}
+		
+		@Override
+		public void forEachRemaining(Consumer<? super Map.Entry<String, JSONObject>> action)
+		{
+			while (index < fence)
+				action.accept(entry(index++));
+		}
+		
+		@Override
+		public Spliterator<Map.Entry<String, JSONObject>> trySplit()
+		{
+			int mid = (index + fence) >>> 1;
+			if (mid <= index)
+				return null;
+			Spliterator<Map.Entry<String, JSONObject>> out = new MemberSpliterator(map, list, expectedModCount, index, mid);
+			index = mid;
+			return out;
+		}
+		
+		@Override
+		public long estimateSize()
+		{
+			return fence - index;
+		}
+		
+		@Override
+		public int characteristics()
+		{
+			return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+		}
+	}
+	
 }
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+
+/**
+ * A buffered output target for written JSON.
+ * <p>
+ * Output is collected in a buffer and written to the target in large chunks.
+ * Buffers are pooled per thread: a buffer is taken from the pool when an output is created,
+ * and returned to it on {@link #release()}, so that repeated writes on the same thread
+ * do not allocate new buffers.
+ * <p>
+ * Outputs are NOT thread-safe.
+ * @author Matthew Tropiano
+ */
+abstract class JSONOutput
+{
+	/** Default buffer size. */
+	static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Writes a single character.
+	 * @param c the character to write.
+	 * @throws IOException if the target cannot be written to.
+	 */
+	abstract void write(char c) throws IOException;
+
+	/**
+	 * Writes a string.
+	 * @param s the string to write.
+	 * @throws IOException if the target cannot be written to.
+	 */
+	void write(String s) throws IOException
+	{
+		write(s, 0, s.length());
+	}
+
+	/**
+	 * Writes a range of characters in a string.
+	 * @param s the source string.
+	 * @param start the starting index, inclusive.
+	 * @param end the ending index, exclusive.
+	 * @throws IOException if the target cannot be written to.
+	 */
+	abstract void write(String s, int start, int end) throws IOException;
+
+	/**
+	 * Writes a range of characters in a character array.
+	 * @param cbuf the source array.
+	 * @param start the starting index, inclusive.
+	 * @param end the ending index, exclusive.
+	 * @throws IOException if the target cannot be written to.
+	 */
+	abstract void write(char[] cbuf, int start, int end) throws IOException;
+
+	/**
+	 * Writes all buffered output to the target, and flushes the target.
+	 * @throws IOException if the target cannot be written to.
+	 */
+	abstract void flush() throws IOException;
+
+	/**
+	 * Returns this output's buffer to its pool.
+	 * This output cannot be used afterward. The target is not closed.
+	 */
+	abstract void release();
+
+}
@@ -0,0 +1,579 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+
+/**
+ * A streaming "pull" parser for JSON data.
+ * <p>
+ * Instead of building a whole {@link JSONObject} tree, this reads the first JSON value in
+ * the input one event at a time, via {@link #next()}, and the value of each event is available
+ * through the accessor methods until the next call. Memory use does not depend on the size of the
+ * document - only on how deeply its objects and arrays are nested.
+ * <p>
+ * The accepted grammar is the same as {@link JSONReader}'s.
+ * A subtree can also be read in full, via {@link #readValue()}, which is useful for
+ * streaming over the elements of a very large array:
+ * <pre>
+ * JSONParser parser = new JSONParser(in);
+ * parser.next(); // START_ARRAY
+ * while (parser.next() != JSONParser.Event.END_ARRAY)
+ * {
+ *     JSONObject element = parser.readValue();
+ *     // ...
+ * }
+ * </pre>
+ * <p>
+ * This does not close the underlying stream. Parsers are NOT thread-safe.
+ * @author Matthew Tropiano
+ * @since [NOW]
+ */
+public class JSONParser
+{
+	/**
+	 * Parser events.
+	 */
+	public static enum Event
+	{
+		/** Start of an object. */
+		START_OBJECT,
+		/** End of an object. */
+		END_OBJECT,
+		/** Start of an array. */
+		START_ARRAY,
+		/** End of an array. */
+		END_ARRAY,
+		/** An object member name. */
+		FIELD_NAME,
+		/** A string value. */
+		VALUE_STRING,
+		/** A number value. */
+		VALUE_NUMBER,
+		/** The value <code>true</code>. */
+		VALUE_TRUE,
+		/** The value <code>false</code>. */
+		VALUE_FALSE,
+		/** The value <code>null</code>. */
+		VALUE_NULL;
+	}
+
+	/** Container type: object. */
+	private static final byte CONTAINER_OBJECT = 0;
+	/** Container type: array. */
+	private static final byte CONTAINER_ARRAY = 1;
+
+	/** State: expecting a value. */
+	private static final int STATE_VALUE = 0;
+	/** State: after "[", expecting a value or "]". */
+	private static final int STATE_ARRAY_START = 1;
+	/** State: after "{", expecting a member name or "}". */
+	private static final int STATE_OBJECT_START = 2;
+	/** State: after a member name, expecting ":" and a value. */
+	private static final int STATE_MEMBER_VALUE = 3;
+	/** State: after a value in a container, expecting "," or its end. */
+	private static final int STATE_AFTER_VALUE = 4;
+	/** State: the first value has been read completely. */
+	private static final int STATE_DONE = 5;
+
+	/** Default reader options. */
+	private static final JSONReader.Options DEFAULT_OPTIONS = new JSONReader.Options();
+
+	/** The token scanner. */
+	private JSONScanner scanner;
+	/** The reader options. */
+	private JSONReader.Options options;
+	/** Most nested arrays and objects allowed. */
+	private int maxDepth;
+	/** Most members allowed in an object, or elements in an array. */
+	private int maxMembers;
+	/** The context used for reading whole values. */
+	private JSONReader.ReaderContext readerContext;
+	/** The context used for reading whole values into objects. */
+	private JSONReader.BinderContext binderContext;
+	/** The current parser state. */
+	private int state;
+	/** The current event. */
+	private Event event;
+	/** Stack of open container types. */
+	private byte[] containers;
+	/** Comma counts of the open containers, for the member limit. */
+	private int[] counts;
+	/** Current container depth. */
+	private int depth;
+
+	/**
+	 * Creates a new parser that reads from a Reader.
+	 * @param reader the reader to read from.
+	 */
+	public JSONParser(Reader reader)
+	{
+		this(reader, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Creates a new parser that reads from a Reader.
+	 * @param reader the reader to read from.
+	 * @param options the options to use for reading.
+	 */
+	public JSONParser(Reader reader, JSONReader.Options options)
+	{
+		this(new JSONCharScanner(reader), options);
+	}
+
+	/**
+	 * Creates a new parser that reads from an InputStream.
+	 * <p>The stream is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text)
+	 * is detected at the start of the stream. A UTF-8 byte order mark is skipped.
+	 * @param in the input stream to read from.
+	 * @throws IOException if the start of the stream can't be read.
+	 */
+	public JSONParser(InputStream in) throws IOException
+	{
+		this(in, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Creates a new parser that reads from an InputStream.
+	 * <p>The stream is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text)
+	 * is detected at the start of the stream. A UTF-8 byte order mark is skipped.
+	 * @param in the input stream to read from.
+	 * @param options the options to use for reading.
+	 * @throws IOException if the start of the stream can't be read.
+	 */
+	public JSONParser(InputStream in, JSONReader.Options options) throws IOException
+	{
+		this(JSONByteScanner.create(in), options);
+	}
+
+	/**
+	 * Creates a new parser that reads from a string of characters.
+	 * @param data the string to read.
+	 */
+	public JSONParser(String data)
+	{
+		this(data, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Creates a new parser that reads from a string of characters.
+	 * @param data the string to read.
+	 * @param options the options to use for reading.
+	 */
+	public JSONParser(String data, JSONReader.Options options)
+	{
+		this(new JSONCharScanner(data), options);
+	}
+
+	/**
+	 * Creates a new parser that reads tokens from a scanner.
+	 * @param scanner the scanner to read from.
+	 */
+	JSONParser(JSONScanner scanner)
+	{
+		this(scanner, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Creates a new parser that reads tokens from a scanner.
+	 * @param scanner the scanner to read from.
+	 * @param options the options to use for reading.
+	 */
+	JSONParser(JSONScanner scanner, JSONReader.Options options)
+	{
+		this.scanner = scanner;
+		this.options = options;
+		this.maxDepth = options.getMaxDepth();
+		this.maxMembers = options.getMaxMembers();
+		this.readerContext = null;
+		this.binderContext = null;
+		this.state = STATE_VALUE;
+		this.event = null;
+		this.containers = new byte[16];
+		this.counts = new int[16];
+		this.depth = 0;
+		if (options.getMaxTokenLength() != Integer.MAX_VALUE || options.getMaxInputLength() != Long.MAX_VALUE)
+			scanner.setLimits(options.getMaxTokenLength(), options.getMaxInputLength());
+	}
+
+	/**
+	 * Checks if there are more events to read.
+	 * This is false once the first value in the input has been read completely.
+	 * @return true if so, false if not.
+	 */
+	public boolean hasNext()
+	{
+		return state != STATE_DONE;
+	}
+
+	/**
+	 * Reads the next event.
+	 * @return the event read.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws NoSuchElementException if there are no more events.
+	 * @see #hasNext()
+	 */
+	public Event next() throws IOException
+	{
+		int token;
+		switch (state)
+		{
+			case STATE_VALUE:
+				return event = startValue(scanner.nextToken());
+
+			case STATE_ARRAY_START:
+				token = scanner.nextToken();
+				if (token == JSONScanner.TOKEN_RBRACK)
+					return event = endContainer(Event.END_ARRAY);
+				return event = startValue(token);
+
+			case STATE_OBJECT_START:
+				token = scanner.nextToken();
+				if (token == JSONScanner.TOKEN_RBRACE)
+					return event = endContainer(Event.END_OBJECT);
+				return event = memberName(token);
+
+			case STATE_MEMBER_VALUE:
+				if (scanner.nextToken() != JSONScanner.TOKEN_COLON)
+					throw scanner.error("Expected ':'");
+				return event = startValue(scanner.nextToken());
+
+			case STATE_AFTER_VALUE:
+				token = scanner.nextToken();
+				if (containers[depth - 1] == CONTAINER_ARRAY)
+				{
+					if (token == JSONScanner.TOKEN_RBRACK)
+						return event = endContainer(Event.END_ARRAY);
+					else if (token != JSONScanner.TOKEN_COMMA)
+						throw scanner.error("Expected ']'");
+					else if (++counts[depth - 1] >= maxMembers)
+						throw scanner.error("Array exceeds member limit (" + maxMembers + ").");
+					return event = startValue(scanner.nextToken());
+				}
+				else
+				{
+					if (token == JSONScanner.TOKEN_RBRACE)
+						return event = endContainer(Event.END_OBJECT);
+					else if (token != JSONScanner.TOKEN_COMMA)
+						throw scanner.error("Expected '}'");
+					else if (++counts[depth - 1] >= maxMembers)
+						throw scanner.error("Object exceeds member limit (" + maxMembers + ").");
+					return event = memberName(scanner.nextToken());
+				}
+
+			default:
+				throw new NoSuchElementException("No more events.");
+		}
+	}
+
+	/**
+	 * @return the current event, or null if {@link #next()} was not called yet.
+	 */
+	public Event getEvent()
+	{
+		return event;
+	}
+
+	/**
+	 * Gets the current depth of nested objects and arrays.
+	 * A {@link Event#START_OBJECT} or {@link Event#START_ARRAY} event increases the depth,
+	 * and the matching end event decreases it.
+	 * @return the current depth.
+	 */
+	public int getDepth()
+	{
+		return depth;
+	}
+
+	/**
+	 * Gets the current member name, string value, or number (as it was written in the input).
+	 * @return the current event's text.
+	 * @throws IllegalStateException if the current event is not {@link Event#FIELD_NAME},
+	 * 		{@link Event#VALUE_STRING}, or {@link Event#VALUE_NUMBER}.
+	 */
+	public String getString()
+	{
+		if (event != Event.FIELD_NAME && event != Event.VALUE_STRING && event != Event.VALUE_NUMBER)
+			throw new IllegalStateException("Current event is not a member name, string, or number.");
+		return scanner.getString();
+	}
+
+	/**
+	 * Checks if the current number is an integer, with no fractional part or exponent.
+	 * @return true if so, false if not.
+	 * @throws IllegalStateException if the current event is not {@link Event#VALUE_NUMBER}.
+	 */
+	public boolean isIntegerNumber()
+	{
+		checkNumber();
+		return scanner.isIntegerNumber();
+	}
+
+	/**
+	 * Gets the current number as a long.
+	 * Numbers with fractional parts or exponents are truncated.
+	 * @return the current number.
+	 * @throws IllegalStateException if the current event is not {@link Event#VALUE_NUMBER}.
+	 * @throws JSONConversionException if the number does not fit in a long.
+	 */
+	public long getLong()
+	{
+		checkNumber();
+		return scanner.isIntegerNumber() ? scanner.getLong() : (long)scanner.getDouble();
+	}
+
+	/**
+	 * Gets the current number as an int.
+	 * Numbers with fractional parts or exponents are truncated.
+	 * @return the current number.
+	 * @throws IllegalStateException if the current event is not {@link Event#VALUE_NUMBER}.
+	 * @throws JSONConversionException if the number does not fit in an int.
+	 */
+	public int getInt()
+	{
+		long value = getLong();
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+			throw scanner.error("Number does not fit in an int.");
+		return (int)value;
+	}
+
+	/**
+	 * Gets the current number as a double.
+	 * @return the current number.
+	 * @throws IllegalStateException if the current event is not {@link Event#VALUE_NUMBER}.
+	 */
+	public double getDouble()
+	{
+		checkNumber();
+		return scanner.getDouble();
+	}
+
+	/**
+	 * Gets the current number as a BigDecimal, without loss of precision.
+	 * @return the current number.
+	 * @throws IllegalStateException if the current event is not {@link Event#VALUE_NUMBER}.
+	 */
+	public BigDecimal getBigDecimal()
+	{
+		checkNumber();
+		return scanner.getBigDecimal();
+	}
+
+	/**
+	 * Gets the current number as a BigInteger.
+	 * Numbers with fractional parts or exponents are truncated.
+	 * @return the current number.
+	 * @throws IllegalStateException if the current event is not {@link Event#VALUE_NUMBER}.
+	 */
+	public BigInteger getBigInteger()
+	{
+		checkNumber();
+		return scanner.getBigInteger();
+	}
+
+	/**
+	 * Gets the current boolean value.
+	 * @return true if the current event is {@link Event#VALUE_TRUE}, false if {@link Event#VALUE_FALSE}.
+	 * @throws IllegalStateException if the current event is not a boolean value.
+	 */
+	public boolean getBoolean()
+	{
+		if (event == Event.VALUE_TRUE)
+			return true;
+		else if (event == Event.VALUE_FALSE)
+			return false;
+		else
+			throw new IllegalStateException("Current event is not a boolean.");
+	}
+
+	/**
+	 * Skips the children of the current object or array.
+	 * If the current event is {@link Event#START_OBJECT} or {@link Event#START_ARRAY},
+	 * this reads up to its matching end event, which becomes the current event.
+	 * Otherwise, this does nothing.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 */
+	public void skipChildren() throws IOException
+	{
+		if (event != Event.START_OBJECT && event != Event.START_ARRAY)
+			return;
+		int target = depth - 1;
+		while (depth > target)
+			next();
+	}
+
+	/**
+	 * Reads the current value into a new {@link JSONObject}.
+	 * If the current event is {@link Event#START_OBJECT} or {@link Event#START_ARRAY},
+	 * the whole object or array is read, and its matching end event becomes the current event.
+	 * @return the value read.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IllegalStateException if the current event is not the start of a value.
+	 */
+	public JSONObject readValue() throws IOException
+	{
+		checkValueStart();
+		if (readerContext == null)
+			readerContext = new JSONReader.ReaderContext(scanner, options);
+
+		JSONObject out = readerContext.readValue(scanner.getTokenType(), valueDepth());
+		endReadValue();
+		return out;
+	}
+
+	/**
+	 * Reads the current value into a new object of a specific type.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @return the value read, already converted.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IllegalStateException if the current event is not the start of a value.
+	 * @see #readValue()
+	 */
+	public <T> T readValue(Class<T> clazz) throws IOException
+	{
+		return readValue(clazz, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads the current value into a new object of a specific type.
+	 * Objects are read directly into the new object, without creating {@link JSONObject}s in between.
+	 * If the current event is {@link Event#START_OBJECT} or {@link Event#START_ARRAY},
+	 * the whole object or array is read, and its matching end event becomes the current event.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @return the value read, already converted.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IllegalStateException if the current event is not the start of a value.
+	 */
+	public <T> T readValue(Class<T> clazz, JSONConverterSet converterSet) throws IOException
+	{
+		checkValueStart();
+		if (binderContext == null)
+			binderContext = new JSONReader.BinderContext(scanner, options);
+
+		T out = binderContext.readObject(clazz, scanner.getTokenType(), converterSet, valueDepth());
+		endReadValue();
+		return out;
+	}
+
+	// Starts a value. Returns the event.
+	private Event startValue(int token)
+	{
+		switch (token)
+		{
+			case JSONScanner.TOKEN_LBRACE:
+				push(CONTAINER_OBJECT);
+				state = STATE_OBJECT_START;
+				return Event.START_OBJECT;
+			case JSONScanner.TOKEN_LBRACK:
+				push(CONTAINER_ARRAY);
+				state = STATE_ARRAY_START;
+				return Event.START_ARRAY;
+			case JSONScanner.TOKEN_NUMBER:
+				endValue();
+				return Event.VALUE_NUMBER;
+			case JSONScanner.TOKEN_STRING:
+				endValue();
+				return Event.VALUE_STRING;
+			case JSONScanner.TOKEN_TRUE:
+				endValue();
+				return Event.VALUE_TRUE;
+			case JSONScanner.TOKEN_FALSE:
+				endValue();
+				return Event.VALUE_FALSE;
+			case JSONScanner.TOKEN_NULL:
+				endValue();
+				return Event.VALUE_NULL;
+			default:
+				throw scanner.error("Expected value.");
+		}
+	}
+
+	// Reads a member name. Returns the event.
+	private Event memberName(int token)
+	{
+		if (token != JSONScanner.TOKEN_STRING && token != JSONScanner.TOKEN_IDENTIFIER)
+			throw scanner.error("Expected member name (string or identifier).");
+		state = STATE_MEMBER_VALUE;
+		return Event.FIELD_NAME;
+	}
+
+	// Ends the current container. Returns the end event.
+	private Event endContainer(Event endEvent)
+	{
+		depth--;
+		endValue();
+		return endEvent;
+	}
+
+	// Sets the state after a complete value.
+	private void endValue()
+	{
+		state = depth == 0 ? STATE_DONE : STATE_AFTER_VALUE;
+	}
+
+	// Pushes a container type.
+	private void push(byte container)
+	{
+		if (depth >= maxDepth)
+			throw scanner.error("Nesting exceeds depth limit (" + maxDepth + ").");
+		if (depth == containers.length)
+		{
+			byte[] newContainers = new byte[containers.length * 2];
+			System.arraycopy(containers, 0, newContainers, 0, depth);
+			containers = newContainers;
+			int[] newCounts = new int[counts.length * 2];
+			System.arraycopy(counts, 0, newCounts, 0, depth);
+			counts = newCounts;
+		}
+		counts[depth] = 0;
+		containers[depth++] = container;
+	}
+
+	// Gets the depth that the current value is nested in, not counting the container that it starts.
+	private int valueDepth()
+	{
+		return event == Event.START_OBJECT || event == Event.START_ARRAY ? depth - 1 : depth;
+	}
+
+	// Checks that the current event starts a value.
+	private void checkValueStart()
+	{
+		if (event == null || event == Event.FIELD_NAME || event == Event.END_OBJECT || event == Event.END_ARRAY)
+			throw new IllegalStateException("Current event is not the start of a value.");
+	}
+
+	// Updates the state after a whole value is read from its starting event.
+	private void endReadValue()
+	{
+		if (event == Event.START_OBJECT)
+			event = endContainer(Event.END_OBJECT);
+		else if (event == Event.START_ARRAY)
+			event = endContainer(Event.END_ARRAY);
+	}
+
+	// Checks that the current event is a number.
+	private void checkNumber()
+	{
+		if (event != Event.VALUE_NUMBER)
+			throw new IllegalStateException("Current event is not a number.");
+	}
+
+}
@@ -1,504 +1,2338 @@
-/*******************************************************************************
- * Copyright (c) 2019-2023 Black Rook Software
- * This program and the accompanying materials are made available under the 
- * terms of the GNU Lesser Public License v2.1 which accompanies this 
- * distribution, and is available at 
- * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
- ******************************************************************************/
-package com.blackrook.json;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringReader;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Stack;
-
-import com.blackrook.json.struct.Lexer;
-
-/**
- * A class for reading JSON data into {@link JSONObject}s. 
- * @author Matthew Tropiano
- */
-public class JSONReader
-{
-	/**
-	 * Reads in a new JSONObject from a Reader.
-	 * This does not close the stream after reading, and reads the first structure
-	 * that it finds.
-	 * @param reader the reader to read from.
-	 * @return the parsed JSONObject.
-	 * @throws IOException if the stream can't be read, or a read error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 */
-	public static JSONObject readJSON(Reader reader) throws IOException
-	{
-		return (new ReaderContext(reader)).doRead();
-	}
-
-	/**
-	 * Reads in a new JSONObject from an InputStream.
-	 * This does not close the stream after reading, and reads the first structure
-	 * that it finds.
-	 * @param in the input stream to read from.
-	 * @return the parsed JSONObject.
-	 * @throws IOException if the stream can't be read, or an error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 */
-	public static JSONObject readJSON(InputStream in) throws IOException
-	{
-		return readJSON(new InputStreamReader(in));
-	}
-
-	/**
-	 * Reads in a new JSONObject from a string of characters.
-	 * @param data the string to read.
-	 * @return the parsed JSONObject.
-	 * @throws IOException if the string can't be read, or a read error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 */
-	public static JSONObject readJSON(String data) throws IOException
-	{
-		return readJSON(new StringReader(data));
-	}
-
-	/**
-	 * Reads in a new object from a Reader.
-	 * This does not close the stream after reading, and reads the first structure
-	 * that it finds and returns it as a new object converted from the JSON.
-	 * @param converterSet the converter set to use for conversion of certain specific types.
-	 * @param <T> the returned class type.
-	 * @param clazz the class type to read.
-	 * @param reader the reader to read from.
-	 * @return the applied object, already converted.
-	 * @throws IOException if the stream can't be read, or a read error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 * @since 1.3.0
-	 */
-	public static <T> T readJSON(Class<T> clazz, Reader reader, JSONConverterSet converterSet) throws IOException
-	{
-		return readJSON(reader).newObject(clazz, converterSet);
-	}
-
-	/**
-	 * Reads in a new object from an InputStream.
-	 * This does not close the stream after reading, and reads the first structure
-	 * that it finds and returns it as a new object converted from the JSON.
-	 * @param converterSet the converter set to use for conversion of certain specific types.
-	 * @param <T> the returned class type.
-	 * @param clazz the class type to read.
-	 * @param in the input stream to read from.
-	 * @return the applied object, already converted.
-	 * @throws IOException if the stream can't be read, or an error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 * @since 1.3.0
-	 */
-	public static <T> T readJSON(Class<T> clazz, InputStream in, JSONConverterSet converterSet) throws IOException
-	{
-		return readJSON(in).newObject(clazz, converterSet);
-	}
-
-	/**
-	 * Reads in a new object from a string of characters and returns it as a 
-	 * new object converted from the JSON.
-	 * @param converterSet the converter set to use for conversion of certain specific types.
-	 * @param <T> the returned class type.
-	 * @param clazz the class type to read.
-	 * @param data the string to read.
-	 * @return the applied object, already converted.
-	 * @throws IOException if the string can't be read, or a read error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 * @since 1.3.0
-	 */
-	public static <T> T readJSON(Class<T> clazz, String data, JSONConverterSet converterSet) throws IOException
-	{
-		return readJSON(data).newObject(clazz, converterSet);
-	}
-
-	/**
-	 * Reads in a new object from a Reader.
-	 * This does not close the stream after reading, and reads the first structure
-	 * that it finds and returns it as a new object converted from the JSON.
-	 * @param <T> the returned class type.
-	 * @param clazz the class type to read.
-	 * @param reader the reader to read from.
-	 * @return the applied object, already converted.
-	 * @throws IOException if the stream can't be read, or a read error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 */
-	public static <T> T readJSON(Class<T> clazz, Reader reader) throws IOException
-	{
-		return readJSON(reader).newObject(clazz);
-	}
-
-	/**
-	 * Reads in a new object from an InputStream.
-	 * This does not close the stream after reading, and reads the first structure
-	 * that it finds and returns it as a new object converted from the JSON.
-	 * @param <T> the returned class type.
-	 * @param clazz the class type to read.
-	 * @param in the input stream to read from.
-	 * @return the applied object, already converted.
-	 * @throws IOException if the stream can't be read, or an error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 */
-	public static <T> T readJSON(Class<T> clazz, InputStream in) throws IOException
-	{
-		return readJSON(in).newObject(clazz);
-	}
-
-	/**
-	 * Reads in a new object from a string of characters and returns it as a 
-	 * new object converted from the JSON.
-	 * @param <T> the returned class type.
-	 * @param clazz the class type to read.
-	 * @param data the string to read.
-	 * @return the applied object, already converted.
-	 * @throws IOException if the string can't be read, or a read error occurs.
-	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
-	 */
-	public static <T> T readJSON(Class<T> clazz, String data) throws IOException
-	{
-		return readJSON(data).newObject(clazz);
-	}
-
-	private static class JSONLexerKernel extends Lexer.Kernel
-	{
-		static final int TYPE_TRUE = 		0;
-		static final int TYPE_FALSE = 		1;
-		static final int TYPE_NULL = 		2;
-		static final int TYPE_LBRACE = 		3;
-		static final int TYPE_RBRACE = 		4;
-		static final int TYPE_COLON = 		5;
-		static final int TYPE_COMMA = 		6;
-		static final int TYPE_LBRACK = 		7;
-		static final int TYPE_RBRACK = 		8;
-		static final int TYPE_MINUS = 		9;
-
-		private JSONLexerKernel()
-		{
-			addStringDelimiter('"', '"');
-			addStringDelimiter('\'', '\'');
-			
-			addDelimiter("{", TYPE_LBRACE);
-			addDelimiter("}", TYPE_RBRACE);
-			addDelimiter("[", TYPE_LBRACK);
-			addDelimiter("]", TYPE_RBRACK);
-			addDelimiter(":", TYPE_COLON);
-			addDelimiter(",", TYPE_COMMA);
-			addDelimiter("-", TYPE_MINUS);
-			
-			addKeyword("true", TYPE_TRUE);
-			addKeyword("false", TYPE_FALSE);
-			addKeyword("null", TYPE_NULL);
-			
-			setDecimalSeparator('.');
-		}
-	}
-	
-	private static final JSONLexerKernel KERNEL = new JSONLexerKernel();
-	
-	/**
-	 * Lexer class for use in scanning text data for JSON data. 
-	 */
-	private static class JSONLexer extends Lexer
-	{
-		JSONLexer(Reader in)
-		{
-			super(KERNEL, in);
-		}
-	}
-	
-	/**
-	 * Reader context.
-	 */
-	private static class ReaderContext extends Lexer.Parser
-	{
-		/** Member stack. */
-		private List<String> errors;
-		/** Member stack. */
-		private Stack<String> currentMember;
-		/** JSONObject Stack. */
-		private Stack<JSONObject> currentObject;
-		
-		/** Reader context constructor. */
-		ReaderContext(Reader reader)
-		{
-			super(new JSONLexer(reader));
-			this.errors = new LinkedList<String>();
-			this.currentMember = new Stack<String>();
-			this.currentObject = new Stack<JSONObject>();
-		}
-		
-		/**
-		 * Starts parse of JSON object.
-		 */
-		JSONObject doRead()
-		{
-			nextToken();
-
-			if (Value())
-				return currentObject.pop();
-			
-			if (!errors.isEmpty())
-			{
-				StringBuilder sb = new StringBuilder();
-				Iterator<String> it = errors.iterator();
-				while (it.hasNext())
-				{
-					String s = it.next();
-					sb.append(s);
-					if (it.hasNext())
-						sb.append('\n');
-				}
-				throw new JSONConversionException(sb.toString());
-			}
-			
-			return null;
-		}
-		
-		// Value.
-		private boolean Value()
-		{
-			if (currentType(JSONLexerKernel.TYPE_MINUS))
-			{
-				nextToken();
-				if (currentType(JSONLexerKernel.TYPE_NUMBER))
-				{
-					if (!ParseNumber("-"+currentToken().getLexeme()))
-						return false;
-				}
-				
-				nextToken();
-				return true;
-			}
-			else if (currentType(JSONLexerKernel.TYPE_NUMBER))
-			{
-				if (!ParseNumber(currentToken().getLexeme()))
-					return false;
-				
-				nextToken();
-				return true;
-			}
-			else if (currentType(JSONLexerKernel.TYPE_STRING))
-			{
-				currentObject.push(JSONObject.create(currentToken().getLexeme()));
-				nextToken();
-				return true;
-			}
-			else if (currentType(JSONLexerKernel.TYPE_TRUE))
-			{
-				currentObject.push(JSONObject.create(Boolean.TRUE));
-				nextToken();
-				return true;
-			}
-			else if (currentType(JSONLexerKernel.TYPE_FALSE))
-			{
-				currentObject.push(JSONObject.create(Boolean.FALSE));
-				nextToken();
-				return true;
-			}
-			else if (currentType(JSONLexerKernel.TYPE_NULL))
-			{
-				currentObject.push(JSONObject.create(null));
-				nextToken();
-				return true;
-			}
-			else if (currentType(JSONLexerKernel.TYPE_LBRACK))
-			{
-				nextToken();
-				currentObject.push(JSONObject.createEmptyArray());
-				if (!ArrayValue())
-					return false;
-				
-				if (!matchType(JSONLexerKernel.TYPE_RBRACK))
-				{
-					errors.add(getTokenInfoLine("Expected ']'"));
-					return false;
-				}
-				
-				return true;
-			}
-			else if (currentType(JSONLexerKernel.TYPE_LBRACE))
-			{
-				nextToken();
-				currentObject.push(JSONObject.createEmptyObject());
-				if (!ObjectValue())
-					return false;
-				
-				if (!matchType(JSONLexerKernel.TYPE_RBRACE))
-				{
-					errors.add(getTokenInfoLine("Expected '}'"));
-					return false;
-				}
-				
-				return true;
-			}
-			
-			errors.add(getTokenInfoLine("Expected value."));
-			return false;
-		}
-		
-		/**
-		 * ArrayValue := 	Value ArrayBody
-		 * 					[e]
-		 */
-		private boolean ArrayValue()
-		{
-			if (Value())
-			{
-				JSONObject json = currentObject.pop();
-				currentObject.peek().append(json);
-				return ArrayBody();
-			}
-			
-			return true;
-		}
-		
-		/**
-		 * ArrayBody := 	"," Value ArrayBody
-		 * 					[e]
-		 */
-		private boolean ArrayBody()
-		{
-			if (currentType(JSONLexerKernel.TYPE_COMMA))
-			{
-				nextToken();
-				
-				if (Value())
-				{
-					JSONObject json = currentObject.pop();
-					currentObject.peek().append(json);
-					return ArrayBody();
-				}
-				else
-					return false;
-			}
-			
-			return true;
-		}
-		
-		/**
-		 * ObjectValue := 	STRING ":" Value ObjectBody
-		 * 					[e]
-		 */
-		private boolean ObjectValue()
-		{
-			if (currentType(JSONLexerKernel.TYPE_STRING, JSONLexerKernel.TYPE_IDENTIFIER))
-			{
-				currentMember.push(currentToken().getLexeme());
-				nextToken();
-				
-				if (!matchType(JSONLexerKernel.TYPE_COLON))
-				{
-					errors.add(getTokenInfoLine("Expected ':'"));
-					return false;
-				}
-				
-				if (Value())
-				{
-					JSONObject json = currentObject.pop();
-					currentObject.peek().addMember(currentMember.pop(), json);
-					return ObjectBody();
-				}
-				else
-					return false;
-			}
-			
-			return true;
-		}
-		
-		/**
-		 * ObjectBody := 	"," STRING ":" Value ObjectBody
-		 * 					[e]
-		 */
-		private boolean ObjectBody()
-		{
-			if (currentType(JSONLexerKernel.TYPE_COMMA))
-			{
-				nextToken();
-				
-				if (!currentType(JSONLexerKernel.TYPE_STRING, JSONLexerKernel.TYPE_IDENTIFIER))
-				{
-					errors.add(getTokenInfoLine("Expected member name (string or identifier)."));
-					return false;
-				}
-
-				currentMember.push(currentToken().getLexeme());
-				nextToken();
-				
-				if (!matchType(JSONLexerKernel.TYPE_COLON))
-				{
-					errors.add(getTokenInfoLine("Expected ':'"));
-					return false;
-				}
-				
-				if (Value())
-				{
-					JSONObject json = currentObject.pop();
-					currentObject.peek().addMember(currentMember.pop(), json);
-					return ObjectBody();
-				}
-			}
-			
-			return true;
-		}
-		
-		// Parses a validated number.
-		private boolean ParseNumber(String s)
-		{
-			int idx = s.indexOf("x");
-			int edx = Math.max(s.indexOf("e"), s.indexOf("E"));
-			int pdx = -1;
-			if (edx >= 0) 
-				pdx = Math.max(edx, s.indexOf("+"));
-			
-			int fdx = s.indexOf(".");
-			if (idx >= 0)
-			{
-				String lng = s.substring(idx + 1);
-				try {
-					currentObject.push(JSONObject.create(Long.parseLong(lng, 16)));
-				} catch (NumberFormatException n) {
-					errors.add(getTokenInfoLine("Malformed number."));
-					return false;
-				}
-			}
-			else if (edx >= 0)
-			{
-				String num = s.substring(0, edx);
-				String exp = s.substring(pdx + 1);
-				try {
-					currentObject.push(JSONObject.create(Double.parseDouble(num) * Math.pow(10, Double.parseDouble(exp))));
-				} catch (NumberFormatException n) {
-					errors.add(getTokenInfoLine("Malformed number."));
-					return false;
-				}
-			}
-			else if (fdx >= 0)
-			{
-				try {
-					currentObject.push(JSONObject.create(Double.parseDouble(s.toString())));
-				} catch (NumberFormatException n) {
-					errors.add(getTokenInfoLine("Malformed number."));
-					return false;
-				}
-			}
-			else
-			{
-				try {
-					currentObject.push(JSONObject.create(Long.parseLong(s.toString())));
-				} catch (NumberFormatException n) {
-					errors.add(getTokenInfoLine("Malformed number."));
-					return false;
-				}
-			}
-			return true;
-		}
-		
-	}
-
-}
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the 
+ * terms of the GNU Lesser Public License v2.1 which accompanies this 
+ * distribution, and is available at 
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.blackrook.json.struct.Utils;
+import com.blackrook.json.struct.TypeProfileFactory.Profile;
+import com.blackrook.json.struct.TypeProfileFactory.Profile.FieldInfo;
+import com.blackrook.json.struct.TypeProfileFactory.Profile.MethodInfo;
+
+/**
+ * A class for reading JSON data into {@link JSONObject}s. 
+ * @author Matthew Tropiano
+ */
+public class JSONReader
+{
+	private static final Options DEFAULT_OPTIONS = new Options();
+	
+	/**
+	 * Reads in a new JSONObject from a Reader.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds.
+	 * @param reader the reader to read from.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 */
+	public static JSONObject readJSON(Reader reader) throws IOException
+	{
+		return readJSON(reader, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new JSONObject from an InputStream.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds.
+	 * <p>The stream is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start of the stream. A UTF-8 byte order mark is skipped.
+	 * @param in the input stream to read from.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the stream can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 */
+	public static JSONObject readJSON(InputStream in) throws IOException
+	{
+		return readJSON(in, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new JSONObject from a string of characters.
+	 * @param data the string to read.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the string can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 */
+	public static JSONObject readJSON(String data) throws IOException
+	{
+		return readJSON(data, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new JSONObject from a Reader.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds.
+	 * @param reader the reader to read from.
+	 * @param options the options to use for reading.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(Reader reader, Options options) throws IOException
+	{
+		return (new ReaderContext(new JSONCharScanner(reader), options)).doRead();
+	}
+
+	/**
+	 * Reads in a new JSONObject from an InputStream.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds.
+	 * <p>The stream is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start of the stream. A UTF-8 byte order mark is skipped.
+	 * @param in the input stream to read from.
+	 * @param options the options to use for reading.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the stream can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(InputStream in, Options options) throws IOException
+	{
+		return (new ReaderContext(JSONByteScanner.create(in), options)).doRead();
+	}
+
+	/**
+	 * Reads in a new JSONObject from a string of characters.
+	 * @param data the string to read.
+	 * @param options the options to use for reading.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the string can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(String data, Options options) throws IOException
+	{
+		return (new ReaderContext(new JSONCharScanner(data), options)).doRead();
+	}
+
+	/**
+	 * Reads in a new JSONObject from a file.
+	 * The file is memory-mapped and scanned straight from the mapped pages, 
+	 * rather than read through a stream, and reads the first structure that it finds.
+	 * <p>The file is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start of the file. A UTF-8 byte order mark is skipped.
+	 * @param path the path to the file to read.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(Path path) throws IOException
+	{
+		return readJSON(path, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new JSONObject from a file channel.
+	 * The file is memory-mapped from the channel's current position and scanned straight from 
+	 * the mapped pages, rather than read through a stream, and reads the first structure that it finds.
+	 * This does not close the channel after reading, nor change its position.
+	 * <p>The file is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start. A UTF-8 byte order mark is skipped.
+	 * @param channel the file channel to read from.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the channel can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(FileChannel channel) throws IOException
+	{
+		return readJSON(channel, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new JSONObject from a file.
+	 * The file is memory-mapped and scanned straight from the mapped pages, 
+	 * rather than read through a stream, and reads the first structure that it finds.
+	 * <p>The file is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start of the file. A UTF-8 byte order mark is skipped.
+	 * @param path the path to the file to read.
+	 * @param options the options to use for reading.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(Path path, Options options) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			return readJSON(channel, options);
+		}
+	}
+
+	/**
+	 * Reads in a new JSONObject from a file channel.
+	 * The file is memory-mapped from the channel's current position and scanned straight from 
+	 * the mapped pages, rather than read through a stream, and reads the first structure that it finds.
+	 * This does not close the channel after reading, nor change its position.
+	 * <p>The file is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start. A UTF-8 byte order mark is skipped.
+	 * @param channel the file channel to read from.
+	 * @param options the options to use for reading.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the channel can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(FileChannel channel, Options options) throws IOException
+	{
+		return (new ReaderContext(JSONByteScanner.create(channel), options)).doRead();
+	}
+
+	/**
+	 * Reads in a new JSONObject from the remaining bytes in a ByteBuffer, and reads the first structure that it finds.
+	 * This does not change the buffer's position or limit. The bytes are scanned in place, without copying them, 
+	 * whether the buffer is backed by an array or not (such as a direct or read-only buffer).
+	 * <p>The bytes are read as UTF-8, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start. A UTF-8 byte order mark is skipped.
+	 * @param buffer the buffer to read.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(ByteBuffer buffer) throws IOException
+	{
+		return readJSON(buffer, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new JSONObject from a range of a byte array, and reads the first structure that it finds.
+	 * The bytes are scanned in place, without copying them.
+	 * <p>The bytes are read as UTF-8, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start. A UTF-8 byte order mark is skipped.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte in the array.
+	 * @param length the amount of bytes to read.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IndexOutOfBoundsException if the offset or length are out of the array's bounds.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(byte[] data, int offset, int length) throws IOException
+	{
+		return readJSON(data, offset, length, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new JSONObject from the remaining bytes in a ByteBuffer, and reads the first structure that it finds.
+	 * This does not change the buffer's position or limit. The bytes are scanned in place, without copying them, 
+	 * whether the buffer is backed by an array or not (such as a direct or read-only buffer).
+	 * <p>The bytes are read as UTF-8, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start. A UTF-8 byte order mark is skipped.
+	 * @param buffer the buffer to read.
+	 * @param options the options to use for reading.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(ByteBuffer buffer, Options options) throws IOException
+	{
+		return (new ReaderContext(JSONByteScanner.create(buffer), options)).doRead();
+	}
+
+	/**
+	 * Reads in a new JSONObject from a range of a byte array, and reads the first structure that it finds.
+	 * The bytes are scanned in place, without copying them.
+	 * <p>The bytes are read as UTF-8, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start. A UTF-8 byte order mark is skipped.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte in the array.
+	 * @param length the amount of bytes to read.
+	 * @param options the options to use for reading.
+	 * @return the parsed JSONObject.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IndexOutOfBoundsException if the offset or length are out of the array's bounds.
+	 * @since [NOW]
+	 */
+	public static JSONObject readJSON(byte[] data, int offset, int length, Options options) throws IOException
+	{
+		return (new ReaderContext(JSONByteScanner.create(data, offset, length), options)).doRead();
+	}
+
+	/**
+	 * Reads consecutive JSON values from a Reader, such as newline-delimited JSON (JSON Lines) 
+	 * or concatenated JSON documents, as a Stream of JSONObjects.
+	 * Values are read one at a time, as the Stream is consumed, all with the same scanner and buffer.
+	 * Values can be separated by any whitespace, or nothing at all.
+	 * This does not close the reader when the Stream is closed.
+	 * @param reader the reader to read from.
+	 * @return a Stream of the values read.
+	 * @see #readAll(Reader, Options)
+	 * @since [NOW]
+	 */
+	public static Stream<JSONObject> readAll(Reader reader)
+	{
+		return readAll(reader, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads consecutive JSON values from an InputStream, such as newline-delimited JSON (JSON Lines) 
+	 * or concatenated JSON documents, as a Stream of JSONObjects.
+	 * Values are read one at a time, as the Stream is consumed, all with the same scanner and buffer.
+	 * Values can be separated by any whitespace, or nothing at all.
+	 * This does not close the input stream when the Stream is closed.
+	 * <p>The stream is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start of the stream. A UTF-8 byte order mark is skipped.
+	 * @param in the input stream to read from.
+	 * @return a Stream of the values read.
+	 * @throws IOException if the start of the stream can't be read.
+	 * @see #readAll(InputStream, Options)
+	 * @since [NOW]
+	 */
+	public static Stream<JSONObject> readAll(InputStream in) throws IOException
+	{
+		return readAll(in, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads consecutive JSON values from a string of characters, such as newline-delimited JSON (JSON Lines) 
+	 * or concatenated JSON documents, as a Stream of JSONObjects.
+	 * Values can be separated by any whitespace, or nothing at all.
+	 * @param data the string to read.
+	 * @return a Stream of the values read.
+	 * @see #readAll(String, Options)
+	 * @since [NOW]
+	 */
+	public static Stream<JSONObject> readAll(String data)
+	{
+		return readAll(data, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads consecutive JSON values from a Reader, such as newline-delimited JSON (JSON Lines) 
+	 * or concatenated JSON documents, as a Stream of JSONObjects.
+	 * Values are read one at a time, as the Stream is consumed, all with the same scanner and buffer.
+	 * Values can be separated by any whitespace, or nothing at all.
+	 * This does not close the reader when the Stream is closed.
+	 * <p>If the input cannot be read while the Stream is consumed, the Stream throws an {@link UncheckedIOException}.
+	 * If a value is malformed, it throws a {@link JSONConversionException}. 
+	 * The input length limit in the options applies to the whole input, not each value.
+	 * @param reader the reader to read from.
+	 * @param options the options to use for reading.
+	 * @return a Stream of the values read.
+	 * @since [NOW]
+	 */
+	public static Stream<JSONObject> readAll(Reader reader, Options options)
+	{
+		return valueStream(new ReaderContext(new JSONCharScanner(reader), options));
+	}
+
+	/**
+	 * Reads consecutive JSON values from an InputStream, such as newline-delimited JSON (JSON Lines) 
+	 * or concatenated JSON documents, as a Stream of JSONObjects.
+	 * Values are read one at a time, as the Stream is consumed, all with the same scanner and buffer.
+	 * Values can be separated by any whitespace, or nothing at all.
+	 * This does not close the input stream when the Stream is closed.
+	 * <p>The stream is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start of the stream. A UTF-8 byte order mark is skipped.
+	 * <p>If the input cannot be read while the Stream is consumed, the Stream throws an {@link UncheckedIOException}.
+	 * If a value is malformed, it throws a {@link JSONConversionException}. 
+	 * The input length limit in the options applies to the whole input, not each value.
+	 * @param in the input stream to read from.
+	 * @param options the options to use for reading.
+	 * @return a Stream of the values read.
+	 * @throws IOException if the start of the stream can't be read.
+	 * @since [NOW]
+	 */
+	public static Stream<JSONObject> readAll(InputStream in, Options options) throws IOException
+	{
+		return valueStream(new ReaderContext(JSONByteScanner.create(in), options));
+	}
+
+	/**
+	 * Reads consecutive JSON values from a string of characters, such as newline-delimited JSON (JSON Lines) 
+	 * or concatenated JSON documents, as a Stream of JSONObjects.
+	 * Values can be separated by any whitespace, or nothing at all.
+	 * <p>If a value is malformed, the Stream throws a {@link JSONConversionException}. 
+	 * The input length limit in the options applies to the whole input, not each value.
+	 * @param data the string to read.
+	 * @param options the options to use for reading.
+	 * @return a Stream of the values read.
+	 * @since [NOW]
+	 */
+	public static Stream<JSONObject> readAll(String data, Options options)
+	{
+		return valueStream(new ReaderContext(new JSONCharScanner(data), options));
+	}
+
+	// Creates a stream of the consecutive values read by a reader context.
+	private static Stream<JSONObject> valueStream(ReaderContext context)
+	{
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new ValueIterator(context), Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Reads in a new object from a Reader.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param reader the reader to read from.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since 1.3.0
+	 */
+	public static <T> T readJSON(Class<T> clazz, Reader reader, JSONConverterSet converterSet) throws IOException
+	{
+		return readJSON(clazz, reader, converterSet, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new object from a Reader.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param reader the reader to read from.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, Reader reader, JSONConverterSet converterSet, Options options) throws IOException
+	{
+		return (new BinderContext(new JSONCharScanner(reader), options)).doRead(clazz, converterSet);
+	}
+
+	/**
+	 * Reads in a new object from an InputStream.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param in the input stream to read from.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since 1.3.0
+	 */
+	public static <T> T readJSON(Class<T> clazz, InputStream in, JSONConverterSet converterSet) throws IOException
+	{
+		return readJSON(clazz, in, converterSet, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new object from an InputStream.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param in the input stream to read from.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, InputStream in, JSONConverterSet converterSet, Options options) throws IOException
+	{
+		return (new BinderContext(JSONByteScanner.create(in), options)).doRead(clazz, converterSet);
+	}
+
+	/**
+	 * Reads in a new object from a string of characters and returns it as a 
+	 * new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the string to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the string can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since 1.3.0
+	 */
+	public static <T> T readJSON(Class<T> clazz, String data, JSONConverterSet converterSet) throws IOException
+	{
+		return readJSON(clazz, data, converterSet, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new object from a string of characters and returns it as a 
+	 * new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the string to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the string can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, String data, JSONConverterSet converterSet, Options options) throws IOException
+	{
+		return (new BinderContext(new JSONCharScanner(data), options)).doRead(clazz, converterSet);
+	}
+
+	/**
+	 * Reads in a new object from a Reader.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param reader the reader to read from.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 */
+	public static <T> T readJSON(Class<T> clazz, Reader reader) throws IOException
+	{
+		return readJSON(clazz, reader, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads in a new object from a Reader.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param reader the reader to read from.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, Reader reader, Options options) throws IOException
+	{
+		return readJSON(clazz, reader, JSONObject.GLOBAL_CONVERTER_SET, options);
+	}
+
+	/**
+	 * Reads in a new object from an InputStream.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param in the input stream to read from.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 */
+	public static <T> T readJSON(Class<T> clazz, InputStream in) throws IOException
+	{
+		return readJSON(clazz, in, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads in a new object from an InputStream.
+	 * This does not close the stream after reading, and reads the first structure
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param in the input stream to read from.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the stream can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, InputStream in, Options options) throws IOException
+	{
+		return readJSON(clazz, in, JSONObject.GLOBAL_CONVERTER_SET, options);
+	}
+
+	/**
+	 * Reads in a new object from a string of characters and returns it as a 
+	 * new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the string to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the string can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 */
+	public static <T> T readJSON(Class<T> clazz, String data) throws IOException
+	{
+		return readJSON(clazz, data, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads in a new object from a string of characters and returns it as a 
+	 * new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the string to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the string can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, String data, Options options) throws IOException
+	{
+		return readJSON(clazz, data, JSONObject.GLOBAL_CONVERTER_SET, options);
+	}
+
+	/**
+	 * Reads in a new object from a file.
+	 * The file is memory-mapped and scanned straight from the mapped pages, rather than read through a stream, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param path the path to the file to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, Path path, JSONConverterSet converterSet) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			return readJSON(clazz, channel, converterSet);
+		}
+	}
+
+	/**
+	 * Reads in a new object from a file.
+	 * The file is memory-mapped and scanned straight from the mapped pages, rather than read through a stream, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param path the path to the file to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, Path path, JSONConverterSet converterSet, Options options) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			return readJSON(clazz, channel, converterSet, options);
+		}
+	}
+
+	/**
+	 * Reads in a new object from a file channel.
+	 * The file is memory-mapped from the channel's current position and scanned straight from the mapped pages, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * This does not close the channel after reading, nor change its position.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param channel the file channel to read from.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the channel can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, FileChannel channel, JSONConverterSet converterSet) throws IOException
+	{
+		return readJSON(clazz, channel, converterSet, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new object from a file channel.
+	 * The file is memory-mapped from the channel's current position and scanned straight from the mapped pages, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * This does not close the channel after reading, nor change its position.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param channel the file channel to read from.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the channel can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, FileChannel channel, JSONConverterSet converterSet, Options options) throws IOException
+	{
+		return (new BinderContext(JSONByteScanner.create(channel), options)).doRead(clazz, converterSet);
+	}
+
+	/**
+	 * Reads in a new object from a file.
+	 * The file is memory-mapped and scanned straight from the mapped pages, rather than read through a stream, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param path the path to the file to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, Path path) throws IOException
+	{
+		return readJSON(clazz, path, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads in a new object from a file.
+	 * The file is memory-mapped and scanned straight from the mapped pages, rather than read through a stream, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param path the path to the file to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, Path path, Options options) throws IOException
+	{
+		return readJSON(clazz, path, JSONObject.GLOBAL_CONVERTER_SET, options);
+	}
+
+	/**
+	 * Reads in a new object from a file channel.
+	 * The file is memory-mapped from the channel's current position and scanned straight from the mapped pages, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * This does not close the channel after reading, nor change its position.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param channel the file channel to read from.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the channel can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, FileChannel channel) throws IOException
+	{
+		return readJSON(clazz, channel, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads in a new object from a file channel.
+	 * The file is memory-mapped from the channel's current position and scanned straight from the mapped pages, 
+	 * and reads the first structure that it finds and returns it as a new object converted from the JSON.
+	 * This does not close the channel after reading, nor change its position.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param channel the file channel to read from.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the channel can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, FileChannel channel, Options options) throws IOException
+	{
+		return readJSON(clazz, channel, JSONObject.GLOBAL_CONVERTER_SET, options);
+	}
+
+	/**
+	 * Reads in a new object from the remaining bytes in a ByteBuffer, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * This does not change the buffer's position or limit. The bytes are scanned in place, without copying them, 
+	 * whether the buffer is backed by an array or not (such as a direct or read-only buffer).
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param buffer the buffer to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, ByteBuffer buffer, JSONConverterSet converterSet) throws IOException
+	{
+		return readJSON(clazz, buffer, converterSet, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new object from the remaining bytes in a ByteBuffer, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * This does not change the buffer's position or limit. The bytes are scanned in place, without copying them, 
+	 * whether the buffer is backed by an array or not (such as a direct or read-only buffer).
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param buffer the buffer to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, ByteBuffer buffer, JSONConverterSet converterSet, Options options) throws IOException
+	{
+		return (new BinderContext(JSONByteScanner.create(buffer), options)).doRead(clazz, converterSet);
+	}
+
+	/**
+	 * Reads in a new object from a range of a byte array, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * The bytes are scanned in place, without copying them.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte in the array.
+	 * @param length the amount of bytes to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IndexOutOfBoundsException if the offset or length are out of the array's bounds.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, byte[] data, int offset, int length, JSONConverterSet converterSet) throws IOException
+	{
+		return readJSON(clazz, data, offset, length, converterSet, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads in a new object from a range of a byte array, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * The bytes are scanned in place, without copying them.
+	 * @param converterSet the converter set to use for conversion of certain specific types.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte in the array.
+	 * @param length the amount of bytes to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IndexOutOfBoundsException if the offset or length are out of the array's bounds.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, byte[] data, int offset, int length, JSONConverterSet converterSet, Options options) throws IOException
+	{
+		return (new BinderContext(JSONByteScanner.create(data, offset, length), options)).doRead(clazz, converterSet);
+	}
+
+	/**
+	 * Reads in a new object from the remaining bytes in a ByteBuffer, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * This does not change the buffer's position or limit. The bytes are scanned in place, without copying them, 
+	 * whether the buffer is backed by an array or not (such as a direct or read-only buffer).
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param buffer the buffer to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, ByteBuffer buffer) throws IOException
+	{
+		return readJSON(clazz, buffer, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads in a new object from the remaining bytes in a ByteBuffer, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * This does not change the buffer's position or limit. The bytes are scanned in place, without copying them, 
+	 * whether the buffer is backed by an array or not (such as a direct or read-only buffer).
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param buffer the buffer to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, ByteBuffer buffer, Options options) throws IOException
+	{
+		return readJSON(clazz, buffer, JSONObject.GLOBAL_CONVERTER_SET, options);
+	}
+
+	/**
+	 * Reads in a new object from a range of a byte array, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * The bytes are scanned in place, without copying them.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte in the array.
+	 * @param length the amount of bytes to read.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IndexOutOfBoundsException if the offset or length are out of the array's bounds.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, byte[] data, int offset, int length) throws IOException
+	{
+		return readJSON(clazz, data, offset, length, JSONObject.GLOBAL_CONVERTER_SET);
+	}
+
+	/**
+	 * Reads in a new object from a range of a byte array, and reads the first structure 
+	 * that it finds and returns it as a new object converted from the JSON.
+	 * The bytes are scanned in place, without copying them.
+	 * @param <T> the returned class type.
+	 * @param clazz the class type to read.
+	 * @param data the bytes to read.
+	 * @param offset the offset of the first byte in the array.
+	 * @param length the amount of bytes to read.
+	 * @param options the options to use for reading.
+	 * @return the applied object, already converted.
+	 * @throws IOException if the bytes can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @throws IndexOutOfBoundsException if the offset or length are out of the array's bounds.
+	 * @since [NOW]
+	 */
+	public static <T> T readJSON(Class<T> clazz, byte[] data, int offset, int length, Options options) throws IOException
+	{
+		return readJSON(clazz, data, offset, length, JSONObject.GLOBAL_CONVERTER_SET, options);
+	}
+
+	/**
+	 * Reads a file of newline-delimited JSON (JSON Lines) in parallel, converting each line's value to 
+	 * a new object and passing it to a consumer.
+	 * The values are passed to the consumer from several threads at once, in no particular order.
+	 * @param <T> the object type.
+	 * @param path the path to the file to read.
+	 * @param clazz the class type to read each value as (this can be {@link JSONObject}).
+	 * @param consumer the consumer to pass each object to. Must be thread-safe.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @see #readLinesParallel(Path, Class, Consumer, boolean)
+	 * @since [NOW]
+	 */
+	public static <T> void readLinesParallel(Path path, Class<T> clazz, Consumer<? super T> consumer) throws IOException
+	{
+		readLinesParallel(path, clazz, consumer, false);
+	}
+
+	/**
+	 * Reads a file of newline-delimited JSON (JSON Lines) in parallel, converting each line's value to 
+	 * a new object and passing it to a consumer.
+	 * <p>
+	 * The file is split into chunks at line boundaries, and each chunk is read on a worker thread of
+	 * the common {@link ForkJoinPool}, with its own scanner. Only a few chunks per worker are held 
+	 * in memory at once. The file is read as UTF-8 (a UTF-8 byte order mark is skipped), and each value 
+	 * must end on the line that it starts on.
+	 * <p>
+	 * If ordered is true, the consumer is only called from the calling thread, with the values in
+	 * the order that they appear in the file. If false, the consumer is called from the worker threads
+	 * as soon as values are read, in no particular order, and must be thread-safe.
+	 * <p>
+	 * If an error occurs, reading stops, and no more values are passed to the consumer once this method returns.
+	 * Error line numbers are counted from the start of the file. If ordered, every value before the line with
+	 * a parsing error is passed to the consumer before the error is thrown. If not ordered, values from any part 
+	 * of the file may have been passed to the consumer. Anything thrown by the consumer stops reading, and is 
+	 * thrown from this method.
+	 * @param <T> the object type.
+	 * @param path the path to the file to read.
+	 * @param clazz the class type to read each value as (this can be {@link JSONObject}).
+	 * @param consumer the consumer to pass each object to.
+	 * @param ordered if true, pass the objects to the consumer in file order, on the calling thread.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> void readLinesParallel(Path path, Class<T> clazz, Consumer<? super T> consumer, boolean ordered) throws IOException
+	{
+		readLinesParallel(path, clazz, consumer, ordered, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Reads a file of newline-delimited JSON (JSON Lines) in parallel, converting each line's value to 
+	 * a new object and passing it to a consumer.
+	 * This works the same as {@link #readLinesParallel(Path, Class, Consumer, boolean)}, with reader options.
+	 * The input length limit applies to the whole file, and is checked before anything is read.
+	 * The other limits apply to each value.
+	 * @param <T> the object type.
+	 * @param path the path to the file to read.
+	 * @param clazz the class type to read each value as (this can be {@link JSONObject}).
+	 * @param consumer the consumer to pass each object to.
+	 * @param ordered if true, pass the objects to the consumer in file order, on the calling thread.
+	 * @param options the options to use for reading.
+	 * @throws IOException if the file can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static <T> void readLinesParallel(Path path, Class<T> clazz, Consumer<? super T> consumer, boolean ordered, Options options) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			(new LinesContext<T>(channel, clazz, consumer, ordered, options)).doRead();
+		}
+	}
+
+	/**
+	 * Parses the first structure in a Reader, passing each part of it to a handler.
+	 * No {@link JSONObject}s are created.
+	 * This does not close the stream after reading.
+	 * @param reader the reader to read from.
+	 * @param handler the handler to call for each part of the JSON.
+	 * @throws IOException if the stream can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static void parse(Reader reader, JSONHandler handler) throws IOException
+	{
+		parse(new JSONParser(new JSONCharScanner(reader)), handler);
+	}
+
+	/**
+	 * Parses the first structure in an InputStream, passing each part of it to a handler.
+	 * No {@link JSONObject}s are created.
+	 * This does not close the stream after reading.
+	 * <p>The stream is read as UTF-8 bytes, unless a UTF-16 byte order mark (or UTF-16 encoded text) 
+	 * is detected at the start of the stream. A UTF-8 byte order mark is skipped.
+	 * @param in the input stream to read from.
+	 * @param handler the handler to call for each part of the JSON.
+	 * @throws IOException if the stream can't be read, or an error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static void parse(InputStream in, JSONHandler handler) throws IOException
+	{
+		parse(new JSONParser(JSONByteScanner.create(in)), handler);
+	}
+
+	/**
+	 * Parses the first structure in a string of characters, passing each part of it to a handler.
+	 * No {@link JSONObject}s are created.
+	 * @param data the string to read.
+	 * @param handler the handler to call for each part of the JSON.
+	 * @throws IOException if the string can't be read, or a read error occurs.
+	 * @throws JSONConversionException if a parsing error occurs, or the JSON is malformed.
+	 * @since [NOW]
+	 */
+	public static void parse(String data, JSONHandler handler) throws IOException
+	{
+		parse(new JSONParser(new JSONCharScanner(data)), handler);
+	}
+
+	// Passes each parser event to a handler.
+	private static void parse(JSONParser parser, JSONHandler handler) throws IOException
+	{
+		while (parser.hasNext())
+		{
+			switch (parser.next())
+			{
+				case START_OBJECT:
+					handler.startObject();
+					break;
+				case END_OBJECT:
+					handler.endObject();
+					break;
+				case START_ARRAY:
+					handler.startArray();
+					break;
+				case END_ARRAY:
+					handler.endArray();
+					break;
+				case FIELD_NAME:
+					handler.field(parser.getString());
+					break;
+				case VALUE_STRING:
+					handler.value(parser.getString());
+					break;
+				case VALUE_NUMBER:
+					if (parser.isIntegerNumber())
+						handler.value(parser.getLong());
+					else
+						handler.value(parser.getDouble());
+					break;
+				case VALUE_TRUE:
+					handler.value(true);
+					break;
+				case VALUE_FALSE:
+					handler.value(false);
+					break;
+				case VALUE_NULL:
+					handler.nullValue();
+					break;
+			}
+		}
+	}
+
+	/**
+	 * The JSON import options to pass to the reader methods.
+	 * @since [NOW]
+	 */
+	public static class Options
+	{
+		/** If true, numbers are kept as their decimal text. */
+		private boolean rawNumbers;
+		/** Most nested arrays and objects allowed. */
+		private int maxDepth;
+		/** Most characters allowed in a string, number, or identifier. */
+		private int maxTokenLength;
+		/** Most characters (or bytes) of input allowed. */
+		private long maxInputLength;
+		/** Most members allowed in an object, or elements in an array. */
+		private int maxMembers;
+		
+		public Options()
+		{
+			this.rawNumbers = false;
+			this.maxDepth = Integer.MAX_VALUE;
+			this.maxTokenLength = Integer.MAX_VALUE;
+			this.maxInputLength = Long.MAX_VALUE;
+			this.maxMembers = Integer.MAX_VALUE;
+		}
+		
+		/**
+		 * @return true if this keeps numbers as their decimal text, false if not.
+		 */
+		public boolean isKeepingRawNumbers() 
+		{
+			return rawNumbers;
+		}
+		
+		/**
+		 * Sets if the reader keeps numbers as their decimal text, instead of converting them to longs or doubles.
+		 * This is false by default.
+		 * <p>If true, a number is only converted when its value is requested from its JSONObject 
+		 * (for example, by {@link JSONObject#getLong()} or {@link JSONObject#getBigDecimal()}),
+		 * so numbers that do not fit in a long or double can be read without losing precision, 
+		 * and {@link JSONWriter} writes them back out with the same digits that were read.
+		 * Lenient number forms are kept as valid JSON numbers: leading zeroes are removed, and a missing digit 
+		 * next to the decimal point is kept as a zero (<code>.5</code> becomes <code>0.5</code>, <code>5.</code> becomes <code>5.0</code>).
+		 * Hexadecimal numbers are always converted.
+		 * @param rawNumbers true if so, false if not.
+		 */
+		public void setKeepingRawNumbers(boolean rawNumbers) 
+		{
+			this.rawNumbers = rawNumbers;
+		}
+		
+		/**
+		 * @return the most arrays and objects that can be nested inside each other.
+		 */
+		public int getMaxDepth() 
+		{
+			return maxDepth;
+		}
+		
+		/**
+		 * Sets the most arrays and objects that can be nested inside each other.
+		 * A top-level array or object is at depth 1.
+		 * This is unlimited ({@link Integer#MAX_VALUE}) by default, except when reading into objects of a class type 
+		 * (such as by {@link JSONReader#readJSON(Class, Reader, Options)}), where nested values are converted recursively:
+		 * if no limit is set, those are limited to a depth of 1000, so that deep nesting fails cleanly instead of 
+		 * overflowing the call stack.
+		 * @param maxDepth the maximum depth.
+		 * @throws IllegalArgumentException if maxDepth is less than 1.
+		 */
+		public void setMaxDepth(int maxDepth) 
+		{
+			if (maxDepth < 1)
+				throw new IllegalArgumentException("Max depth must be 1 or greater.");
+			this.maxDepth = maxDepth;
+		}
+		
+		/**
+		 * @return the most characters allowed in a single string, number, or member name.
+		 */
+		public int getMaxTokenLength() 
+		{
+			return maxTokenLength;
+		}
+		
+		/**
+		 * Sets the most characters allowed in a single string, number, or member name (after escapes are decoded).
+		 * Longer tokens are rejected while they are scanned, without reading the rest of them.
+		 * This is unlimited ({@link Integer#MAX_VALUE}) by default.
+		 * @param maxTokenLength the maximum token length. Must be at least 5, the length of <code>false</code>.
+		 * @throws IllegalArgumentException if maxTokenLength is less than 5.
+		 */
+		public void setMaxTokenLength(int maxTokenLength) 
+		{
+			if (maxTokenLength < 5)
+				throw new IllegalArgumentException("Max token length must be 5 or greater.");
+			this.maxTokenLength = maxTokenLength;
+		}
+		
+		/**
+		 * @return the most characters (or bytes) of input allowed.
+		 */
+		public long getMaxInputLength() 
+		{
+			return maxInputLength;
+		}
+		
+		/**
+		 * Sets the most input allowed for a document: characters, when reading from a Reader or String,
+		 * or bytes, when reading from an InputStream. Reading stops with an error as soon as the reader
+		 * needs input past the limit.
+		 * This is unlimited ({@link Long#MAX_VALUE}) by default.
+		 * @param maxInputLength the maximum input length.
+		 * @throws IllegalArgumentException if maxInputLength is less than 1.
+		 */
+		public void setMaxInputLength(long maxInputLength) 
+		{
+			if (maxInputLength < 1)
+				throw new IllegalArgumentException("Max input length must be 1 or greater.");
+			this.maxInputLength = maxInputLength;
+		}
+		
+		/**
+		 * @return the most members allowed in a single object, or elements in a single array.
+		 */
+		public int getMaxMembers() 
+		{
+			return maxMembers;
+		}
+		
+		/**
+		 * Sets the most members allowed in a single object, or elements in a single array.
+		 * This is unlimited ({@link Integer#MAX_VALUE}) by default.
+		 * @param maxMembers the maximum member count.
+		 * @throws IllegalArgumentException if maxMembers is less than 1.
+		 */
+		public void setMaxMembers(int maxMembers) 
+		{
+			if (maxMembers < 1)
+				throw new IllegalArgumentException("Max members must be 1 or greater.");
+			this.maxMembers = maxMembers;
+		}
+		
+	}
+
+	/**
+	 * Reader context.
+	 * Builds {@link JSONObject}s from the tokens of a {@link JSONScanner}.
+	 */
+	static class ReaderContext
+	{
+		/** Starting capacity of the container stacks. */
+		private static final int STACK_CAPACITY = 16;
+		
+		/** The scanner to read tokens from. */
+		private JSONScanner scanner;
+		/** If true, numbers are kept as their decimal text. */
+		private boolean rawNumbers;
+		/** Most nested arrays and objects allowed. */
+		private int maxDepth;
+		/** Most members allowed in an object, or elements in an array. */
+		private int maxMembers;
+		/** Stack of unfinished containers, reused between reads. */
+		private JSONObject[] containers;
+		/** Pending member names of the unfinished containers (null for arrays). */
+		private String[] memberNames;
+		/** Stack of skipped containers: true for objects, false for arrays. */
+		private boolean[] skippedObjects;
+		/** Comma counts of the skipped containers, for the member limit. */
+		private int[] skippedCounts;
+		
+		/** Reader context constructor. */
+		ReaderContext(JSONScanner scanner)
+		{
+			this(scanner, DEFAULT_OPTIONS);
+		}
+		
+		/** Reader context constructor. */
+		ReaderContext(JSONScanner scanner, Options options)
+		{
+			this.scanner = scanner;
+			this.rawNumbers = options.rawNumbers;
+			this.maxDepth = options.maxDepth;
+			this.maxMembers = options.maxMembers;
+			this.containers = new JSONObject[STACK_CAPACITY];
+			this.memberNames = new String[STACK_CAPACITY];
+			this.skippedObjects = new boolean[STACK_CAPACITY];
+			this.skippedCounts = new int[STACK_CAPACITY];
+			if (options.maxTokenLength != Integer.MAX_VALUE || options.maxInputLength != Long.MAX_VALUE)
+				scanner.setLimits(options.maxTokenLength, options.maxInputLength);
+		}
+		
+		/**
+		 * Starts parse of JSON object.
+		 * Reads only as many tokens as it needs to for the first value.
+		 */
+		JSONObject doRead() throws IOException
+		{
+			return Value(scanner.nextToken(), 0);
+		}
+		
+		/**
+		 * Reads the next value, for reading consecutive values.
+		 * @return the value read, or null if there are no more tokens.
+		 */
+		JSONObject readNext() throws IOException
+		{
+			int token = scanner.nextToken();
+			return token == JSONScanner.TOKEN_END ? null : Value(token, 0);
+		}
+		
+		/**
+		 * Reads a value, starting with a token that was already scanned.
+		 * If the token starts an object or array, this reads up to and including the token that ends it.
+		 * @param token the starting token type.
+		 * @return the value read.
+		 */
+		JSONObject readValue(int token) throws IOException
+		{
+			return Value(token, 0);
+		}
+		
+		/**
+		 * Reads a value, starting with a token that was already scanned, 
+		 * that is nested inside of arrays or objects that were already read.
+		 * If the token starts an object or array, this reads up to and including the token that ends it.
+		 * @param token the starting token type.
+		 * @param outerDepth the amount of arrays and objects that the value is nested in, for the depth limit.
+		 * @return the value read.
+		 */
+		JSONObject readValue(int token, int outerDepth) throws IOException
+		{
+			return Value(token, outerDepth);
+		}
+		
+		/**
+		 * Skips a value, starting with a token that was already scanned.
+		 * The value is checked for correctness, but nothing is created.
+		 * @param token the starting token type.
+		 */
+		void skipValue(int token) throws IOException
+		{
+			skipValue(token, 0);
+		}
+		
+		/**
+		 * Skips a value, starting with a token that was already scanned, 
+		 * that is nested inside of arrays or objects that were already read.
+		 * The value is checked for correctness, but nothing is created.
+		 * @param token the starting token type.
+		 * @param outerDepth the amount of arrays and objects that the value is nested in, for the depth limit.
+		 */
+		void skipValue(int token, int outerDepth) throws IOException
+		{
+			int depth = 0;
+			while (true)
+			{
+				switch (token)
+				{
+					case JSONScanner.TOKEN_NUMBER:
+					case JSONScanner.TOKEN_STRING:
+					case JSONScanner.TOKEN_TRUE:
+					case JSONScanner.TOKEN_FALSE:
+					case JSONScanner.TOKEN_NULL:
+						break;
+					case JSONScanner.TOKEN_LBRACK:
+					{
+						checkDepth(outerDepth + depth);
+						if ((token = scanner.nextToken()) == JSONScanner.TOKEN_RBRACK)
+							break;
+						depth = pushSkipped(depth, false);
+						continue;
+					}
+					case JSONScanner.TOKEN_LBRACE:
+					{
+						checkDepth(outerDepth + depth);
+						if ((token = scanner.nextToken()) == JSONScanner.TOKEN_RBRACE)
+							break;
+						MemberName(token);
+						depth = pushSkipped(depth, true);
+						token = scanner.nextToken();
+						continue;
+					}
+					default:
+						throw scanner.error("Expected value.");
+				}
+				
+				// end the containers that end after the value.
+				while (true)
+				{
+					if (depth == 0)
+						return;
+					token = scanner.nextToken();
+					if (skippedObjects[depth - 1])
+					{
+						if (token == JSONScanner.TOKEN_RBRACE)
+						{
+							depth--;
+							continue;
+						}
+						else if (token != JSONScanner.TOKEN_COMMA)
+							throw scanner.error("Expected '}'");
+						else if (++skippedCounts[depth - 1] >= maxMembers)
+							throw scanner.error("Object exceeds member limit (" + maxMembers + ").");
+						MemberName(scanner.nextToken());
+					}
+					else
+					{
+						if (token == JSONScanner.TOKEN_RBRACK)
+						{
+							depth--;
+							continue;
+						}
+						else if (token != JSONScanner.TOKEN_COMMA)
+							throw scanner.error("Expected ']'");
+						else if (++skippedCounts[depth - 1] >= maxMembers)
+							throw scanner.error("Array exceeds member limit (" + maxMembers + ").");
+					}
+					token = scanner.nextToken();
+					break;
+				}
+			}
+		}
+		
+		/**
+		 * Value := 	NUMBER | STRING | "true" | "false" | "null"
+		 * 				"[" ArrayBody "]"
+		 * 				"{" ObjectBody "}"
+		 * <p>
+		 * ArrayBody := 	Value ["," Value]* "]"
+		 * 					"]"
+		 * <p>
+		 * ObjectBody := 	STRING ":" Value ["," STRING ":" Value]* "}"
+		 * 					"}"
+		 * <p>
+		 * Nested arrays and objects are kept on an explicit stack, not the call stack,
+		 * so nesting depth is only limited by memory.
+		 */
+		private JSONObject Value(int token, int outerDepth) throws IOException
+		{
+			int depth = 0;
+			try
+			{
+				while (true)
+				{
+					JSONObject value;
+					switch (token)
+					{
+						case JSONScanner.TOKEN_NUMBER:
+							value = ParseNumber();
+							break;
+						case JSONScanner.TOKEN_STRING:
+							value = JSONObject.create(scanner.getString());
+							break;
+						case JSONScanner.TOKEN_TRUE:
+							value = JSONObject.create(Boolean.TRUE);
+							break;
+						case JSONScanner.TOKEN_FALSE:
+							value = JSONObject.create(Boolean.FALSE);
+							break;
+						case JSONScanner.TOKEN_NULL:
+							value = JSONObject.create(null);
+							break;
+						case JSONScanner.TOKEN_LBRACK:
+						{
+							checkDepth(outerDepth + depth);
+							if ((token = scanner.nextToken()) == JSONScanner.TOKEN_RBRACK)
+							{
+								value = JSONObject.createEmptyArray();
+								break;
+							}
+							depth = pushContainer(depth, JSONObject.createEmptyArray(), null);
+							continue;
+						}
+						case JSONScanner.TOKEN_LBRACE:
+						{
+							checkDepth(outerDepth + depth);
+							if ((token = scanner.nextToken()) == JSONScanner.TOKEN_RBRACE)
+							{
+								value = JSONObject.createEmptyObject();
+								break;
+							}
+							depth = pushContainer(depth, JSONObject.createEmptyObject(), MemberName(token));
+							token = scanner.nextToken();
+							continue;
+						}
+						default:
+							throw scanner.error("Expected value.");
+					}
+					
+					// add the value to its container, and end the containers that end after it.
+					while (true)
+					{
+						if (depth == 0)
+							return value;
+						
+						JSONObject container = containers[depth - 1];
+						String member = memberNames[depth - 1];
+						token = scanner.nextToken();
+						if (member != null)
+						{
+							container.addMember(member, value);
+							if (token == JSONScanner.TOKEN_RBRACE)
+							{
+								value = container;
+								depth = popContainer(depth);
+								continue;
+							}
+							else if (token != JSONScanner.TOKEN_COMMA)
+								throw scanner.error("Expected '}'");
+							else if (container.getMemberCount() >= maxMembers)
+								throw scanner.error("Object exceeds member limit (" + maxMembers + ").");
+							memberNames[depth - 1] = MemberName(scanner.nextToken());
+						}
+						else
+						{
+							container.append(value);
+							if (token == JSONScanner.TOKEN_RBRACK)
+							{
+								value = container;
+								depth = popContainer(depth);
+								continue;
+							}
+							else if (token != JSONScanner.TOKEN_COMMA)
+								throw scanner.error("Expected ']'");
+							else if (container.length() >= maxMembers)
+								throw scanner.error("Array exceeds member limit (" + maxMembers + ").");
+						}
+						token = scanner.nextToken();
+						break;
+					}
+				}
+			}
+			finally
+			{
+				// release unfinished containers on error.
+				while (depth > 0)
+					depth = popContainer(depth);
+			}
+		}
+		
+		/**
+		 * Reads a member name and the ":" after it, starting with a token that was already scanned.
+		 * @param token the member name token type.
+		 * @return the member name.
+		 */
+		private String MemberName(int token) throws IOException
+		{
+			if (token != JSONScanner.TOKEN_STRING && token != JSONScanner.TOKEN_IDENTIFIER)
+				throw scanner.error("Expected member name (string or identifier).");
+			String out = scanner.getString();
+			if (scanner.nextToken() != JSONScanner.TOKEN_COLON)
+				throw scanner.error("Expected ':'");
+			return out;
+		}
+		
+		// Checks if an array or object can start at a depth.
+		private void checkDepth(int depth)
+		{
+			if (depth >= maxDepth)
+				throw scanner.error("Nesting exceeds depth limit (" + maxDepth + ").");
+		}
+		
+		// Pushes an unfinished container, with its pending member name (null if an array). Returns the new depth.
+		private int pushContainer(int depth, JSONObject container, String member)
+		{
+			if (depth == containers.length)
+			{
+				containers = Arrays.copyOf(containers, depth * 2);
+				memberNames = Arrays.copyOf(memberNames, depth * 2);
+			}
+			containers[depth] = container;
+			memberNames[depth] = member;
+			return depth + 1;
+		}
+		
+		// Pops a finished container. Returns the new depth.
+		private int popContainer(int depth)
+		{
+			depth--;
+			containers[depth] = null;
+			memberNames[depth] = null;
+			return depth;
+		}
+		
+		// Pushes a skipped container (true if an object, false if an array). Returns the new depth.
+		private int pushSkipped(int depth, boolean object)
+		{
+			if (depth == skippedObjects.length)
+			{
+				skippedObjects = Arrays.copyOf(skippedObjects, depth * 2);
+				skippedCounts = Arrays.copyOf(skippedCounts, depth * 2);
+			}
+			skippedObjects[depth] = object;
+			skippedCounts[depth] = 0;
+			return depth + 1;
+		}
+		
+		// Parses a scanned number.
+		private JSONObject ParseNumber()
+		{
+			if (rawNumbers && (scanner.getNumberFlags() & JSONScanner.NUMBER_HEX) == 0)
+				return JSONObject.create(new JSONNumber(scanner.getNumberText(), scanner.isIntegerNumber()));
+			else if (scanner.isIntegerNumber())
+				return JSONObject.create(scanner.getLong());
+			else
+				return JSONObject.create(scanner.getDouble());
+		}
+		
+	}
+
+	/**
+	 * An iterator over the consecutive values read by a reader context.
+	 */
+	private static class ValueIterator implements Iterator<JSONObject>
+	{
+		/** The reader context. */
+		private ReaderContext context;
+		/** The next value, or null if not read yet. */
+		private JSONObject next;
+		/** If true, the end of input was reached. */
+		private boolean done;
+		
+		private ValueIterator(ReaderContext context)
+		{
+			this.context = context;
+			this.next = null;
+			this.done = false;
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			if (next == null && !done)
+			{
+				try {
+					next = context.readNext();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				done = next == null;
+			}
+			return next != null;
+		}
+		
+		@Override
+		public JSONObject next()
+		{
+			if (!hasNext())
+				throw new NoSuchElementException();
+			JSONObject out = next;
+			next = null;
+			return out;
+		}
+	}
+
+	/**
+	 * Parallel lines context.
+	 * Splits a file of newline-delimited JSON into chunks at line boundaries, and reads the values in 
+	 * each chunk on a {@link ForkJoinPool} worker, with its own scanner.
+	 */
+	static class LinesContext<T>
+	{
+		/** Smallest chunk size, in bytes. */
+		private static final int MIN_CHUNK_SIZE = 1 << 16;
+		/** Largest chunk size, in bytes. */
+		private static final int MAX_CHUNK_SIZE = 1 << 22;
+		/** Chunks read per worker thread, if the file is large enough. */
+		private static final int CHUNKS_PER_WORKER = 4;
+		/** Chunks in progress per worker thread. */
+		private static final int WINDOW_PER_WORKER = 2;
+		/** The file to read. */
+		private FileChannel channel;
+		/** The class type to read each value as. */
+		private Class<T> clazz;
+		/** The consumer to pass each value to. */
+		private Consumer<? super T> consumer;
+		/** If true, values are passed to the consumer in order, on the calling thread. */
+		private boolean ordered;
+		/** The pool to read chunks in. */
+		private ForkJoinPool pool;
+		/** Most bytes allowed in the file. */
+		private long maxInputLength;
+		/** The options to read each chunk with. The input length is not limited per chunk. */
+		private Options chunkOptions;
+		/** Chunk buffers not in use. There are only ever as many buffers as chunks read at once. */
+		private ConcurrentLinkedQueue<byte[]> buffers;
+		
+		/** Lines context constructor. */
+		LinesContext(FileChannel channel, Class<T> clazz, Consumer<? super T> consumer, boolean ordered, Options options)
+		{
+			this.channel = channel;
+			this.clazz = clazz;
+			this.consumer = consumer;
+			this.ordered = ordered;
+			this.pool = ForkJoinPool.commonPool();
+			this.maxInputLength = options.maxInputLength;
+			this.chunkOptions = new Options();
+			chunkOptions.rawNumbers = options.rawNumbers;
+			chunkOptions.maxDepth = options.maxDepth;
+			chunkOptions.maxTokenLength = options.maxTokenLength;
+			chunkOptions.maxMembers = options.maxMembers;
+			this.buffers = new ConcurrentLinkedQueue<>();
+		}
+		
+		/**
+		 * Reads the whole file.
+		 * Chunks are started in file order, and finished in file order, 
+		 * with at most a set amount of chunks in progress at once.
+		 */
+		void doRead() throws IOException
+		{
+			long size = channel.size();
+			if (size > maxInputLength)
+				throw new JSONConversionException("Input exceeds length limit (" + maxInputLength + ").");
+			
+			int workers = pool.getParallelism();
+			int chunkSize = (int)Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / ((long)workers * CHUNKS_PER_WORKER)));
+			int window = workers * WINDOW_PER_WORKER;
+			
+			ArrayDeque<Chunk> pending = new ArrayDeque<>(window);
+			try {
+				long lines = 0L;
+				long start = 0L;
+				boolean first = true;
+				while (start < size)
+				{
+					long end = nextLineStart(Math.min(start + chunkSize, size), size);
+					if (end - start > Integer.MAX_VALUE - 8)
+						throw new IOException("Line starting after byte " + start + " is too long to read.");
+					Chunk chunk = new Chunk(start, (int)(end - start), first);
+					pool.execute(chunk);
+					pending.add(chunk);
+					if (pending.size() == window)
+						lines = finish(pending.poll(), lines);
+					start = end;
+					first = false;
+				}
+				while (!pending.isEmpty())
+					lines = finish(pending.poll(), lines);
+			} finally {
+				// on error, stop the rest.
+				for (Chunk chunk : pending)
+					chunk.cancel(false);
+				for (Chunk chunk : pending)
+					chunk.quietlyJoin();
+			}
+		}
+		
+		/**
+		 * Waits for a chunk to finish, and passes its values to the consumer, if ordered.
+		 * If the chunk failed, its error is thrown. If ordered, the values before a parsing error are passed
+		 * to the consumer first.
+		 * @param chunk the chunk.
+		 * @param lines the amount of lines before the chunk.
+		 * @return the amount of lines up to the end of the chunk.
+		 */
+		private long finish(Chunk chunk, long lines) throws IOException
+		{
+			chunk.quietlyJoin();
+			Throwable failure = chunk.failure;
+			if (failure instanceof JSONConversionException)
+			{
+				// read again, to get the error with the line numbers in the file.
+				chunk.read(lines + 1, ordered ? consumer : null);
+				throw (JSONConversionException)failure;
+			}
+			else if (failure instanceof IOException)
+				throw (IOException)failure;
+			else if (failure instanceof RuntimeException)
+				throw (RuntimeException)failure;
+			else if (failure instanceof Error)
+				throw (Error)failure;
+			
+			if (ordered)
+			{
+				for (T value : chunk.values)
+					consumer.accept(value);
+			}
+			return lines + chunk.lines;
+		}
+		
+		/**
+		 * Finds the start of the next line, at or after a position.
+		 * @param position the position to start searching from.
+		 * @param size the file size.
+		 * @return the position after the next newline, or the file size if no more newlines.
+		 */
+		private long nextLineStart(long position, long size) throws IOException
+		{
+			if (position >= size)
+				return size;
+			
+			// the previous byte ends a line.
+			ByteBuffer buf = ByteBuffer.allocate(JSONScanner.BUFFER_SIZE);
+			long p = position - 1;
+			while (p < size)
+			{
+				buf.clear();
+				int read = channel.read(buf, p);
+				if (read < 0)
+					break;
+				for (int i = 0; i < read; i++)
+					if (buf.get(i) == '\n')
+						return p + i + 1;
+				p += read;
+			}
+			return size;
+		}
+		
+		/**
+		 * A chunk of whole lines in the file.
+		 */
+		private class Chunk extends RecursiveAction
+		{
+			private static final long serialVersionUID = -3335925719591244312L;
+			
+			/** Starting position in the file. */
+			private long start;
+			/** Length in bytes. */
+			private int length;
+			/** If true, this is the first chunk in the file. */
+			private boolean first;
+			/** The values read, if ordered. */
+			private List<T> values;
+			/** The amount of lines read. */
+			private long lines;
+			/** The error or exception thrown while reading (or by the consumer, if unordered), if any. */
+			private Throwable failure;
+			
+			private Chunk(long start, int length, boolean first)
+			{
+				this.start = start;
+				this.length = length;
+				this.first = first;
+				this.values = null;
+				this.lines = 0L;
+				this.failure = null;
+			}
+			
+			@Override
+			protected void compute()
+			{
+				// kept here, rather than rethrown through the pool, so that it is thrown as-is.
+				try {
+					values = ordered ? new ArrayList<T>() : null;
+					lines = read(1L, ordered ? values::add : consumer);
+				} catch (Throwable t) {
+					failure = t;
+				}
+			}
+			
+			/**
+			 * Reads the chunk's values.
+			 * @param firstLine the line number of the first line in the chunk, for errors.
+			 * @param target the consumer to pass the values to, or null to only read them.
+			 * @return the amount of lines read.
+			 */
+			private long read(long firstLine, Consumer<? super T> target) throws IOException
+			{
+				byte[] buffer = buffers.poll();
+				if (buffer == null || buffer.length < length)
+					buffer = new byte[Math.max(length, MIN_CHUNK_SIZE)];
+				
+				try {
+					ByteBuffer buf = ByteBuffer.wrap(buffer, 0, length);
+					while (buf.hasRemaining())
+						if (channel.read(buf, start + buf.position()) < 0)
+							throw new IOException("File ended before byte " + (start + length) + ".");
+					
+					int offset = 0;
+					if (first && length >= 3 && (buffer[0] & 0x0ff) == 0xEF && (buffer[1] & 0x0ff) == 0xBB && (buffer[2] & 0x0ff) == 0xBF)
+						offset = 3;
+					
+					JSONScanner scanner = new JSONByteScanner(buffer, offset, length - offset);
+					scanner.lineNumber = firstLine;
+					if (clazz == JSONObject.class)
+					{
+						ReaderContext context = new ReaderContext(scanner, chunkOptions);
+						JSONObject value;
+						while ((value = context.readNext()) != null)
+							if (target != null)
+								target.accept(clazz.cast(value));
+					}
+					else
+					{
+						BinderContext context = new BinderContext(scanner, chunkOptions);
+						int token;
+						while ((token = scanner.nextToken()) != JSONScanner.TOKEN_END)
+						{
+							T value = context.readObject(clazz, token, JSONObject.GLOBAL_CONVERTER_SET);
+							if (target != null)
+								target.accept(value);
+						}
+					}
+					return scanner.lineNumber - firstLine;
+				} finally {
+					buffers.offer(buffer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Binder context.
+	 * Applies the tokens of a {@link JSONScanner} directly to Java objects, 
+	 * the same way that {@link JSONObject#newObject(Class, JSONConverterSet)} would,
+	 * without building the intermediate {@link JSONObject} tree. 
+	 * Trees are only built for the parts that need them: values bound to converters 
+	 * or {@link JSONObject}-typed members.
+	 */
+	static class BinderContext
+	{
+		/** Depth limit if none is set, as nested values are bound recursively. */
+		static final int DEFAULT_MAX_DEPTH = 1000;
+		
+		/** The scanner to read tokens from. */
+		private JSONScanner scanner;
+		/** The context used for reading whole values. */
+		private ReaderContext readerContext;
+		/** Most nested arrays and objects allowed. */
+		private int maxDepth;
+		/** Most members allowed in an object, or elements in an array. */
+		private int maxMembers;
+		/** Current depth of nested arrays and objects. Set at the start of each read. */
+		private int depth;
+		
+		/** Binder context constructor. */
+		BinderContext(JSONScanner scanner)
+		{
+			this(scanner, DEFAULT_OPTIONS);
+		}
+		
+		/** Binder context constructor. */
+		BinderContext(JSONScanner scanner, Options options)
+		{
+			this.scanner = scanner;
+			this.readerContext = new ReaderContext(scanner, options);
+			this.maxDepth = options.maxDepth != Integer.MAX_VALUE ? options.maxDepth : DEFAULT_MAX_DEPTH;
+			this.maxMembers = options.maxMembers;
+			this.depth = 0;
+			// values read as trees are converted recursively as well.
+			readerContext.maxDepth = maxDepth;
+		}
+		
+		/**
+		 * Reads the first value and returns it as a new object.
+		 * Reads only as many tokens as it needs to for the first value.
+		 */
+		<T> T doRead(Class<T> clazz, JSONConverterSet converterSet) throws IOException
+		{
+			return readObject(clazz, scanner.nextToken(), converterSet, 0);
+		}
+		
+		/**
+		 * Reads a value as a new object, starting with a token that was already scanned.
+		 * If the token starts an object or array, this reads up to and including the token that ends it.
+		 * @param clazz the class type to read.
+		 * @param token the starting token type.
+		 * @param converterSet the converter set to use.
+		 * @return the new object.
+		 * @see JSONObject#newObject(Class, JSONConverterSet)
+		 */
+		<T> T readObject(Class<T> clazz, int token, JSONConverterSet converterSet) throws IOException
+		{
+			return readObject(clazz, token, converterSet, 0);
+		}
+		
+		/**
+		 * Reads a value as a new object, starting with a token that was already scanned, 
+		 * that is nested inside of arrays or objects that were already read.
+		 * If the token starts an object or array, this reads up to and including the token that ends it.
+		 * @param clazz the class type to read.
+		 * @param token the starting token type.
+		 * @param converterSet the converter set to use.
+		 * @param outerDepth the amount of arrays and objects that the value is nested in, for the depth limit.
+		 * @return the new object.
+		 * @see JSONObject#newObject(Class, JSONConverterSet)
+		 */
+		<T> T readObject(Class<T> clazz, int token, JSONConverterSet converterSet, int outerDepth) throws IOException
+		{
+			depth = outerDepth;
+			if (token == JSONScanner.TOKEN_NULL)
+				return null;
+			
+			if (Utils.isArray(clazz) && token == JSONScanner.TOKEN_LBRACK)
+			{
+				List<?> list = readList("this", Utils.getArrayType(clazz), converterSet);
+				return clazz.cast(toArray(list, Utils.getArrayType(clazz)));
+			}
+			else if (!Utils.isArray(clazz) && token == JSONScanner.TOKEN_LBRACE)
+			{
+				T out = Utils.create(clazz);
+				readMembers(out, converterSet);
+				return out;
+			}
+			
+			// Everything else is rare enough to go through the tree.
+			return readerContext.readValue(token, depth).newObject(clazz, converterSet);
+		}
+		
+		/**
+		 * Reads an object's members into an object, after its starting "{".
+		 * @see JSONObject#applyToObject(Object, JSONConverterSet)
+		 */
+		private void readMembers(Object object, JSONConverterSet converterSet) throws IOException
+		{
+			Profile<?> profile = JSONObject.PROFILE_FACTORY.getProfile(object.getClass());
+			startContainer();
+			int token = scanner.nextToken();
+			if (token == JSONScanner.TOKEN_RBRACE)
+			{
+				depth--;
+				return;
+			}
+			
+			int count = 0;
+			while (true)
+			{
+				if (token != JSONScanner.TOKEN_STRING && token != JSONScanner.TOKEN_IDENTIFIER)
+					throw scanner.error("Expected member name (string or identifier).");
+				
+				String member = scanner.getString();
+				if (Utils.isEmpty(member))
+					throw new IllegalArgumentException("Member name is empty, null, or whitespace.");
+				if (scanner.nextToken() != JSONScanner.TOKEN_COLON)
+					throw scanner.error("Expected ':'");
+				
+				readMember(object, profile, member, scanner.nextToken(), converterSet);
+				count++;
+				token = scanner.nextToken();
+				if (token == JSONScanner.TOKEN_RBRACE)
+				{
+					depth--;
+					return;
+				}
+				else if (token != JSONScanner.TOKEN_COMMA)
+					throw scanner.error("Expected '}'");
+				else if (count >= maxMembers)
+					throw scanner.error("Object exceeds member limit (" + maxMembers + ").");
+				token = scanner.nextToken();
+			}
+		}
+		
+		// Reads a single member into an object. 
+		// A member found by name whose field or setter has a different alias is skipped, as it is only read from the alias.
+		private void readMember(Object object, Profile<?> profile, String member, int token, JSONConverterSet converterSet) throws IOException
+		{
+			FieldInfo fieldInfo = null; 
+			MethodInfo setterInfo = null;
+			
+			if ((fieldInfo = Utils.isNull(profile.getPublicFieldsByAlias().get(member), (profile.getPublicFieldsByName().get(member)))) != null)
+			{
+				String alias = fieldInfo.getAlias();
+				if (alias == null || alias.equals(member))
+					Utils.setFieldValue(object, fieldInfo.getField(), readForType(member, token, converterSet, fieldInfo.getType(), fieldInfo.getKeyClass(), fieldInfo.getValueClass()));
+				else
+					readerContext.skipValue(token, depth);
+			}
+			else if ((setterInfo = Utils.isNull(profile.getSetterMethodsByAlias().get(member), (profile.getSetterMethodsByName().get(member)))) != null)
+			{
+				String alias = setterInfo.getAlias();
+				if (alias == null || alias.equals(member))
+					Utils.invokeBlind(setterInfo.getMethod(), object, readForType(member, token, converterSet, setterInfo.getType(), setterInfo.getKeyClass(), setterInfo.getValueClass()));
+				else
+					readerContext.skipValue(token, depth);
+			}
+			else
+			{
+				readerContext.skipValue(token, depth);
+			}
+		}
+		
+		// Reads the elements of an array, after its starting "[".
+		private <K> List<K> readList(String memberName, Class<K> elementType, JSONConverterSet converterSet) throws IOException
+		{
+			List<K> out = new ArrayList<K>();
+			readElements(out, memberName, elementType, converterSet);
+			return out;
+		}
+		
+		// Reads the elements of an array into a collection, after its starting "[".
+		private <K> void readElements(Collection<K> out, String memberName, Class<K> elementType, JSONConverterSet converterSet) throws IOException
+		{
+			startContainer();
+			int token = scanner.nextToken();
+			if (token == JSONScanner.TOKEN_RBRACK)
+			{
+				depth--;
+				return;
+			}
+			
+			int i = 0;
+			while (true)
+			{
+				out.add(readForType(memberName + "[" + i + "]", token, converterSet, elementType, null, null));
+				i++;
+				token = scanner.nextToken();
+				if (token == JSONScanner.TOKEN_RBRACK)
+				{
+					depth--;
+					return;
+				}
+				else if (token != JSONScanner.TOKEN_COMMA)
+					throw scanner.error("Expected ']'");
+				else if (i >= maxMembers)
+					throw scanner.error("Array exceeds member limit (" + maxMembers + ").");
+				token = scanner.nextToken();
+			}
+		}
+		
+		// Reads the members of an object into a map, after its starting "{".
+		private <K, V> void readEntries(Map<K, V> out, String memberName, Class<K> keyType, Class<V> valueType, JSONConverterSet converterSet) throws IOException
+		{
+			startContainer();
+			int token = scanner.nextToken();
+			if (token == JSONScanner.TOKEN_RBRACE)
+			{
+				depth--;
+				return;
+			}
+			
+			int count = 0;
+			while (true)
+			{
+				if (token != JSONScanner.TOKEN_STRING && token != JSONScanner.TOKEN_IDENTIFIER)
+					throw scanner.error("Expected member name (string or identifier).");
+				
+				String key = scanner.getString();
+				if (Utils.isEmpty(key))
+					throw new IllegalArgumentException("Member name is empty, null, or whitespace.");
+				if (scanner.nextToken() != JSONScanner.TOKEN_COLON)
+					throw scanner.error("Expected ':'");
+				
+				out.put(
+					JSONObject.createForType(memberName + "->" + key, JSONObject.create(key), converterSet, keyType, null, null),
+					readForType(memberName + "[" + key + "]", scanner.nextToken(), converterSet, valueType, null, null)
+				);
+				count++;
+				token = scanner.nextToken();
+				if (token == JSONScanner.TOKEN_RBRACE)
+				{
+					depth--;
+					return;
+				}
+				else if (token != JSONScanner.TOKEN_COMMA)
+					throw scanner.error("Expected '}'");
+				else if (count >= maxMembers)
+					throw scanner.error("Object exceeds member limit (" + maxMembers + ").");
+				token = scanner.nextToken();
+			}
+		}
+		
+		// Starts an array or object, after its starting token. 
+		// Its reading method ends it, but the depth is not restored on error, as it is set again on the next read.
+		private void startContainer()
+		{
+			if (depth >= maxDepth)
+				throw scanner.error("Nesting exceeds depth limit (" + maxDepth + ").");
+			depth++;
+		}
+		
+		// Reads a value for a member type. 
+		// Mirrors JSONObject.createForType(...), but from tokens.
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private <T, K, V> T readForType(String memberName, int token, JSONConverterSet converterSet, Class<T> type, Class<K> keyType, Class<V> valueType) throws IOException
+		{
+			if (JSONObject.class.isAssignableFrom(type))
+				return (T)readerContext.readValue(token, depth);
+			
+			JSONConverter<T> converter;
+			if ((converter = converterSet.getConverter(type)) != null)
+				return converter.getObject(readerContext.readValue(token, depth));
+			
+			switch (token)
+			{
+				case JSONScanner.TOKEN_TRUE:
+				case JSONScanner.TOKEN_FALSE:
+				{
+					boolean value = token == JSONScanner.TOKEN_TRUE;
+					if (type == Boolean.TYPE)
+						return (T)Boolean.valueOf(value);
+					else if (type == Boolean.class)
+						return type.cast(value);
+					else if (type == Object.class)
+						return type.cast(value);
+					else
+						throw new JSONConversionException("Member "+memberName+" is boolean typed; target is not boolean or Boolean.");
+				}
+				
+				case JSONScanner.TOKEN_NUMBER:
+				{
+					return readNumber(memberName, type);
+				}
+				
+				case JSONScanner.TOKEN_STRING:
+				{
+					if (type.isEnum())
+					{
+						try {
+							return type.cast(Enum.valueOf((Class<Enum>)type, scanner.getString()));
+						} catch (IllegalArgumentException e) {
+							return null;
+						}
+					}
+					else if (type == String.class)
+						return type.cast(scanner.getString());
+					else if (type == Object.class)
+						return type.cast(scanner.getString());
+					else
+						throw new JSONConversionException("Member "+memberName+" is string typed; target is not String.");
+				}
+				
+				case JSONScanner.TOKEN_NULL:
+				{
+					return null;
+				}
+				
+				case JSONScanner.TOKEN_LBRACK:
+				{
+					// Target is Iterable.
+					if (type == Iterable.class)
+					{
+						return type.cast(readList(memberName, keyType, converterSet));
+					}
+					// Target is Collection.
+					else if (Collection.class.isAssignableFrom(type))
+					{
+						Collection<K> coll;
+						// Not instantiate-able.
+						if (type.isInterface() || (type.getModifiers() & Modifier.ABSTRACT) != 0)
+						{
+							if (SortedSet.class.isAssignableFrom(type))
+								coll = new TreeSet<K>();
+							else if (Set.class.isAssignableFrom(type))
+								coll = new HashSet<K>();
+							else
+								coll = new ArrayList<K>();
+						}
+						else
+						{
+							coll = (Collection<K>)JSONObject.newClassInstance(memberName, converterSet, type);
+						}
+						readElements(coll, memberName, keyType, converterSet);
+						return type.cast(coll);
+					}
+					// type is array
+					else if (Utils.isArray(type))
+					{
+						return type.cast(toArray(readList(memberName, keyType, converterSet), keyType));
+					}
+					else
+						throw new JSONConversionException("Member "+memberName+" cannot be converted; member is array and target is not array typed or a single-type Collection type.");
+				}
+				
+				case JSONScanner.TOKEN_LBRACE:
+				{
+					// Target is Map.
+					if (Map.class.isAssignableFrom(type))
+					{
+						Map<K, V> map;
+						// Not instantiate-able.
+						if (type.isInterface() || (type.getModifiers() & Modifier.ABSTRACT) != 0)
+							map = new HashMap<K, V>();
+						else
+							map = (Map<K, V>)JSONObject.newClassInstance(memberName, converterSet, type);
+						readEntries(map, memberName, keyType, valueType, converterSet);
+						return type.cast(map);
+					}
+					// Objects.
+					else
+					{
+						T out = JSONObject.newClassInstance(memberName, converterSet, type);
+						// Nested objects are applied with the global converter set (see JSONObject.createForType).
+						readMembers(out, JSONObject.GLOBAL_CONVERTER_SET);
+						return out;
+					}
+				}
+				
+				default:
+					throw scanner.error("Expected value.");
+			}
+		}
+		
+		// Reads the current number token for a member type.
+		// Conversions are the same as JSONObject's number accessors.
+		@SuppressWarnings("unchecked")
+		private <T> T readNumber(String memberName, Class<T> type)
+		{
+			if (type == BigDecimal.class)
+				return type.cast(scanner.getBigDecimal());
+			else if (type == BigInteger.class)
+				return type.cast(scanner.getBigInteger());
+			
+			boolean integer = scanner.isIntegerNumber();
+			long longValue = integer ? scanner.getLong() : 0L;
+			double doubleValue = integer ? (double)longValue : scanner.getDouble();
+			
+			Object out;
+			if (type == Boolean.TYPE || type == Boolean.class)
+				out = Boolean.valueOf(doubleValue != 0.0);
+			else if (type == Byte.TYPE || type == Byte.class)
+				out = Byte.valueOf(integer ? (byte)longValue : (byte)doubleValue);
+			else if (type == Short.TYPE || type == Short.class)
+				out = Short.valueOf(integer ? (short)longValue : (short)doubleValue);
+			else if (type == Integer.TYPE || type == Integer.class)
+				out = Integer.valueOf(integer ? (int)longValue : (int)doubleValue);
+			else if (type == Float.TYPE || type == Float.class)
+				out = Float.valueOf(integer ? (float)longValue : (float)doubleValue);
+			else if (type == Long.TYPE || type == Long.class)
+				out = Long.valueOf(integer ? longValue : (long)doubleValue);
+			else if (type == Double.TYPE || type == Double.class)
+				out = Double.valueOf(doubleValue);
+			else if (type == Object.class)
+			{
+				long ln = integer ? longValue : (long)doubleValue;
+				if ((double)ln == doubleValue)
+				{
+					if (ln >= (long)Integer.MIN_VALUE && ln <= (long)Integer.MAX_VALUE)
+						out = Integer.valueOf((int)ln);
+					else
+						out = Long.valueOf(ln);
+				}
+				else
+					out = Double.valueOf(doubleValue);
+			}
+			else
+				throw new JSONConversionException("Member "+memberName+" is numerically typed; target is not a numeric type.");
+			
+			return (T)out;
+		}
+		
+		// Copies a list into a new array of a component type.
+		private static Object toArray(List<?> list, Class<?> componentType)
+		{
+			int len = list.size();
+			Object out = Array.newInstance(componentType, len);
+			for (int i = 0; i < len; i++)
+				Array.set(out, i, list.get(i));
+			return out;
+		}
+		
+	}
+
+}
@@ -0,0 +1,585 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A scanner that breaks up a stream of input into JSON tokens.
+ * <p>
+ * Input is read into a reusable buffer and classified by lookup tables.
+ * No objects are created per token - the current token's type is returned from {@link #nextToken()},
+ * and its contents (if any) are held in a reusable character buffer until the next call.
+ * <p>
+ * In addition to standard JSON, this accepts single-quoted strings, unquoted identifiers
+ * (for member names), hexadecimal integers, and the <code>\0</code> and <code>\x</code> string escapes.
+ * <p>
+ * Scanners are NOT thread-safe.
+ * @author Matthew Tropiano
+ */
+abstract class JSONScanner
+{
+	/** Token type: end of stream. */
+	static final int TOKEN_END = 0;
+	/** Token type: <code>{</code> */
+	static final int TOKEN_LBRACE = 1;
+	/** Token type: <code>}</code> */
+	static final int TOKEN_RBRACE = 2;
+	/** Token type: <code>[</code> */
+	static final int TOKEN_LBRACK = 3;
+	/** Token type: <code>]</code> */
+	static final int TOKEN_RBRACK = 4;
+	/** Token type: <code>:</code> */
+	static final int TOKEN_COLON = 5;
+	/** Token type: <code>,</code> */
+	static final int TOKEN_COMMA = 6;
+	/** Token type: quoted string. */
+	static final int TOKEN_STRING = 7;
+	/** Token type: unquoted identifier. */
+	static final int TOKEN_IDENTIFIER = 8;
+	/** Token type: number. */
+	static final int TOKEN_NUMBER = 9;
+	/** Token type: <code>true</code> */
+	static final int TOKEN_TRUE = 10;
+	/** Token type: <code>false</code> */
+	static final int TOKEN_FALSE = 11;
+	/** Token type: <code>null</code> */
+	static final int TOKEN_NULL = 12;
+
+	/** Number flag: hexadecimal integer. */
+	static final int NUMBER_HEX = 1;
+	/** Number flag: has a fractional part. */
+	static final int NUMBER_FRACTION = 2;
+	/** Number flag: has an exponent. */
+	static final int NUMBER_EXPONENT = 4;
+
+	/** Default read buffer size. */
+	static final int BUFFER_SIZE = 8192;
+
+	/** Character class: not valid outside of strings. */
+	static final byte CLASS_ILLEGAL = 0;
+	/** Character class: whitespace (not newline). */
+	static final byte CLASS_WHITESPACE = 1;
+	/** Character class: newline. */
+	static final byte CLASS_NEWLINE = 2;
+	/** Character class: single-character delimiter. */
+	static final byte CLASS_DELIMITER = 3;
+	/** Character class: string quote. */
+	static final byte CLASS_QUOTE = 4;
+	/** Character class: number start. */
+	static final byte CLASS_NUMBER = 5;
+	/** Character class: identifier start. */
+	static final byte CLASS_IDENTIFIER = 6;
+
+	/** Character classes for the ASCII range. */
+	static final byte[] CHAR_CLASS = new byte[128];
+	/** Delimiter token types for the ASCII range. */
+	static final byte[] DELIMITER_TYPE = new byte[128];
+	/** Identifier part flags for the ASCII range. */
+	static final boolean[] IDENTIFIER_PART = new boolean[128];
+	/** Hex digit values for the ASCII range (-1 if not a hex digit). */
+	static final byte[] HEX_VALUE = new byte[128];
+
+	static
+	{
+		for (int c = 0; c < 128; c++)
+		{
+			HEX_VALUE[c] = -1;
+			if (Character.isWhitespace((char)c))
+				CHAR_CLASS[c] = CLASS_WHITESPACE;
+			if (Character.isLetter((char)c) || c == '_' || c == '$')
+			{
+				CHAR_CLASS[c] = CLASS_IDENTIFIER;
+				IDENTIFIER_PART[c] = true;
+			}
+			if (c >= '0' && c <= '9')
+			{
+				CHAR_CLASS[c] = CLASS_NUMBER;
+				IDENTIFIER_PART[c] = true;
+				HEX_VALUE[c] = (byte)(c - '0');
+			}
+			if (c >= 'a' && c <= 'f')
+				HEX_VALUE[c] = (byte)(c - 'a' + 10);
+			if (c >= 'A' && c <= 'F')
+				HEX_VALUE[c] = (byte)(c - 'A' + 10);
+		}
+		CHAR_CLASS['\n'] = CLASS_NEWLINE;
+		CHAR_CLASS['-'] = CLASS_NUMBER;
+		CHAR_CLASS['.'] = CLASS_NUMBER;
+		CHAR_CLASS['"'] = CLASS_QUOTE;
+		CHAR_CLASS['\''] = CLASS_QUOTE;
+		CHAR_CLASS['{'] = CLASS_DELIMITER;
+		CHAR_CLASS['}'] = CLASS_DELIMITER;
+		CHAR_CLASS['['] = CLASS_DELIMITER;
+		CHAR_CLASS[']'] = CLASS_DELIMITER;
+		CHAR_CLASS[':'] = CLASS_DELIMITER;
+		CHAR_CLASS[','] = CLASS_DELIMITER;
+		DELIMITER_TYPE['{'] = TOKEN_LBRACE;
+		DELIMITER_TYPE['}'] = TOKEN_RBRACE;
+		DELIMITER_TYPE['['] = TOKEN_LBRACK;
+		DELIMITER_TYPE[']'] = TOKEN_RBRACK;
+		DELIMITER_TYPE[':'] = TOKEN_COLON;
+		DELIMITER_TYPE[','] = TOKEN_COMMA;
+	}
+
+	/** Current line number. */
+	protected long lineNumber;
+	/** Current token type. */
+	protected int tokenType;
+	/** Current token line number. */
+	protected long tokenLineNumber;
+	/** Current token contents (decoded string, identifier, or number characters). */
+	protected char[] tokenChars;
+	/** Current token contents length. */
+	protected int tokenLength;
+	/** Current number token flags. */
+	protected int numberFlags;
+	/** Most characters allowed in a token. */
+	protected int maxTokenLength;
+	/** Most characters (or bytes) of input allowed. */
+	protected long maxInputLength;
+	/** Amount of characters (or bytes) of input read so far. */
+	protected long inputLength;
+
+	/**
+	 * Creates a new scanner.
+	 */
+	protected JSONScanner()
+	{
+		this.lineNumber = 1;
+		this.tokenType = TOKEN_END;
+		this.tokenLineNumber = 1;
+		this.tokenChars = new char[64];
+		this.tokenLength = 0;
+		this.numberFlags = 0;
+		this.maxTokenLength = Integer.MAX_VALUE;
+		this.maxInputLength = Long.MAX_VALUE;
+		this.inputLength = 0L;
+	}
+
+	/**
+	 * Sets the limits on the input, before any tokens are read.
+	 * Input that has already been buffered is counted against the input limit.
+	 * @param maxTokenLength the most characters allowed in a token (string, identifier, or number).
+	 * @param maxInputLength the most characters (or bytes, for byte input) allowed in the input.
+	 */
+	void setLimits(int maxTokenLength, long maxInputLength)
+	{
+		this.maxTokenLength = maxTokenLength;
+		this.maxInputLength = maxInputLength;
+		// keeps the current token, if it fits.
+		if (tokenChars.length > maxTokenLength && tokenLength <= maxTokenLength)
+			tokenChars = Arrays.copyOf(tokenChars, maxTokenLength);
+	}
+
+	/**
+	 * Reads the next token.
+	 * @return the type of the token read, or {@link #TOKEN_END} if no more tokens.
+	 * @throws IOException if the underlying input cannot be read.
+	 * @throws JSONConversionException if an illegal token is read.
+	 */
+	abstract int nextToken() throws IOException;
+
+	/**
+	 * @return the current token type.
+	 */
+	int getTokenType()
+	{
+		return tokenType;
+	}
+
+	/**
+	 * Gets the contents of the current string or identifier token as a String.
+	 * @return the token contents.
+	 */
+	String getString()
+	{
+		return new String(tokenChars, 0, tokenLength);
+	}
+
+	/**
+	 * @return the flags for the current number token.
+	 * @see #NUMBER_HEX
+	 * @see #NUMBER_FRACTION
+	 * @see #NUMBER_EXPONENT
+	 */
+	int getNumberFlags()
+	{
+		return numberFlags;
+	}
+
+	/**
+	 * @return true if the current number token is an integer (no fractional part or exponent), false otherwise.
+	 */
+	boolean isIntegerNumber()
+	{
+		return (numberFlags & (NUMBER_FRACTION | NUMBER_EXPONENT)) == 0;
+	}
+
+	/**
+	 * Gets the current decimal number token as valid JSON number text (RFC 8259).
+	 * The lenient forms that this scanner accepts are normalized: leading zeroes are removed from the 
+	 * integer part, and a missing digit before or after the decimal point is added as a zero.
+	 * @return the number text.
+	 */
+	String getNumberText()
+	{
+		char[] chars = tokenChars;
+		int end = tokenLength;
+		int i = chars[0] == '-' ? 1 : 0;
+		int integerStart = i;
+		while (i < end && chars[i] >= '0' && chars[i] <= '9')
+			i++;
+		int integerEnd = i;
+		boolean point = i < end && chars[i] == '.';
+		boolean emptyFraction = point && (i + 1 == end || chars[i + 1] < '0' || chars[i + 1] > '9');
+		
+		// already valid.
+		if (integerEnd > integerStart && !(integerEnd - integerStart > 1 && chars[integerStart] == '0') && !emptyFraction)
+			return new String(chars, 0, end);
+
+		StringBuilder sb = new StringBuilder(end + 2);
+		sb.append(chars, 0, integerStart);
+		while (integerStart < integerEnd - 1 && chars[integerStart] == '0')
+			integerStart++;
+		if (integerStart == integerEnd)
+			sb.append('0');
+		else
+			sb.append(chars, integerStart, integerEnd - integerStart);
+		if (point)
+		{
+			sb.append('.');
+			if (emptyFraction)
+				sb.append('0');
+			i++;
+		}
+		sb.append(chars, i, end - i);
+		return sb.toString();
+	}
+
+	/**
+	 * Parses the current integer number token as a long.
+	 * @return the parsed value.
+	 * @throws JSONConversionException if the number is not an integer, or does not fit in a long.
+	 * @see #isIntegerNumber()
+	 */
+	long getLong()
+	{
+		try {
+			return JSONNumberParser.parseLong(tokenChars, 0, tokenLength, (numberFlags & NUMBER_HEX) != 0);
+		} catch (NumberFormatException e) {
+			throw error("Malformed number.");
+		}
+	}
+
+	/**
+	 * Parses the current number token as a double.
+	 * @return the parsed value.
+	 * @throws JSONConversionException if the number cannot be parsed.
+	 */
+	double getDouble()
+	{
+		if ((numberFlags & NUMBER_HEX) != 0)
+			return (double)getLong();
+		try {
+			return JSONNumberParser.parseDouble(tokenChars, 0, tokenLength);
+		} catch (NumberFormatException e) {
+			throw error("Malformed number.");
+		}
+	}
+
+	/**
+	 * Parses the current number token as a BigDecimal, without loss of precision.
+	 * @return the parsed value.
+	 * @throws JSONConversionException if the number cannot be parsed.
+	 */
+	BigDecimal getBigDecimal()
+	{
+		if ((numberFlags & NUMBER_HEX) != 0)
+			return new BigDecimal(getBigInteger());
+		try {
+			return new BigDecimal(tokenChars, 0, tokenLength);
+		} catch (NumberFormatException e) {
+			throw error("Malformed number.");
+		}
+	}
+
+	/**
+	 * Parses the current number token as a BigInteger.
+	 * Any fractional part is discarded.
+	 * @return the parsed value.
+	 * @throws JSONConversionException if the number cannot be parsed.
+	 */
+	BigInteger getBigInteger()
+	{
+		if ((numberFlags & NUMBER_HEX) == 0)
+			return getBigDecimal().toBigInteger();
+		boolean negative = tokenChars[0] == '-';
+		int start = negative ? 3 : 2;
+		try {
+			BigInteger value = new BigInteger(new String(tokenChars, start, tokenLength - start), 16);
+			return negative ? value.negate() : value;
+		} catch (NumberFormatException e) {
+			throw error("Malformed number.");
+		}
+	}
+
+	/**
+	 * Creates an exception for the current token, with a message.
+	 * @param message the message.
+	 * @return a new exception to throw.
+	 */
+	JSONConversionException error(String message)
+	{
+		if (tokenType == TOKEN_END)
+			return new JSONConversionException("(STREAM END) " + message);
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("Line ").append(tokenLineNumber).append(", ");
+		sb.append("Token \"").append(tokenChars, 0, tokenLength).append("\": ");
+		sb.append(message);
+		return new JSONConversionException(sb.toString());
+	}
+
+	/**
+	 * Appends a character to the token buffer.
+	 * @param c the character to append.
+	 */
+	protected final void appendToken(char c)
+	{
+		if (tokenLength == tokenChars.length)
+			growToken(tokenLength + 1);
+		tokenChars[tokenLength++] = c;
+	}
+
+	/**
+	 * Appends a run of characters to the token buffer.
+	 * @param chars the source characters.
+	 * @param offset the offset into the source.
+	 * @param length the amount of characters to append.
+	 */
+	protected final void appendToken(char[] chars, int offset, int length)
+	{
+		if (tokenLength + length > tokenChars.length)
+		{
+			if (tokenLength + length > maxTokenLength)
+			{
+				// keep what fits, for the error message.
+				if (tokenChars.length < maxTokenLength)
+					growToken(maxTokenLength);
+				System.arraycopy(chars, offset, tokenChars, tokenLength, maxTokenLength - tokenLength);
+				tokenLength = maxTokenLength;
+			}
+			growToken(tokenLength + length);
+		}
+		System.arraycopy(chars, offset, tokenChars, tokenLength, length);
+		tokenLength += length;
+	}
+
+	/**
+	 * Appends a Unicode code point to the token buffer.
+	 * @param codePoint the code point to append.
+	 */
+	protected final void appendCodePoint(int codePoint)
+	{
+		if (Character.isBmpCodePoint(codePoint))
+			appendToken((char)codePoint);
+		else
+		{
+			appendToken(Character.highSurrogate(codePoint));
+			appendToken(Character.lowSurrogate(codePoint));
+		}
+	}
+
+	/**
+	 * Accounts for a newly-read buffer of input, against the input limit.
+	 * @param length the amount of characters (or bytes) read into the buffer.
+	 * @return the amount of them that can be scanned. If this is less than length, 
+	 * the limit was passed, and the next call to {@link #checkInputLimit()} is an error.
+	 * @throws JSONConversionException if the input limit was already reached.
+	 */
+	protected final int acceptInput(int length)
+	{
+		if (length == 0)
+			return 0;
+		if (inputLength >= maxInputLength)
+			throw error("Input exceeds length limit (" + maxInputLength + ").");
+		inputLength += length;
+		return length - (int)Math.min(length, inputOverLimit());
+	}
+
+	/**
+	 * @return the amount of input read past the input limit, or 0 if none.
+	 */
+	protected final long inputOverLimit()
+	{
+		return Math.max(0L, inputLength - maxInputLength);
+	}
+
+	/**
+	 * Checks if the input limit was passed, before reading more input.
+	 * @throws JSONConversionException if the input limit was passed.
+	 */
+	protected final void checkInputLimit()
+	{
+		if (inputLength > maxInputLength)
+			throw error("Input exceeds length limit (" + maxInputLength + ").");
+	}
+
+	/**
+	 * Expands the token buffer.
+	 * The buffer never grows past the token length limit, so appends past the limit always end up here.
+	 * @param minLength the minimum length needed.
+	 * @throws JSONConversionException if the minimum length is longer than the token length limit.
+	 */
+	protected final void growToken(int minLength)
+	{
+		if (minLength > maxTokenLength)
+			throw error("Token exceeds length limit (" + maxTokenLength + ").");
+		char[] newChars = new char[(int)Math.min(Math.max(minLength, tokenChars.length * 2L), maxTokenLength)];
+		System.arraycopy(tokenChars, 0, newChars, 0, tokenLength);
+		tokenChars = newChars;
+	}
+
+	/**
+	 * Appends an escaped character to the token buffer, after a backslash in a string.
+	 * @param c the character after the backslash, or -1 for end of stream.
+	 * @throws IOException if the underlying input cannot be read.
+	 */
+	protected final void appendEscape(int c) throws IOException
+	{
+		switch (c)
+		{
+			case '"':
+			case '\'':
+			case '\\':
+			case '/':
+				appendToken((char)c);
+				break;
+			case '0':
+				appendToken('\0');
+				break;
+			case 'b':
+				appendToken('\b');
+				break;
+			case 't':
+				appendToken('\t');
+				break;
+			case 'n':
+				appendToken('\n');
+				break;
+			case 'f':
+				appendToken('\f');
+				break;
+			case 'r':
+				appendToken('\r');
+				break;
+			case 'u':
+				appendToken((char)readHex(4));
+				break;
+			case 'x':
+				appendToken((char)readHex(2));
+				break;
+			case -1:
+				throw error("Unterminated string.");
+			default:
+				throw error("Illegal escape sequence.");
+		}
+	}
+
+	/**
+	 * Reads a single ASCII character from the input.
+	 * Only used in places where only ASCII characters are valid.
+	 * @return the character read, or -1 if end of stream (or not ASCII).
+	 * @throws IOException if the underlying input cannot be read.
+	 */
+	protected abstract int readAscii() throws IOException;
+
+	// Reads a set amount of hex digits.
+	private int readHex(int digits) throws IOException
+	{
+		int out = 0;
+		for (int i = 0; i < digits; i++)
+		{
+			int c = readAscii();
+			int v = c >= 0 && c < 128 ? HEX_VALUE[c] : -1;
+			if (v < 0)
+				throw error("Illegal escape sequence.");
+			out = (out << 4) | v;
+		}
+		return out;
+	}
+
+	/**
+	 * Sets the token type according to the identifier in the token buffer,
+	 * checking for keywords.
+	 * @return the resultant token type.
+	 */
+	protected final int identifierType()
+	{
+		if (isToken("true"))
+			return tokenType = TOKEN_TRUE;
+		else if (isToken("false"))
+			return tokenType = TOKEN_FALSE;
+		else if (isToken("null"))
+			return tokenType = TOKEN_NULL;
+		else
+			return tokenType = TOKEN_IDENTIFIER;
+	}
+
+	// Checks if the token contents match a keyword.
+	private boolean isToken(String keyword)
+	{
+		if (tokenLength != keyword.length())
+			return false;
+		for (int i = 0; i < tokenLength; i++)
+			if (tokenChars[i] != keyword.charAt(i))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Ends a number token at the non-ASCII character after it, which was already read.
+	 * Whitespace ends the number, a letter or digit continues it (and so makes it malformed),
+	 * and anything else is unexpected, as it would be at the start of the next token.
+	 * @param codePoint the code point after the number.
+	 * @param malformed true if the number was already malformed.
+	 * @throws JSONConversionException if the number is malformed, or the character is unexpected.
+	 */
+	protected final void endNumber(int codePoint, boolean malformed)
+	{
+		if (isIdentifierPart(codePoint))
+		{
+			appendCodePoint(codePoint);
+			throw error("Malformed number.");
+		}
+		else if (malformed)
+			throw error("Malformed number.");
+		else if (!Character.isWhitespace(codePoint))
+		{
+			tokenType = TOKEN_IDENTIFIER;
+			tokenLength = 0;
+			appendCodePoint(codePoint);
+			throw error("Unexpected character.");
+		}
+	}
+
+	/**
+	 * Checks if a character continues an identifier.
+	 * @param c the character (or code point).
+	 * @return true if so, false if not.
+	 */
+	protected static boolean isIdentifierPart(int c)
+	{
+		return c < 128 ? IDENTIFIER_PART[c] : Character.isLetterOrDigit(c);
+	}
+
+}
@@ -1,549 +1,1095 @@
-/*******************************************************************************
- * Copyright (c) 2019-2023 Black Rook Software
- * This program and the accompanying materials are made available under the 
- * terms of the GNU Lesser Public License v2.1 which accompanies this 
- * distribution, and is available at 
- * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
- ******************************************************************************/
-package com.blackrook.json;
-
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.StringWriter;
-import java.io.Writer;
-import java.nio.charset.Charset;
-
-/**
- * A class for writing JSON data to JSON representation.
- * @author Matthew Tropiano
- */
-public class JSONWriter
-{
-	private static final Charset UTF_8 = Charset.forName("UTF-8");
-	private static final Options DEFAULT_OPTIONS = new Options();
-	
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @param options the options to use for JSON output. 
-	 * @param out the output stream to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public static void writeJSON(JSONObject jsonObject, Options options, OutputStream out) throws IOException
-	{
-		(new WriterContext(jsonObject, options, out)).startWrite();
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @param options the options to use for JSON output. 
-	 * @param writer the writer to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public static void writeJSON(JSONObject jsonObject, Options options, Writer writer) throws IOException
-	{
-		(new WriterContext(jsonObject, options, writer)).startWrite();
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @param options the options to use for JSON output. 
-	 * @return the JSONObject as a JSON string. 
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public static String writeJSONString(JSONObject jsonObject, Options options) throws IOException
-	{
-		StringWriter sw = new StringWriter();
-		writeJSON(jsonObject, options, sw);
-		return sw.toString();
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @param out the output stream to write to.
-	 * @throws IOException if a write error occurs.
-	 */
-	public static void writeJSON(JSONObject jsonObject, OutputStream out) throws IOException
-	{
-		writeJSON(jsonObject, DEFAULT_OPTIONS, out);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @param writer the writer to write to.
-	 * @throws IOException if a write error occurs.
-	 */
-	public static void writeJSON(JSONObject jsonObject, Writer writer) throws IOException
-	{
-		writeJSON(jsonObject, DEFAULT_OPTIONS, writer);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @return the JSONObject as a JSON string. 
-	 * @throws IOException if a write error occurs.
-	 */
-	public static String writeJSONString(JSONObject jsonObject) throws IOException
-	{
-		return writeJSONString(jsonObject, DEFAULT_OPTIONS);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @param options the options to use for JSON output. 
-	 * @param out the output stream to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public static void writeJSON(Object object, Options options, OutputStream out) throws IOException
-	{
-		writeJSON(JSONObject.create(object, options.converterSet), options, out);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @param options the options to use for JSON output. 
-	 * @param writer the writer to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public static void writeJSON(Object object, Options options, Writer writer) throws IOException
-	{
-		writeJSON(JSONObject.create(object, options.converterSet), options, writer);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @param options the options to use for JSON output. 
-	 * @return the JSONObject as a JSON string. 
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public static String writeJSONString(Object object, Options options) throws IOException
-	{
-		StringWriter sw = new StringWriter();
-		writeJSON(JSONObject.create(object, options.converterSet), options, sw);
-		return sw.toString();
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @param out the output stream to write to.
-	 * @throws IOException if a write error occurs.
-	 */
-	public static void writeJSON(Object object, OutputStream out) throws IOException
-	{
-		writeJSON(JSONObject.create(object, DEFAULT_OPTIONS.converterSet), out);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @param writer the writer to write to.
-	 * @throws IOException if a write error occurs.
-	 */
-	public static void writeJSON(Object object, Writer writer) throws IOException
-	{
-		writeJSON(JSONObject.create(object, DEFAULT_OPTIONS.converterSet), writer);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @return the JSONObject as a JSON string. 
-	 * @throws IOException if a write error occurs.
-	 */
-	public static String writeJSONString(Object object) throws IOException
-	{
-		StringWriter sw = new StringWriter();
-		writeJSON(JSONObject.create(object, DEFAULT_OPTIONS.converterSet), sw);
-		return sw.toString();
-	}
-
-	/** This writer's options. */
-	private Options options;
-	
-	/**
-	 * Creates a new JSONWriter with a set of options to be used for every write.
-	 * @param options the writer options to use.
-	 * @since 1.2.0
-	 */
-	public JSONWriter(Options options)
-	{
-		this.options = options;
-	}
-	
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @param out the output stream to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public void write(JSONObject jsonObject, OutputStream out) throws IOException
-	{
-		writeJSON(jsonObject, options, out);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @param writer the writer to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public void write(JSONObject jsonObject, Writer writer) throws IOException
-	{
-		writeJSON(jsonObject, options, writer);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param jsonObject the object to write.
-	 * @return the JSONObject as a JSON string. 
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public String writeString(JSONObject jsonObject) throws IOException
-	{
-		return writeJSONString(jsonObject, options);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @param out the output stream to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public void write(Object object, OutputStream out) throws IOException
-	{
-		write(JSONObject.create(object, DEFAULT_OPTIONS.converterSet), out);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @param writer the writer to write to.
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public void write(Object object, Writer writer) throws IOException
-	{
-		write(JSONObject.create(object, DEFAULT_OPTIONS.converterSet), writer);
-	}
-
-	/**
-	 * Writes a JSONObject out to the following output stream.
-	 * @param object the object to write.
-	 * @return the JSONObject as a JSON string. 
-	 * @throws IOException if a write error occurs.
-	 * @since 1.2.0
-	 */
-	public String writeString(Object object) throws IOException
-	{
-		StringWriter sw = new StringWriter();
-		write(JSONObject.create(object, DEFAULT_OPTIONS.converterSet), sw);
-		return sw.toString();
-	}
-
-	/**
-	 * The JSON export options to pass to the writer methods.
-	 * @since 1.2.0
-	 */
-	public static class Options
-	{
-		/** Pretty-print indentation. */
-		private String indentation;
-		/** If true, null fields will be left undefined in output. */
-		private boolean nullOmitting;
-		/** The converter set used for object conversion. */
-		private JSONConverterSet converterSet;
-		
-		public Options()
-		{
-			this.indentation = null;
-			this.nullOmitting = false;
-			this.converterSet = JSONObject.GLOBAL_CONVERTER_SET;
-		}
-		
-		/**
-		 * @return the indentation string to use for pretty-printing indentation.
-		 */
-		public String getIndentation() 
-		{
-			return indentation;
-		}
-		
-		/**
-		 * Sets the indentation string to use for pretty-printing indentation.
-		 * @param indentation the indentation string to use.
-		 */
-		public void setIndentation(String indentation) 
-		{
-			this.indentation = indentation;
-		}
-		
-		/**
-		 * @return true if this omits object type members with a null values, false if not.
-		 */
-		public boolean isOmittingNullMembers() 
-		{
-			return nullOmitting;
-		}
-		
-		/**
-		 * Sets if the writer omits null values from being exported from objects.
-		 * @param nullOmitting true if so, false if not.
-		 */
-		public void setOmittingNullMembers(boolean nullOmitting) 
-		{
-			this.nullOmitting = nullOmitting;
-		}
-
-		/**
-		 * Replaces the underlying converter set.
-		 * @param converterSet the converter set to use.
-		 * @since 1.3.0
-		 */
-		public void setConverterSet(JSONConverterSet converterSet) 
-		{
-			this.converterSet = converterSet;
-		}
-		
-	}
-	
-	/**
-	 * Writer context.
-	 */
-	private static class WriterContext
-	{
-		private static final String HEXALPHABET = "0123456789ABCDEF";
-
-		/** Writer. May be null. */
-		private Writer writer;
-		/** JSON Object. */
-		private JSONObject object;
-		/** Options. */
-		private Options options;
-		
-		private WriterContext(JSONObject object, Options options, Writer writer)
-		{
-			this.object = object;
-			this.writer = writer;
-			this.options = options;
-		}
-
-		private WriterContext(JSONObject object, Options options, OutputStream outStream)
-		{
-			this(object, options, new OutputStreamWriter(outStream, UTF_8));
-		}
-		
-		/**
-		 * Starts the write.
-		 * @throws IOException if an error occurs on the write.
-		 */
-		private void startWrite() throws IOException
-		{
-			writeObject(object, 0);
-		}
-		
-		/**
-		 * Writes an object.
-		 * @param object the object to write.
-		 * @param indentDepth the current indentation depth.
-		 * @throws IOException if an error occurs on the write.
-		 */
-		private void writeObject(JSONObject object, int indentDepth) throws IOException
-		{
-			if (object.isUndefined())
-				writer.append("undefined");
-			else if (object.isNull())
-				writer.append("null");
-			else if (object.isArray())
-				writeArrayValue(object, indentDepth + 1);
-			else if (!object.isObject())
-				writePrimitiveValue(object.getValue());
-			else
-				writeObjectValue(object, indentDepth + 1);
-		}
-
-		private void writeArrayValue(JSONObject object, int indentDepth) throws IOException
-		{
-			String memberIndent = indentString(options.indentation, indentDepth);
-			String endIndent = indentString(options.indentation, indentDepth - 1);
-			
-			writer.append("[");
-			if (memberIndent != null)
-				writer.append('\n');
-			
-			final int len = object.length();
-			for (int i = 0; i < len; i++)
-			{
-				if (memberIndent != null)
-					writer.append(memberIndent);
-				
-				writeObject(object.get(i), indentDepth);
-				if (i < len - 1)
-				{
-					writer.append(",");
-					if (memberIndent != null)
-						writer.append('\n');
-				}
-				else if (memberIndent != null)
-				{
-					writer.append('\n');
-				}
-			}
-
-			if (endIndent != null)
-				writer.append(endIndent);
-			
-			writer.append("]");
-		}
-		
-		private void writeObjectValue(JSONObject object, int indentDepth) throws IOException
-		{
-			String memberIndent = indentString(options.indentation, indentDepth);
-			String endIndent = indentString(options.indentation, indentDepth - 1);
-
-			writer.append("{");
-
-			boolean wroteOne = false;
-			for (String member : object.getMemberNames())
-			{
-				JSONObject outObj = object.get(member);
-				if (options.isOmittingNullMembers() && (outObj.isNull() || outObj.isUndefined()))
-					continue;
-
-				if (wroteOne)
-					writer.append(",");
-
-				if (memberIndent != null)
-				{
-					writer.append('\n');
-					writer.append(memberIndent);
-				}
-
-				writer.append("\"");
-				writeEscapedString(member);
-				writer.append("\":");
-				
-				if (memberIndent != null)
-					writer.append(' ');
-				
-				writeObject(outObj, indentDepth);
-				wroteOne = true;
-			}
-
-			if (wroteOne)
-			{
-				if (memberIndent != null)
-					writer.append("\n");
-
-				if (endIndent != null)
-					writer.append(endIndent);
-			}
-			
-			writer.append("}");
-		}
-		
-		private void writePrimitiveValue(Object value) throws IOException
-		{
-			
-			if (value instanceof Boolean)
-				writer.append(String.valueOf(value));
-			else if (value instanceof Byte)
-				writer.append(String.valueOf(value));
-			else if (value instanceof Short)
-				writer.append(String.valueOf(value));
-			else if (value instanceof Integer)
-				writer.append(String.valueOf(value));
-			else if (value instanceof Float)
-				writer.append(String.valueOf(value));
-			else if (value instanceof Long)
-				writer.append(String.valueOf(value));
-			else if (value instanceof Double)
-				writer.append(String.valueOf(value));
-			else
-			{
-				writer.append("\"");
-				writeEscapedString(String.valueOf(value));
-				writer.append("\"");
-			}
-		}
-		
-		private void writeEscapedString(String s) throws IOException
-		{
-	    	for (int i = 0; i < s.length(); i++)
-	    	{
-	    		char c = s.charAt(i);
-	    		switch (c)
-	    		{
-					case '\0':
-						writer.append("\\0");
-						break;
-	    			case '\b':
-	    				writer.append("\\b");
-	    				break;
-	    			case '\t':
-	    				writer.append("\\t");
-	    				break;
-	    			case '\n':
-	    				writer.append("\\n");
-	    				break;
-	    			case '\f':
-	    				writer.append("\\f");
-	    				break;
-	    			case '\r':
-	    				writer.append("\\r");
-	    				break;
-	    			case '\\':
-	    				writer.append("\\\\");
-	    				break;
-	    			case '"':
-	    				writer.append("\\\"");    					
-	    				break;
-	    			default:
-	    				if (c < 0x0020 || c >= 0x7f)
-	    				{
-	    					writer.append('\\');
-	    					writer.append('u');
-	    					writer.append(HEXALPHABET.charAt((c & 0x0f000) >> 12));
-	    					writer.append(HEXALPHABET.charAt((c & 0x00f00) >> 8));
-	    					writer.append(HEXALPHABET.charAt((c & 0x000f0) >> 4));
-	    					writer.append(HEXALPHABET.charAt(c & 0x0000f));
-	    				}
-	    				else
-	    					writer.append(c);
-	    				break;
-	    		}
-	    	}
-		}
-
-		private static String indentString(String indentation, int depth) throws IOException
-		{
-			if (indentation == null)
-				return null;
-			StringBuilder sb = new StringBuilder();
-			for (int i = 0; i < depth; i++)
-				sb.append(indentation);
-			return sb.toString();
-		}
-
-	}
-	
-}
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the 
+ * terms of the GNU Lesser Public License v2.1 which accompanies this 
+ * distribution, and is available at 
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.blackrook.json.struct.Utils;
+import com.blackrook.json.struct.TypeProfileFactory.Profile;
+import com.blackrook.json.struct.TypeProfileFactory.Profile.FieldInfo;
+import com.blackrook.json.struct.TypeProfileFactory.Profile.MethodInfo;
+
+/**
+ * A class for writing JSON data to JSON representation.
+ * @author Matthew Tropiano
+ */
+public class JSONWriter
+{
+	private static final Options DEFAULT_OPTIONS = new Options();
+	/** Members written for each Java object type. */
+	private static final HashMap<Class<?>, BeanMember[]> BEAN_MEMBERS = new HashMap<>(8);
+	/** Members written for each Java object type, sorted by name. */
+	private static final HashMap<Class<?>, BeanMember[]> SORTED_BEAN_MEMBERS = new HashMap<>(8);
+	
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @param options the options to use for JSON output. 
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public static void writeJSON(JSONObject jsonObject, Options options, OutputStream out) throws IOException
+	{
+		(new WriterContext(jsonObject, options, options.converterSet, out)).startWrite();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @param options the options to use for JSON output. 
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public static void writeJSON(JSONObject jsonObject, Options options, Writer writer) throws IOException
+	{
+		(new WriterContext(jsonObject, options, options.converterSet, writer)).startWrite();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @param options the options to use for JSON output. 
+	 * @return the JSONObject as a JSON string. 
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public static String writeJSONString(JSONObject jsonObject, Options options) throws IOException
+	{
+		StringWriter sw = new StringWriter();
+		writeJSON(jsonObject, options, sw);
+		return sw.toString();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 */
+	public static void writeJSON(JSONObject jsonObject, OutputStream out) throws IOException
+	{
+		writeJSON(jsonObject, DEFAULT_OPTIONS, out);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 */
+	public static void writeJSON(JSONObject jsonObject, Writer writer) throws IOException
+	{
+		writeJSON(jsonObject, DEFAULT_OPTIONS, writer);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @return the JSONObject as a JSON string. 
+	 * @throws IOException if a write error occurs.
+	 */
+	public static String writeJSONString(JSONObject jsonObject) throws IOException
+	{
+		return writeJSONString(jsonObject, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @param options the options to use for JSON output. 
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public static void writeJSON(Object object, Options options, OutputStream out) throws IOException
+	{
+		(new WriterContext(object, options, options.converterSet, out)).startWrite();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @param options the options to use for JSON output. 
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public static void writeJSON(Object object, Options options, Writer writer) throws IOException
+	{
+		(new WriterContext(object, options, options.converterSet, writer)).startWrite();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @param options the options to use for JSON output. 
+	 * @return the JSONObject as a JSON string. 
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public static String writeJSONString(Object object, Options options) throws IOException
+	{
+		StringWriter sw = new StringWriter();
+		writeJSON(object, options, sw);
+		return sw.toString();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 */
+	public static void writeJSON(Object object, OutputStream out) throws IOException
+	{
+		writeJSON(object, DEFAULT_OPTIONS, out);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 */
+	public static void writeJSON(Object object, Writer writer) throws IOException
+	{
+		writeJSON(object, DEFAULT_OPTIONS, writer);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @return the JSONObject as a JSON string. 
+	 * @throws IOException if a write error occurs.
+	 */
+	public static String writeJSONString(Object object) throws IOException
+	{
+		return writeJSONString(object, DEFAULT_OPTIONS);
+	}
+
+	/**
+	 * Writes a sequence of objects (JSONObjects or other Java objects) to an output stream as newline-delimited JSON (JSON Lines):
+	 * each object is written on a single line, followed by a newline character.
+	 * All of the lines are written through the same output buffer, and indentation in the options is ignored.
+	 * The output stream is flushed every {@link Options#getLinesPerFlush()} lines, and after the last line.
+	 * @param objects the objects to write.
+	 * @param options the options to use for JSON output. 
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since [NOW]
+	 */
+	public static void writeJSONLines(Iterator<?> objects, Options options, OutputStream out) throws IOException
+	{
+		(new WriterContext(null, options, options.converterSet, out)).startWriteLines(objects);
+	}
+
+	/**
+	 * Writes a sequence of objects (JSONObjects or other Java objects) to a writer as newline-delimited JSON (JSON Lines):
+	 * each object is written on a single line, followed by a newline character.
+	 * All of the lines are written through the same output buffer, and indentation in the options is ignored.
+	 * The writer is flushed every {@link Options#getLinesPerFlush()} lines, and after the last line.
+	 * @param objects the objects to write.
+	 * @param options the options to use for JSON output. 
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since [NOW]
+	 */
+	public static void writeJSONLines(Iterator<?> objects, Options options, Writer writer) throws IOException
+	{
+		(new WriterContext(null, options, options.converterSet, writer)).startWriteLines(objects);
+	}
+
+	/**
+	 * Writes a Stream of objects (JSONObjects or other Java objects) to an output stream as newline-delimited JSON (JSON Lines).
+	 * The Stream is consumed in order.
+	 * @param objects the objects to write.
+	 * @param options the options to use for JSON output. 
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 * @see #writeJSONLines(Iterator, Options, OutputStream)
+	 * @since [NOW]
+	 */
+	public static void writeJSONLines(Stream<?> objects, Options options, OutputStream out) throws IOException
+	{
+		writeJSONLines(objects.iterator(), options, out);
+	}
+
+	/**
+	 * Writes a Stream of objects (JSONObjects or other Java objects) to a writer as newline-delimited JSON (JSON Lines).
+	 * The Stream is consumed in order.
+	 * @param objects the objects to write.
+	 * @param options the options to use for JSON output. 
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 * @see #writeJSONLines(Iterator, Options, Writer)
+	 * @since [NOW]
+	 */
+	public static void writeJSONLines(Stream<?> objects, Options options, Writer writer) throws IOException
+	{
+		writeJSONLines(objects.iterator(), options, writer);
+	}
+
+	/** This writer's options. */
+	private Options options;
+	
+	/**
+	 * Creates a new JSONWriter with a set of options to be used for every write.
+	 * @param options the writer options to use.
+	 * @since 1.2.0
+	 */
+	public JSONWriter(Options options)
+	{
+		this.options = options;
+	}
+	
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public void write(JSONObject jsonObject, OutputStream out) throws IOException
+	{
+		writeJSON(jsonObject, options, out);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public void write(JSONObject jsonObject, Writer writer) throws IOException
+	{
+		writeJSON(jsonObject, options, writer);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param jsonObject the object to write.
+	 * @return the JSONObject as a JSON string. 
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public String writeString(JSONObject jsonObject) throws IOException
+	{
+		return writeJSONString(jsonObject, options);
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @param out the output stream to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public void write(Object object, OutputStream out) throws IOException
+	{
+		(new WriterContext(object, options, DEFAULT_OPTIONS.converterSet, out)).startWrite();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @param writer the writer to write to.
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public void write(Object object, Writer writer) throws IOException
+	{
+		(new WriterContext(object, options, DEFAULT_OPTIONS.converterSet, writer)).startWrite();
+	}
+
+	/**
+	 * Writes a JSONObject out to the following output stream.
+	 * @param object the object to write.
+	 * @return the JSONObject as a JSON string. 
+	 * @throws IOException if a write error occurs.
+	 * @since 1.2.0
+	 */
+	public String writeString(Object object) throws IOException
+	{
+		StringWriter sw = new StringWriter();
+		write(object, sw);
+		return sw.toString();
+	}
+
+	/**
+	 * The JSON export options to pass to the writer methods.
+	 * @since 1.2.0
+	 */
+	public static class Options
+	{
+		/** Pretty-print indentation. */
+		private String indentation;
+		/** If true, null fields will be left undefined in output. */
+		private boolean nullOmitting;
+		/** If true, non-ASCII characters in strings are written as escape sequences. */
+		private boolean nonASCIIEscaping;
+		/** If true, object members are written sorted by name. */
+		private boolean memberSorting;
+		/** Lines written between flushes when writing JSON Lines (0 for only at the end). */
+		private int linesPerFlush;
+		/** The converter set used for object conversion. */
+		private JSONConverterSet converterSet;
+		
+		public Options()
+		{
+			this.indentation = null;
+			this.nullOmitting = false;
+			this.nonASCIIEscaping = true;
+			this.memberSorting = false;
+			this.linesPerFlush = 0;
+			this.converterSet = JSONObject.GLOBAL_CONVERTER_SET;
+		}
+		
+		/**
+		 * @return the indentation string to use for pretty-printing indentation.
+		 */
+		public String getIndentation() 
+		{
+			return indentation;
+		}
+		
+		/**
+		 * Sets the indentation string to use for pretty-printing indentation.
+		 * @param indentation the indentation string to use.
+		 */
+		public void setIndentation(String indentation) 
+		{
+			this.indentation = indentation;
+		}
+		
+		/**
+		 * @return true if this omits object type members with a null values, false if not.
+		 */
+		public boolean isOmittingNullMembers() 
+		{
+			return nullOmitting;
+		}
+		
+		/**
+		 * Sets if the writer omits null values from being exported from objects.
+		 * @param nullOmitting true if so, false if not.
+		 */
+		public void setOmittingNullMembers(boolean nullOmitting) 
+		{
+			this.nullOmitting = nullOmitting;
+		}
+
+		/**
+		 * @return true if this writes non-ASCII characters in strings as <code>&#92;uXXXX</code> escape sequences, false if not.
+		 * @since [NOW]
+		 */
+		public boolean isEscapingNonASCII() 
+		{
+			return nonASCIIEscaping;
+		}
+		
+		/**
+		 * Sets if the writer writes non-ASCII characters in strings as <code>&#92;uXXXX</code> escape sequences.
+		 * This is true by default, so that the output is plain ASCII.
+		 * <p>If false, non-ASCII characters are written as-is (as UTF-8, if writing to an OutputStream), which 
+		 * is much more compact for non-Latin text. Control characters, unpaired surrogates, and the line/paragraph
+		 * separator characters (U+2028 and U+2029) are still escaped.
+		 * @param nonASCIIEscaping true if so, false if not.
+		 * @since [NOW]
+		 */
+		public void setEscapingNonASCII(boolean nonASCIIEscaping) 
+		{
+			this.nonASCIIEscaping = nonASCIIEscaping;
+		}
+
+		/**
+		 * @return true if this writes object members sorted by name, false if not.
+		 * @since [NOW]
+		 */
+		public boolean isSortingMembers() 
+		{
+			return memberSorting;
+		}
+		
+		/**
+		 * Sets if the writer writes object members sorted by name, instead of in their own order.
+		 * This is false by default.
+		 * <p>Members of JSONObjects are otherwise written in the order that they were added, 
+		 * members of Maps in the Map's iteration order, and members of other objects in a fixed order for each type.
+		 * If true, members are sorted by comparing their names with {@link String#compareTo(String)},
+		 * so that equal objects are always written the same way, whatever order their members were added in.
+		 * @param memberSorting true if so, false if not.
+		 * @since [NOW]
+		 */
+		public void setSortingMembers(boolean memberSorting) 
+		{
+			this.memberSorting = memberSorting;
+		}
+
+		/**
+		 * @return the amount of lines written between flushes of the target, when writing JSON Lines, or 0 if only flushed at the end.
+		 * @since [NOW]
+		 */
+		public int getLinesPerFlush() 
+		{
+			return linesPerFlush;
+		}
+		
+		/**
+		 * Sets the amount of lines written between flushes of the target, when writing JSON Lines
+		 * (see {@link JSONWriter#writeJSONLines(Iterator, Options, OutputStream)}).
+		 * This is 0 by default: the target is only flushed once all lines are written.
+		 * <p>Output is always written to the target in large chunks, whatever this is set to. 
+		 * This only controls how often the target itself is flushed, for example, to bound how long 
+		 * written lines may wait before they are sent.
+		 * @param linesPerFlush the amount of lines, or 0 for only at the end.
+		 * @throws IllegalArgumentException if linesPerFlush is less than 0.
+		 * @since [NOW]
+		 */
+		public void setLinesPerFlush(int linesPerFlush) 
+		{
+			if (linesPerFlush < 0)
+				throw new IllegalArgumentException("Lines per flush cannot be less than 0.");
+			this.linesPerFlush = linesPerFlush;
+		}
+
+		/**
+		 * Replaces the underlying converter set.
+		 * @param converterSet the converter set to use.
+		 * @since 1.3.0
+		 */
+		public void setConverterSet(JSONConverterSet converterSet) 
+		{
+			this.converterSet = converterSet;
+		}
+		
+	}
+	
+	/**
+	 * Gets the members written for a Java object type, in the order that they are written.
+	 * This is the same order that members of a {@link JSONObject} created from the object would have.
+	 * <p>This method is thread-safe.
+	 * @param clazz the object type.
+	 * @return the members to write.
+	 * @throws IllegalArgumentException if a member name is empty.
+	 */
+	private static BeanMember[] getBeanMembers(Class<?> clazz)
+	{
+		BeanMember[] out = null;
+		if ((out = BEAN_MEMBERS.get(clazz)) == null)
+		{
+			synchronized (BEAN_MEMBERS)
+			{
+				// early out.
+				if ((out = BEAN_MEMBERS.get(clazz)) == null)
+				{
+					Profile<?> profile = JSONObject.PROFILE_FACTORY.getProfile(clazz);
+					
+					// Fields replace getters of the same name, as they would in a JSONObject.
+					LinkedHashMap<String, BeanMember> members = new LinkedHashMap<String, BeanMember>(8);
+					for (Map.Entry<String, MethodInfo> getters : profile.getGetterMethodsByName().entrySet())
+					{
+						String name = Utils.isNull(getters.getValue().getAlias(), getters.getKey());
+						members.put(checkMemberName(name), new BeanMember(name, null, getters.getValue().getMethod()));
+					}
+					for (Map.Entry<String, FieldInfo> fields : profile.getPublicFieldsByName().entrySet())
+					{
+						String name = Utils.isNull(fields.getValue().getAlias(), fields.getKey());
+						members.put(checkMemberName(name), new BeanMember(name, fields.getValue().getField(), null));
+					}
+					
+					out = members.values().toArray(new BeanMember[members.size()]);
+					BEAN_MEMBERS.put(clazz, out);
+				}
+			}
+		}
+		return out;
+	}
+	
+	/**
+	 * Gets the members written for a Java object type, sorted by name.
+	 * <p>This method is thread-safe.
+	 * @param clazz the object type.
+	 * @return the members to write.
+	 * @throws IllegalArgumentException if a member name is empty.
+	 */
+	private static BeanMember[] getSortedBeanMembers(Class<?> clazz)
+	{
+		BeanMember[] out = null;
+		if ((out = SORTED_BEAN_MEMBERS.get(clazz)) == null)
+		{
+			BeanMember[] members = getBeanMembers(clazz);
+			synchronized (SORTED_BEAN_MEMBERS)
+			{
+				// early out.
+				if ((out = SORTED_BEAN_MEMBERS.get(clazz)) == null)
+				{
+					out = Arrays.copyOf(members, members.length);
+					Arrays.sort(out, (a, b) -> a.name.compareTo(b.name));
+					SORTED_BEAN_MEMBERS.put(clazz, out);
+				}
+			}
+		}
+		return out;
+	}
+	
+	private static String checkMemberName(String name)
+	{
+		if (Utils.isEmpty(name))
+			throw new IllegalArgumentException("Member name is empty, null, or whitespace.");
+		return name;
+	}
+	
+	/**
+	 * A single member of a Java object to write.
+	 */
+	private static class BeanMember
+	{
+		/** Member name. */
+		private String name;
+		/** Public field. Null if getter. */
+		private Field field;
+		/** Getter method. Null if field. */
+		private Method getter;
+		
+		private BeanMember(String name, Field field, Method getter)
+		{
+			this.name = name;
+			this.field = field;
+			this.getter = getter;
+		}
+		
+		/**
+		 * Gets this member's value from an object.
+		 * @param object the source object.
+		 * @return the value.
+		 */
+		private Object getValue(Object object)
+		{
+			return field != null ? Utils.getFieldValue(object, field) : Utils.invokeBlind(getter, object);
+		}
+	}
+	
+	/**
+	 * Writer context.
+	 * Writes {@link JSONObject}s, and Java objects directly, without converting them
+	 * to {@link JSONObject}s first. The output is the same as writing the result of
+	 * {@link JSONObject#create(Object, JSONConverterSet)}.
+	 */
+	private static class WriterContext
+	{
+		private static final String HEXALPHABET = "0123456789ABCDEF";
+		
+		/** Escape sequences for the ASCII range (null if the character is written as-is). */
+		private static final String[] ESCAPES = new String[128];
+		
+		static
+		{
+			for (int c = 0; c < 0x20; c++)
+				ESCAPES[c] = "\\u00" + HEXALPHABET.charAt(c >> 4) + HEXALPHABET.charAt(c & 0x0f);
+			ESCAPES[0x7f] = "\\u007F";
+			ESCAPES['\0'] = "\\0";
+			ESCAPES['\b'] = "\\b";
+			ESCAPES['\t'] = "\\t";
+			ESCAPES['\n'] = "\\n";
+			ESCAPES['\f'] = "\\f";
+			ESCAPES['\r'] = "\\r";
+			ESCAPES['\\'] = "\\\\";
+			ESCAPES['"'] = "\\\"";
+		}
+
+		/** The output to write to. */
+		private JSONOutput out;
+		/** The object to write. */
+		private Object object;
+		/** Options. */
+		private Options options;
+		/** The converter set used for Java objects. */
+		private JSONConverterSet converterSet;
+		/** Scratch buffer for formatting numbers. */
+		private char[] numberBuffer;
+		/** Pretty-print indentation (null for none). */
+		private String indentation;
+		
+		private WriterContext(Object object, Options options, JSONConverterSet converterSet, JSONOutput out)
+		{
+			this.object = object;
+			this.out = out;
+			this.options = options;
+			this.converterSet = converterSet;
+			this.numberBuffer = new char[JSONNumberFormatter.MAX_LENGTH];
+			this.indentation = options.indentation;
+		}
+
+		private WriterContext(Object object, Options options, JSONConverterSet converterSet, Writer writer)
+		{
+			this(object, options, converterSet, new JSONCharOutput(writer));
+		}
+
+		private WriterContext(Object object, Options options, JSONConverterSet converterSet, OutputStream outStream)
+		{
+			this(object, options, converterSet, new JSONByteOutput(outStream));
+		}
+		
+		/**
+		 * Starts the write.
+		 * The output is flushed to its target at the end.
+		 * @throws IOException if an error occurs on the write.
+		 */
+		private void startWrite() throws IOException
+		{
+			try {
+				writeValue(object, 0);
+				out.flush();
+			} finally {
+				out.release();
+			}
+		}
+		
+		/**
+		 * Writes each object on its own line, ending each line with a newline.
+		 * Indentation is not written. The output is flushed to its target every 
+		 * {@link Options#getLinesPerFlush()} lines, and at the end.
+		 * @param objects the objects to write.
+		 * @throws IOException if an error occurs on the write.
+		 */
+		private void startWriteLines(Iterator<?> objects) throws IOException
+		{
+			indentation = null;
+			try {
+				int lines = 0;
+				while (objects.hasNext())
+				{
+					writeValue(objects.next(), 0);
+					out.write('\n');
+					if (options.linesPerFlush > 0 && ++lines == options.linesPerFlush)
+					{
+						out.flush();
+						lines = 0;
+					}
+				}
+				out.flush();
+			} finally {
+				out.release();
+			}
+		}
+		
+		/**
+		 * Writes an object.
+		 * @param object the object to write.
+		 * @param indentDepth the current indentation depth.
+		 * @throws IOException if an error occurs on the write.
+		 */
+		private void writeObject(JSONObject object, int indentDepth) throws IOException
+		{
+			if (object.isUndefined())
+				out.write("undefined");
+			else if (object.isNull())
+				out.write("null");
+			else if (object.isArray())
+				writeArrayValue(object, indentDepth + 1);
+			else if (object.getPrimitiveNumberType() != null)
+				writePrimitiveNumber(object);
+			else if (!object.isObject())
+				writePrimitiveValue(object.getValue());
+			else
+				writeObjectValue(object, indentDepth + 1);
+		}
+
+		/**
+		 * Writes a Java object, or a JSONObject.
+		 * @param value the object to write.
+		 * @param indentDepth the current indentation depth.
+		 * @throws IOException if an error occurs on the write.
+		 */
+		private void writeValue(Object value, int indentDepth) throws IOException
+		{
+			if (value == null)
+				out.write("null");
+			else if (value instanceof JSONObject)
+				writeObject((JSONObject)value, indentDepth);
+			else if (Utils.isArray(value))
+				writeJavaArray(value, indentDepth + 1);
+			else if (value instanceof Boolean || value instanceof Number || value instanceof String)
+				writePrimitiveValue(value);
+			else
+				writeJavaObject(value, indentDepth);
+		}
+
+		/**
+		 * Writes a Java object that is not an array or primitive.
+		 * @param value the object to write.
+		 * @param indentDepth the current indentation depth.
+		 * @throws IOException if an error occurs on the write.
+		 */
+		@SuppressWarnings("unchecked")
+		private <T> void writeJavaObject(T value, int indentDepth) throws IOException
+		{
+			JSONConverter<T> converter = converterSet.getConverter((Class<T>)value.getClass());
+			if (converter != null)
+				writeValue(converter.getJSONObject(value), indentDepth);
+			else if (value instanceof Enum)
+				writePrimitiveValue(((Enum<?>)value).name());
+			else if (value instanceof Map<?, ?>)
+				writeMap((Map<?, ?>)value, indentDepth + 1);
+			else if (value instanceof Iterable<?>)
+				writeIterable((Iterable<?>)value, indentDepth + 1);
+			else
+				writeBean(value, indentDepth + 1);
+		}
+
+		private void writeArrayValue(JSONObject object, int indentDepth) throws IOException
+		{
+			String memberIndent = indentString(indentation, indentDepth);
+			String endIndent = indentString(indentation, indentDepth - 1);
+			
+			writeArrayStart(memberIndent);
+			final int len = object.length();
+			for (int i = 0; i < len; i++)
+			{
+				writeArraySeparator(i == 0, memberIndent);
+				writeObject(object.get(i), indentDepth);
+			}
+			writeArrayEnd(len == 0, memberIndent, endIndent);
+		}
+		
+		private void writeJavaArray(Object array, int indentDepth) throws IOException
+		{
+			String memberIndent = indentString(indentation, indentDepth);
+			String endIndent = indentString(indentation, indentDepth - 1);
+			
+			writeArrayStart(memberIndent);
+			final int len = Array.getLength(array);
+			for (int i = 0; i < len; i++)
+			{
+				writeArraySeparator(i == 0, memberIndent);
+				writeValue(Array.get(array, i), indentDepth);
+			}
+			writeArrayEnd(len == 0, memberIndent, endIndent);
+		}
+		
+		private void writeIterable(Iterable<?> iterable, int indentDepth) throws IOException
+		{
+			String memberIndent = indentString(indentation, indentDepth);
+			String endIndent = indentString(indentation, indentDepth - 1);
+			
+			writeArrayStart(memberIndent);
+			boolean first = true;
+			for (Object element : iterable)
+			{
+				writeArraySeparator(first, memberIndent);
+				writeValue(element, indentDepth);
+				first = false;
+			}
+			writeArrayEnd(first, memberIndent, endIndent);
+		}
+		
+		private void writeObjectValue(JSONObject object, int indentDepth) throws IOException
+		{
+			String memberIndent = indentString(indentation, indentDepth);
+			String endIndent = indentString(indentation, indentDepth - 1);
+
+			out.write("{");
+
+			boolean wroteOne = false;
+			JSONMemberMap members = object.getMemberMap();
+			if (options.memberSorting)
+			{
+				String[] names = object.getMemberNames();
+				Arrays.sort(names);
+				for (String member : names)
+					wroteOne |= writeObjectMember(member, members.get(member), wroteOne, memberIndent, indentDepth);
+			}
+			else
+			{
+				for (int i = 0; i < members.size(); i++)
+					wroteOne |= writeObjectMember(members.nameAt(i), members.valueAt(i), wroteOne, memberIndent, indentDepth);
+			}
+
+			writeObjectEnd(wroteOne, memberIndent, endIndent);
+		}
+		
+		private void writeMap(Map<?, ?> map, int indentDepth) throws IOException
+		{
+			String memberIndent = indentString(indentation, indentDepth);
+			String endIndent = indentString(indentation, indentDepth - 1);
+
+			out.write("{");
+
+			boolean wroteOne = false;
+			if (options.memberSorting)
+			{
+				Map.Entry<?, ?>[] entries = map.entrySet().toArray(new Map.Entry<?, ?>[map.size()]);
+				Arrays.sort(entries, (a, b) -> String.valueOf(a.getKey()).compareTo(String.valueOf(b.getKey())));
+				for (Map.Entry<?, ?> entry : entries)
+					wroteOne |= writeMapMember(checkMemberName(String.valueOf(entry.getKey())), entry.getValue(), wroteOne, memberIndent, indentDepth);
+			}
+			else
+			{
+				for (Map.Entry<?, ?> entry : map.entrySet())
+					wroteOne |= writeMapMember(checkMemberName(String.valueOf(entry.getKey())), entry.getValue(), wroteOne, memberIndent, indentDepth);
+			}
+
+			writeObjectEnd(wroteOne, memberIndent, endIndent);
+		}
+		
+		// Writes a single member of a JSONObject. Returns true if written, false if omitted.
+		private boolean writeObjectMember(String member, JSONObject value, boolean wroteOne, String memberIndent, int indentDepth) throws IOException
+		{
+			if (options.isOmittingNullMembers() && (value.isNull() || value.isUndefined()))
+				return false;
+			writeMemberName(member, wroteOne, memberIndent);
+			writeObject(value, indentDepth);
+			return true;
+		}
+		
+		// Writes a single member of a Map. Returns true if written, false if omitted.
+		private boolean writeMapMember(String member, Object value, boolean wroteOne, String memberIndent, int indentDepth) throws IOException
+		{
+			value = convertMember(value);
+			if (options.isOmittingNullMembers() && isNullValue(value))
+				return false;
+			writeMemberName(member, wroteOne, memberIndent);
+			writeValue(value, indentDepth);
+			return true;
+		}
+		
+		private void writeBean(Object object, int indentDepth) throws IOException
+		{
+			String memberIndent = indentString(indentation, indentDepth);
+			String endIndent = indentString(indentation, indentDepth - 1);
+
+			out.write("{");
+
+			boolean wroteOne = false;
+			BeanMember[] members = options.memberSorting ? getSortedBeanMembers(object.getClass()) : getBeanMembers(object.getClass());
+			for (BeanMember member : members)
+			{
+				Object value = convertMember(member.getValue(object));
+				if (options.isOmittingNullMembers() && isNullValue(value))
+					continue;
+
+				writeMemberName(member.name, wroteOne, memberIndent);
+				writeValue(value, indentDepth);
+				wroteOne = true;
+			}
+
+			writeObjectEnd(wroteOne, memberIndent, endIndent);
+		}
+		
+		// Applies a converter to a member value, if one applies, so that null results can be omitted.
+		@SuppressWarnings("unchecked")
+		private <T> Object convertMember(T value)
+		{
+			if (value == null || value instanceof JSONObject || Utils.isArray(value))
+				return value;
+			if (value instanceof Boolean || value instanceof Number || value instanceof String)
+				return value;
+			JSONConverter<T> converter = converterSet.getConverter((Class<T>)value.getClass());
+			return converter != null ? converter.getJSONObject(value) : value;
+		}
+		
+		// Checks if a member value is written as null or undefined.
+		private static boolean isNullValue(Object value)
+		{
+			if (value == null)
+				return true;
+			if (value instanceof JSONObject)
+				return ((JSONObject)value).isNull() || ((JSONObject)value).isUndefined();
+			return false;
+		}
+		
+		private void writeArrayStart(String memberIndent) throws IOException
+		{
+			out.write("[");
+			if (memberIndent != null)
+				out.write('\n');
+		}
+		
+		private void writeArraySeparator(boolean first, String memberIndent) throws IOException
+		{
+			if (!first)
+			{
+				out.write(",");
+				if (memberIndent != null)
+					out.write('\n');
+			}
+			if (memberIndent != null)
+				out.write(memberIndent);
+		}
+		
+		private void writeArrayEnd(boolean empty, String memberIndent, String endIndent) throws IOException
+		{
+			if (!empty && memberIndent != null)
+				out.write('\n');
+			if (endIndent != null)
+				out.write(endIndent);
+			out.write("]");
+		}
+		
+		private void writeMemberName(String member, boolean wroteOne, String memberIndent) throws IOException
+		{
+			if (wroteOne)
+				out.write(",");
+
+			if (memberIndent != null)
+			{
+				out.write('\n');
+				out.write(memberIndent);
+			}
+
+			out.write("\"");
+			writeEscapedString(member);
+			out.write("\":");
+			
+			if (memberIndent != null)
+				out.write(' ');
+		}
+		
+		private void writeObjectEnd(boolean wroteOne, String memberIndent, String endIndent) throws IOException
+		{
+			if (wroteOne)
+			{
+				if (memberIndent != null)
+					out.write("\n");
+
+				if (endIndent != null)
+					out.write(endIndent);
+			}
+			
+			out.write("}");
+		}
+		
+		private void writePrimitiveValue(Object value) throws IOException
+		{
+			
+			if (value instanceof Boolean)
+				out.write(String.valueOf(value));
+			else if (value instanceof Byte)
+				writeNumber(JSONNumberFormatter.formatLong((Byte)value, numberBuffer, 0));
+			else if (value instanceof Short)
+				writeNumber(JSONNumberFormatter.formatLong((Short)value, numberBuffer, 0));
+			else if (value instanceof Integer)
+				writeNumber(JSONNumberFormatter.formatLong((Integer)value, numberBuffer, 0));
+			else if (value instanceof Float)
+				writeNumber(JSONNumberFormatter.formatFloat((Float)value, numberBuffer, 0));
+			else if (value instanceof Long)
+				writeNumber(JSONNumberFormatter.formatLong((Long)value, numberBuffer, 0));
+			else if (value instanceof Double)
+				writeNumber(JSONNumberFormatter.formatDouble((Double)value, numberBuffer, 0));
+			else if (value instanceof JSONNumber || value instanceof BigDecimal || value instanceof BigInteger)
+				out.write(value.toString());
+			else
+			{
+				out.write("\"");
+				writeEscapedString(String.valueOf(value));
+				out.write("\"");
+			}
+		}
+		
+		// Writes a number stored as a primitive, without boxing it.
+		private void writePrimitiveNumber(JSONObject object) throws IOException
+		{
+			Class<?> numberType = object.getPrimitiveNumberType();
+			if (numberType == Double.TYPE)
+				writeNumber(JSONNumberFormatter.formatDouble(object.getDouble(), numberBuffer, 0));
+			else if (numberType == Float.TYPE)
+				writeNumber(JSONNumberFormatter.formatFloat(object.getFloat(), numberBuffer, 0));
+			else
+				writeNumber(JSONNumberFormatter.formatLong(object.getLong(), numberBuffer, 0));
+		}
+		
+		// Writes the formatted number in the number buffer.
+		private void writeNumber(int length) throws IOException
+		{
+			out.write(numberBuffer, 0, length);
+		}
+		
+		private void writeEscapedString(String s) throws IOException
+		{
+			final int len = s.length();
+			final boolean escapeNonASCII = options.nonASCIIEscaping;
+			int start = 0;
+			for (int i = 0; i < len; i++)
+			{
+				char c = s.charAt(i);
+				String escape = null;
+				if (c < 0x80)
+				{
+					if ((escape = ESCAPES[c]) == null)
+						continue;
+				}
+				else if (!escapeNonASCII)
+				{
+					if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1)))
+					{
+						i++;
+						continue;
+					}
+					if (!needsEscape(c))
+						continue;
+				}
+
+				// write the run of safe characters before this one.
+				if (i > start)
+					out.write(s, start, i);
+				if (escape != null)
+					out.write(escape);
+				else
+					writeUnicodeEscape(c);
+				start = i + 1;
+			}
+			if (start < len)
+				out.write(s, start, len);
+		}
+
+		// Checks if a non-ASCII character that is not part of a surrogate pair needs escaping.
+		private static boolean needsEscape(char c)
+		{
+			return c < 0xA0 || Character.isSurrogate(c) || c == 0x2028 || c == 0x2029;
+		}
+
+		private void writeUnicodeEscape(char c) throws IOException
+		{
+			out.write('\\');
+			out.write('u');
+			out.write(HEXALPHABET.charAt((c & 0x0f000) >> 12));
+			out.write(HEXALPHABET.charAt((c & 0x00f00) >> 8));
+			out.write(HEXALPHABET.charAt((c & 0x000f0) >> 4));
+			out.write(HEXALPHABET.charAt(c & 0x0000f));
+		}
+
+		private static String indentString(String indentation, int depth) throws IOException
+		{
+			if (indentation == null)
+				return null;
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < depth; i++)
+				sb.append(indentation);
+			return sb.toString();
+		}
+
+	}
+	
+}
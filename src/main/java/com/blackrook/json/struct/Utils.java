@@ -12,6 +12,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.util.Collection;
 
 /**
@@ -600,4 +601,22 @@ public final class Utils
 		}
 	}
 
+	/**
+	 * Attempts to parse a BigDecimal from a string.
+	 * If the string is null or the empty string, or not a number, this returns <code>def</code>.
+	 * @param s the input string.
+	 * @param def the fallback value to return.
+	 * @return the interpreted BigDecimal or def if the input string is blank or not a number.
+	 */
+	public static BigDecimal parseBigDecimal(String s, BigDecimal def)
+	{
+		if (isEmpty(s))
+			return def;
+		try {
+			return new BigDecimal(s);
+		} catch (NumberFormatException e) {
+			return def;
+		}
+	}
+
 }
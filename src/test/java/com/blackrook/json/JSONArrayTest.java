@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class JSONArrayTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Queue use: the head goes around the buffer many times without growing it.
+		JSONObject queue = JSONObject.createEmptyArray();
+		int next = 0;
+		int expected = 0;
+		for (int i = 0; i < 3; i++)
+			queue.append(JSONObject.create(next++));
+		for (int i = 0; i < 100; i++)
+		{
+			queue.append(JSONObject.create(next++));
+			check(queue.pop().getInt() == expected++, "queue pop " + i);
+			check(queue.length() == 3, "queue length " + i);
+			for (int j = 0; j < 3; j++)
+				check(queue.get(j).getInt() == expected + j, "queue get " + i + ", " + j);
+		}
+		System.out.println("Queue OK");
+
+		// Stack use at the front: push wraps the head below zero.
+		JSONObject stack = JSONObject.createEmptyArray();
+		for (int i = 0; i < 10; i++)
+			stack.push(JSONObject.create(i));
+		for (int i = 0; i < 10; i++)
+			check(stack.get(i).getInt() == 9 - i, "stack get " + i);
+		for (int i = 9; i >= 0; i--)
+			check(stack.pop().getInt() == i, "stack pop " + i);
+		check(stack.length() == 0, "stack length");
+		System.out.println("Stack OK");
+
+		// Random changes, against a list.
+		Random random = new Random(0L);
+		JSONObject array = JSONObject.createEmptyArray();
+		List<Integer> model = new ArrayList<>();
+		for (int i = 0; i < 200000; i++)
+		{
+			int value = random.nextInt();
+			switch (model.isEmpty() ? random.nextInt(3) : random.nextInt(6))
+			{
+				case 0:
+					array.push(JSONObject.create(value));
+					model.add(0, value);
+					break;
+				case 1:
+					array.append(JSONObject.create(value));
+					model.add(value);
+					break;
+				case 2:
+				{
+					int index = random.nextInt(model.size() + 1);
+					array.addAt(index, JSONObject.create(value));
+					model.add(index, value);
+					break;
+				}
+				case 3:
+					check(array.pop().getInt() == model.remove(0), "pop " + i);
+					break;
+				case 4:
+					check(array.removeAt(model.size() - 1).getInt() == model.remove(model.size() - 1), "remove last " + i);
+					break;
+				case 5:
+				{
+					int index = random.nextInt(model.size());
+					check(array.removeAt(index).getInt() == model.remove(index), "remove " + i);
+					break;
+				}
+			}
+			check(array.length() == model.size(), "length " + i);
+			if (!model.isEmpty())
+			{
+				int index = random.nextInt(model.size());
+				check(array.get(index).getInt() == model.get(index), "get " + i);
+			}
+		}
+		for (int i = 0; i < model.size(); i++)
+			check(array.get(i).getInt() == model.get(i), "final get " + i);
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < model.size(); i++)
+			sb.append(i > 0 ? "," : "").append(model.get(i));
+		check(JSONWriter.writeJSONString(array).equals(sb.append(']').toString()), "written array");
+		System.out.println("Random OK");
+	}
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.blackrook.json.annotation.JSONCollectionType;
+import com.blackrook.json.annotation.JSONIgnore;
+import com.blackrook.json.annotation.JSONMapType;
+import com.blackrook.json.annotation.JSONName;
+
+public final class JSONBindingTest
+{
+	private static final String DOCUMENT = "{"
+		+ "\"i\":-7, \"l\":9007199254740993, \"s\":300, \"b\":-5, \"f\":1.5, \"d\":-2.25e-3, \"bool\":true,"
+		+ "\"boxed\":12, \"boxedNull\":null, \"text\":\"caf\\u00e9\\n\", \"color\":\"GREEN\","
+		+ "\"ints\":[1,2,3], \"texts\":[\"a\",null,\"c\"], \"nested\":{\"x\":1,\"y\":[{\"x\":2}]}, \"nesteds\":[{\"x\":3},null],"
+		+ "\"counts\":{\"one\":1,\"two\":2}, \"names\":[\"p\",\"q\"], \"alias\":\"named\", \"ignored\":\"no\","
+		+ "\"setter\":41, \"tree\":{\"any\":[1,{\"thing\":null}]}, \"unknown\":{\"deep\":[[{\"skipped\":true}]]}"
+		+ "}";
+
+	public static void main(String[] args) throws Exception
+	{
+		// Direct binding gives the same objects as binding from a tree.
+		Record direct = JSONReader.readJSON(Record.class, DOCUMENT);
+		Record tree = JSONReader.readJSON(DOCUMENT).newObject(Record.class);
+		String expected = JSONWriter.writeJSONString(tree);
+		check(JSONWriter.writeJSONString(direct).equals(expected), "direct and tree: " + JSONWriter.writeJSONString(direct) + " vs. " + expected);
+		check(JSONWriter.writeJSONString(JSONReader.readJSON(Record.class, new StringReader(DOCUMENT))).equals(expected), "reader");
+		check(JSONWriter.writeJSONString(JSONReader.readJSON(Record.class, new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)))).equals(expected), "input stream");
+		System.out.println("Direct and tree OK");
+
+		// Values.
+		check(direct.i == -7 && direct.l == 9007199254740993L && direct.s == 300 && direct.b == -5, "integers");
+		check(direct.f == 1.5f && direct.d == -2.25e-3 && direct.bool, "other primitives");
+		check(direct.boxed == 12 && direct.boxedNull == null && direct.text.equals("caf\u00e9\n") && direct.color == Color.GREEN, "objects");
+		check(direct.ints.length == 3 && direct.ints[2] == 3, "int array");
+		check(direct.texts.length == 3 && direct.texts[1] == null && direct.texts[2].equals("c"), "string array");
+		check(direct.nested.x == 1 && direct.nested.y[0].x == 2 && direct.nested.y[0].y == null, "nested");
+		check(direct.nesteds.length == 2 && direct.nesteds[0].x == 3 && direct.nesteds[1] == null, "nested array");
+		check(direct.counts.size() == 2 && direct.counts.get("two") == 2, "map");
+		check(direct.names.size() == 2 && direct.names.get(1).equals("q"), "collection");
+		check(direct.named.equals("named") && direct.ignored == null && direct.setterValue == 42, "names and setters");
+		check(direct.tree.get("any").get(1).get("thing").isNull(), "tree member");
+		System.out.println("Values OK");
+
+		// Top-level arrays and values.
+		check(JSONReader.readJSON(int[].class, "[4, 5]")[1] == 5, "top-level int array");
+		check(JSONReader.readJSON(Nested[].class, "[{\"x\":6}]")[0].x == 6, "top-level object array");
+		check(JSONReader.readJSON(Boolean.class, "true"), "top-level boolean");
+		check(JSONReader.readJSON(Integer.class, "8") == 8, "top-level number");
+		check(JSONReader.readJSON(Nested.class, "null") == null, "top-level null");
+		System.out.println("Top level OK");
+
+		// Errors.
+		checkFails(() -> JSONReader.readJSON(Record.class, "{\"i\":\"x\"}"), "string into int");
+		checkFails(() -> JSONReader.readJSON(Record.class, "{\"ints\":{\"a\":1}}"), "object into array");
+		checkFails(() -> JSONReader.readJSON(Record.class, "{\"nested\":[1]}"), "array into object");
+		checkFails(() -> JSONReader.readJSON(Record.class, "{\"i\":1,}"), "trailing comma");
+		checkFails(() -> JSONReader.readJSON(Record.class, "{\"unknown\":[1,2}"), "malformed skipped value");
+		System.out.println("Errors OK");
+	}
+
+	public enum Color
+	{
+		RED,
+		GREEN;
+	}
+
+	public static class Nested
+	{
+		public int x;
+		public Nested[] y;
+	}
+
+	public static class Record
+	{
+		public int i;
+		public long l;
+		public short s;
+		public byte b;
+		public float f;
+		public double d;
+		public boolean bool;
+		public Integer boxed;
+		public Integer boxedNull;
+		public String text;
+		public Color color;
+		public int[] ints;
+		public String[] texts;
+		public Nested nested;
+		public Nested[] nesteds;
+		@JSONMapType(keyType = String.class, valueType = Integer.class)
+		public HashMap<String, Integer> counts;
+		@JSONCollectionType(String.class)
+		public ArrayList<String> names;
+		@JSONName("alias")
+		public String named;
+		@JSONIgnore
+		public String ignored;
+		public JSONObject tree;
+
+		private int setterValue;
+
+		public void setSetter(int value)
+		{
+			this.setterValue = value + 1;
+		}
+	}
+
+}
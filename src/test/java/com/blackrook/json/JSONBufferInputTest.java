@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public final class JSONBufferInputTest
+{
+	private static final String DOCUMENT = "{\"name\":\"caf\\u00e9 \u00e9\uD83D\uDE00\",\"list\":[1,2.5,-3e2,true,false,null],\"nested\":{\"x\":\"y\"}}";
+
+	public static void main(String[] args) throws Exception
+	{
+		String expected = JSONWriter.writeJSONString(JSONReader.readJSON(DOCUMENT));
+		byte[][] encodings = {
+			bytes(StandardCharsets.UTF_8, null),
+			bytes(StandardCharsets.UTF_8, new byte[]{(byte)0xEF, (byte)0xBB, (byte)0xBF}),
+			bytes(StandardCharsets.UTF_16BE, null),
+			bytes(StandardCharsets.UTF_16BE, new byte[]{(byte)0xFE, (byte)0xFF}),
+			bytes(StandardCharsets.UTF_16LE, null),
+			bytes(StandardCharsets.UTF_16LE, new byte[]{(byte)0xFF, (byte)0xFE}),
+		};
+		String[] names = {"UTF-8", "UTF-8 BOM", "UTF-16BE", "UTF-16BE BOM", "UTF-16LE", "UTF-16LE BOM"};
+
+		for (int e = 0; e < encodings.length; e++)
+		{
+			byte[] document = encodings[e];
+
+			// A slice in the middle of an array, between bytes that are not JSON.
+			byte[] data = new byte[document.length + 20];
+			for (int i = 0; i < data.length; i++)
+				data[i] = (byte)'x';
+			System.arraycopy(document, 0, data, 7, document.length);
+			check(JSONWriter.writeJSONString(JSONReader.readJSON(data, 7, document.length)).equals(expected), names[e] + ": byte array");
+			check(JSONReader.readJSON(Document.class, data, 7, document.length).name.equals("caf\u00e9 \u00e9\uD83D\uDE00"), names[e] + ": typed byte array");
+
+			// Heap, direct, read-only, and sliced buffers.
+			ByteBuffer heap = ByteBuffer.wrap(data, 7, document.length);
+			ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+			direct.put(data).position(7).limit(7 + document.length);
+			ByteBuffer readOnly = heap.asReadOnlyBuffer();
+			ByteBuffer slice = ((ByteBuffer)ByteBuffer.wrap(data).position(7)).slice();
+			slice.limit(document.length);
+			ByteBuffer[] buffers = {heap, direct, readOnly, slice};
+			String[] kinds = {"heap", "direct", "read-only", "slice"};
+			for (int b = 0; b < buffers.length; b++)
+			{
+				ByteBuffer buffer = buffers[b];
+				int position = buffer.position();
+				int limit = buffer.limit();
+				check(JSONWriter.writeJSONString(JSONReader.readJSON(buffer)).equals(expected), names[e] + ": " + kinds[b] + " buffer");
+				check(buffer.position() == position && buffer.limit() == limit, names[e] + ": " + kinds[b] + " buffer position kept");
+				check(JSONReader.readJSON(Document.class, buffer).nested.x.equals("y"), names[e] + ": " + kinds[b] + " typed buffer");
+			}
+		}
+		System.out.println("Encodings OK");
+
+		// Only the range is read.
+		byte[] two = "[1,2][3]".getBytes(StandardCharsets.UTF_8);
+		check(JSONReader.readJSON(two, 5, 3).get(0).getInt() == 3, "second value");
+		check(JSONReader.readJSON(ByteBuffer.wrap(two, 5, 3)).get(0).getInt() == 3, "second value buffer");
+		checkFails(() -> JSONReader.readJSON(two, 0, 4), "cut off range");
+		checkFails(() -> JSONReader.readJSON(ByteBuffer.wrap(two, 0, 4)), "cut off buffer");
+		checkFails(() -> JSONReader.readJSON(two, 0, 0), "empty range");
+		checkFails(() -> JSONReader.readJSON(ByteBuffer.allocateDirect(0)), "empty buffer");
+		checkThrows(IndexOutOfBoundsException.class, () -> JSONReader.readJSON(two, 5, 4), "range past the end");
+
+		// A direct buffer is read from its position to its limit, and neither change.
+		ByteBuffer direct = ByteBuffer.allocateDirect(two.length + 2);
+		direct.put((byte)'}').put(two).put((byte)'{');
+		direct.position(6).limit(9);
+		check(JSONReader.readJSON(direct).get(0).getInt() == 3, "second value direct buffer");
+		check(direct.position() == 6 && direct.limit() == 9, "direct buffer position kept");
+		direct.position(1).limit(6);
+		check(JSONWriter.writeJSONString(JSONReader.readJSON(direct)).equals("[1,2]"), "first value direct buffer");
+		check(JSONWriter.writeJSONString(JSONReader.readJSON(direct.asReadOnlyBuffer())).equals("[1,2]"), "first value read-only direct buffer");
+		check(direct.position() == 1 && direct.limit() == 6, "direct buffer position kept after reads");
+		direct.limit(5);
+		checkFails(() -> JSONReader.readJSON(direct), "cut off direct buffer");
+		direct.position(0).limit(6);
+		checkFails(() -> JSONReader.readJSON(direct), "direct buffer from its start");
+		System.out.println("Ranges OK");
+
+		// Limits.
+		byte[] nested = "[[[[1]]]]".getBytes(StandardCharsets.UTF_8);
+		JSONReader.Options options = new JSONReader.Options();
+		options.setMaxDepth(3);
+		checkFails(() -> JSONReader.readJSON(nested, 0, nested.length, options), "depth limit");
+		checkFails(() -> JSONReader.readJSON(ByteBuffer.wrap(nested), options), "depth limit buffer");
+		options.setMaxDepth(4);
+		check(JSONReader.readJSON(nested, 0, nested.length, options).length() == 1, "depth limit met");
+		ByteBuffer padded = ByteBuffer.allocateDirect(nested.length + 4);
+		padded.position(2);
+		padded.put(nested).flip().position(2);
+		JSONReader.Options inputOptions = new JSONReader.Options();
+		inputOptions.setMaxInputLength(nested.length);
+		check(JSONReader.readJSON(padded, inputOptions).length() == 1, "input limit met direct buffer");
+		inputOptions.setMaxInputLength(nested.length - 1);
+		checkFails(() -> JSONReader.readJSON(padded, inputOptions), "input limit direct buffer");
+		System.out.println("Limits OK");
+	}
+
+	private static byte[] bytes(Charset charset, byte[] prefix) throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (prefix != null)
+			out.write(prefix);
+		out.write(DOCUMENT.getBytes(charset));
+		return out.toByteArray();
+	}
+
+	public static class Document
+	{
+		public String name;
+		public Object[] list;
+		public Nested nested;
+	}
+
+	public static class Nested
+	{
+		public String x;
+	}
+
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+public final class JSONDeepNestingTest
+{
+	private static final int DEPTH = 1000000;
+
+	public static void main(String[] args) throws Exception
+	{
+		// Arrays and objects, nested in each other, far deeper than the call stack allows.
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < DEPTH; i++)
+			sb.append(i % 2 == 0 ? "[1," : "{\"a\":");
+		sb.append("\"end\"");
+		for (int i = DEPTH - 1; i >= 0; i--)
+			sb.append(i % 2 == 0 ? ",2]" : "}");
+		String document = sb.toString();
+
+		checkNesting(JSONReader.readJSON(document), "string");
+		checkNesting(JSONReader.readJSON(new StringReader(document)), "reader");
+		checkNesting(JSONReader.readJSON(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8))), "input stream");
+		checkNesting(JSONReader.readAll(document + document).skip(1).findFirst().get(), "read all");
+		System.out.println("Reading OK");
+
+		// Pull parsing.
+		JSONParser parser = new JSONParser(document);
+		int maxDepth = 0;
+		int events = 0;
+		while (parser.hasNext())
+		{
+			parser.next();
+			maxDepth = Math.max(maxDepth, parser.getDepth());
+			events++;
+		}
+		check(maxDepth == DEPTH && parser.getDepth() == 0, "parser depth " + maxDepth);
+		parser = new JSONParser(document);
+		parser.next();
+		parser.skipChildren();
+		check(parser.getEvent() == JSONParser.Event.END_ARRAY && !parser.hasNext(), "parser skip");
+		System.out.println("Parsing OK (" + events + " events)");
+
+		// Errors deep inside.
+		checkError(document.substring(0, document.length() - 1), "(STREAM END)", "unclosed");
+		checkError(document.replace("\"end\"", "\"end\",]"), "Line 1,", "trailing comma");
+		checkError(document.substring(0, DEPTH) + "}", "Line 1,", "wrong close");
+		System.out.println("Errors OK");
+	}
+
+	// Walks down the nesting without recursion, checking each level.
+	private static void checkNesting(JSONObject object, String message)
+	{
+		for (int i = 0; i < DEPTH; i++)
+		{
+			if (i % 2 == 0)
+			{
+				check(object.isArray() && object.length() == 3, message + ": array at " + i);
+				check(object.get(0).getInt() == 1 && object.get(2).getInt() == 2, message + ": array values at " + i);
+				object = object.get(1);
+			}
+			else
+			{
+				check(object.isObject() && object.getMemberCount() == 1, message + ": object at " + i);
+				object = object.get("a");
+			}
+		}
+		check(object.getString().equals("end"), message + ": innermost value");
+	}
+
+	private static void checkError(String data, String expected, String message)
+	{
+		JSONConversionException e = checkFails(() -> JSONReader.readJSON(data), message);
+		check(e.getMessage().startsWith(expected), message + ": wrong error: " + e.getMessage());
+	}
+
+}
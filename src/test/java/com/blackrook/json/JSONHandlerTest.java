@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JSONHandlerTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Events, from each kind of input.
+		String document = "{\"a\":[1, -2.5, 3e2, \"s\\n\", true, false, null], \"b\":{}, \"c\":[[]], \"\\u00e9\":\"\\u00e9\"}";
+		String expected = "{ a [ 1L -2.5D 300.0D \"s\n\" true false null ] b { } c [ [ ] ] \u00e9 \"\u00e9\" }";
+		check(events(document, 0).equals(expected), "string events: " + events(document, 0));
+		check(events(document, 1).equals(expected), "reader events: " + events(document, 1));
+		check(events(document, 2).equals(expected), "input stream events: " + events(document, 2));
+		check(events("  42  ", 0).equals("42L"), "single value");
+		check(events("[1] [2]", 0).equals("[ 1L ]"), "first structure only");
+		check(events(String.valueOf(Long.MIN_VALUE), 0).equals(Long.MIN_VALUE + "L"), "long value");
+		System.out.println("Events OK");
+
+		// Deep nesting does not use the call stack.
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 500000; i++)
+			sb.append('[');
+		for (int i = 0; i < 500000; i++)
+			sb.append(']');
+		int[] depth = new int[2];
+		JSONReader.parse(sb.toString(), new JSONHandler()
+		{
+			@Override
+			public void startArray()
+			{
+				depth[0]++;
+				depth[1] = Math.max(depth[0], depth[1]);
+			}
+
+			@Override
+			public void endArray()
+			{
+				depth[0]--;
+			}
+		});
+		check(depth[0] == 0 && depth[1] == 500000, "deep nesting");
+		System.out.println("Deep nesting OK");
+
+		// Errors, after the events before them.
+		List<String> before = new ArrayList<>();
+		JSONConversionException e = checkFails(() -> JSONReader.parse("[1, 2,\n ]", new Recorder(before)), "error");
+		check(e.getMessage().startsWith("Line 2,"), "error line: " + e.getMessage());
+		check(String.join(" ", before).equals("[ 1L 2L"), "events before error: " + before);
+		IllegalStateException handlerException = checkThrows(IllegalStateException.class, () -> JSONReader.parse("{\"a\":1}", new JSONHandler()
+		{
+			@Override
+			public void value(long value)
+			{
+				throw new IllegalStateException("handler");
+			}
+		}), "handler exception");
+		check(handlerException.getMessage().equals("handler"), "handler exception message");
+		JSONReader.parse(document, new JSONHandler() {});
+		System.out.println("Errors OK");
+	}
+
+	private static String events(String data, int input) throws Exception
+	{
+		List<String> out = new ArrayList<>();
+		if (input == 0)
+			JSONReader.parse(data, new Recorder(out));
+		else if (input == 1)
+			JSONReader.parse(new StringReader(data), new Recorder(out));
+		else
+			JSONReader.parse(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), new Recorder(out));
+		return String.join(" ", out);
+	}
+
+	// Records each event as a string.
+	private static class Recorder implements JSONHandler
+	{
+		private final List<String> events;
+
+		private Recorder(List<String> events)
+		{
+			this.events = events;
+		}
+
+		@Override
+		public void startObject()
+		{
+			events.add("{");
+		}
+
+		@Override
+		public void endObject()
+		{
+			events.add("}");
+		}
+
+		@Override
+		public void startArray()
+		{
+			events.add("[");
+		}
+
+		@Override
+		public void endArray()
+		{
+			events.add("]");
+		}
+
+		@Override
+		public void field(String name)
+		{
+			events.add(name);
+		}
+
+		@Override
+		public void value(String value)
+		{
+			events.add("\"" + value + "\"");
+		}
+
+		@Override
+		public void value(long value)
+		{
+			events.add(value + "L");
+		}
+
+		@Override
+		public void value(double value)
+		{
+			events.add(value + "D");
+		}
+
+		@Override
+		public void value(boolean value)
+		{
+			events.add(String.valueOf(value));
+		}
+
+		@Override
+		public void nullValue()
+		{
+			events.add("null");
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.blackrook.json.JSONTestUtils.Action;
+
+public final class JSONIterationTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		JSONObject object = JSONReader.readJSON("{\"b\":1, \"a\":2, \"c\":[3, 4, 5], \"d\":null}");
+		JSONObject array = object.get("c");
+
+		// Member order, for objects and arrays.
+		List<String> names = new ArrayList<>();
+		List<JSONObject> values = new ArrayList<>();
+		object.forEachMember((name, value) -> {names.add(name); values.add(value);});
+		check(names.toString().equals("[b, a, c, d]"), "forEachMember names " + names);
+		for (int i = 0; i < names.size(); i++)
+			check(values.get(i) == object.get(names.get(i)), "forEachMember value " + names.get(i));
+
+		names.clear();
+		for (Iterator<Map.Entry<String, JSONObject>> it = object.memberIterator(); it.hasNext(); )
+		{
+			Map.Entry<String, JSONObject> entry = it.next();
+			names.add(entry.getKey());
+			check(entry.getValue() == object.get(entry.getKey()), "memberIterator value " + entry.getKey());
+		}
+		check(names.toString().equals("[b, a, c, d]"), "memberIterator names " + names);
+
+		names.clear();
+		array.forEachMember((name, value) -> names.add(name + "=" + value.getInt()));
+		check(names.toString().equals("[0=3, 1=4, 2=5]"), "array forEachMember " + names);
+		names.clear();
+		array.memberIterator().forEachRemaining((e) -> names.add(e.getKey() + "=" + e.getValue().getInt()));
+		check(names.toString().equals("[0=3, 1=4, 2=5]"), "array memberIterator " + names);
+
+		check(!JSONObject.create(1).memberIterator().hasNext(), "value memberIterator");
+		check(!JSONObject.NULL.memberIterator().hasNext(), "null memberIterator");
+		JSONObject.create("x").forEachMember((name, value) -> check(false, "value forEachMember"));
+		System.out.println("Iteration OK");
+
+		// Values can be replaced while iterating.
+		JSONObject replaced = JSONReader.readJSON("{\"a\":1, \"b\":2}");
+		replaced.forEachMember((name, value) -> replaced.addMember(name, JSONObject.create(value.getInt() * 10)));
+		check(replaced.get("a").getInt() == 10 && replaced.get("b").getInt() == 20, "replaced values");
+		System.out.println("Replacement OK");
+
+		// Changes during iteration.
+		checkChanged(() -> object.forEachMember((name, value) -> object.addMember(name + "x", value)), "object forEachMember add");
+		checkChanged(() -> object.forEachMember((name, value) -> object.removeMember(name)), "object forEachMember remove");
+		checkChanged(() -> array.forEachMember((name, value) -> array.append(value)), "array forEachMember append");
+		checkChanged(() -> {
+			Iterator<Map.Entry<String, JSONObject>> it = object.memberIterator();
+			it.next();
+			object.addMember("e", JSONObject.create(6));
+			it.next();
+		}, "object memberIterator add");
+		checkChanged(() -> {
+			Iterator<Map.Entry<String, JSONObject>> it = array.memberIterator();
+			it.next();
+			array.pop();
+			it.next();
+		}, "array memberIterator pop");
+		checkChanged(() -> object.stream().forEach((value) -> object.removeMember("a")), "object stream remove");
+		checkChanged(() -> array.stream().forEach((value) -> array.push(value)), "array stream push");
+		System.out.println("Changes OK");
+	}
+
+	private static void checkChanged(Action action, String message)
+	{
+		checkThrows(ConcurrentModificationException.class, action, message);
+	}
+
+}
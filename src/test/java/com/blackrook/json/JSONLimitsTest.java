@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.blackrook.json.JSONTestUtils.Action;
+
+public final class JSONLimitsTest
+{
+	private static Path path;
+
+	public static void main(String[] args) throws Exception
+	{
+		path = Files.createTempFile("limits", ".json");
+		try {
+			// Depth.
+			JSONReader.Options options = new JSONReader.Options();
+			options.setMaxDepth(4);
+			checkLimit(options, nested(4), nested(5), "Nesting exceeds depth limit (4).");
+			checkLimit(options, "{\"n\":[1,2], \"next\":{\"next\":{}}}", "{\"n\":[1,2], \"next\":{\"next\":{\"x\":[[1]]}}}", "Nesting exceeds depth limit (4).");
+			System.out.println("Depth OK");
+
+			// Members.
+			options = new JSONReader.Options();
+			options.setMaxMembers(4);
+			checkLimit(options, "{\"n\":[1,2,3,4]}", "{\"n\":[1,2,3,4,5]}", "Array exceeds member limit (4).");
+			checkLimit(options, "{\"a\":1,\"b\":2,\"c\":3,\"d\":4}", "{\"a\":1,\"b\":2,\"c\":3,\"d\":4,\"e\":5}", "Object exceeds member limit (4).");
+			checkLimit(options, "{\"x\":[1,2,3,4]}", "{\"x\":[1,2,3,4,5]}", "Array exceeds member limit (4).");
+			checkLimit(options, "{\"x\":{\"a\":1,\"b\":2,\"c\":3,\"d\":4}}", "{\"x\":{\"a\":1,\"b\":2,\"c\":3,\"d\":4,\"e\":5}}", "Object exceeds member limit (4).");
+			System.out.println("Members OK");
+
+			// Token length.
+			options = new JSONReader.Options();
+			options.setMaxTokenLength(8);
+			checkLimit(options, "{\"s\":\"12345678\"}", "{\"s\":\"123456789\"}", "Token exceeds length limit (8).");
+			checkLimit(options, "{\"s\":\"\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\"}", "{\"s\":\"\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\\u00e9\"}", "Token exceeds length limit (8).");
+			checkLimit(options, "{\"abcdefgh\":1}", "{\"abcdefghi\":1}", "Token exceeds length limit (8).");
+			checkLimit(options, "{\"n\":[12345678]}", "{\"n\":[123456789]}", "Token exceeds length limit (8).");
+			System.out.println("Token length OK");
+
+			// Input length.
+			String document = "{\"s\":\"x\", \"n\":[1, 2, 3], \"next\":{}}";
+			options = new JSONReader.Options();
+			options.setMaxInputLength(document.length());
+			checkLimit(options, document, document.replace("\"x\"", "\"xx\""), "Input exceeds length limit (" + document.length() + ").");
+			System.out.println("Input length OK");
+
+			// Defaults: unlimited, except for depth when reading into objects of a class type.
+			JSONReader.Options defaults = new JSONReader.Options();
+			check(defaults.getMaxDepth() == Integer.MAX_VALUE && defaults.getMaxMembers() == Integer.MAX_VALUE, "default limits");
+			check(defaults.getMaxTokenLength() == Integer.MAX_VALUE && defaults.getMaxInputLength() == Long.MAX_VALUE, "default lengths");
+			check(JSONReader.readJSON(nested(5000)).get("next").isObject(), "tree depth unlimited");
+			check(JSONReader.readJSON(Node.class, nested(1000)).next != null, "class depth 1000");
+			checkError(() -> JSONReader.readJSON(Node.class, nested(1001)), "Nesting exceeds depth limit (1000).", "class depth 1001");
+			System.out.println("Defaults OK");
+
+			// Bad settings.
+			checkIllegal(() -> defaults.setMaxDepth(0), "depth 0");
+			checkIllegal(() -> defaults.setMaxMembers(0), "members 0");
+			checkIllegal(() -> defaults.setMaxTokenLength(4), "token length 4");
+			checkIllegal(() -> defaults.setMaxInputLength(0), "input length 0");
+			System.out.println("Settings OK");
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	// Objects nested in "next" members, to a depth.
+	private static String nested(int depth)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 1; i < depth; i++)
+			sb.append("{\"next\":");
+		sb.append("{}");
+		for (int i = 1; i < depth; i++)
+			sb.append('}');
+		return sb.toString();
+	}
+
+	// Checks that a document within a limit is read, and one past it is not, on every way of reading.
+	private static void checkLimit(JSONReader.Options options, String within, String past, String message) throws Exception
+	{
+		for (Read read : reads())
+		{
+			read.read(within, options);
+			checkError(() -> read.read(past, options), message, read + ": " + past);
+		}
+	}
+
+	private static Read[] reads()
+	{
+		return new Read[]{
+			new Read("string") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONReader.readJSON(data, options);
+			}},
+			new Read("reader") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONReader.readJSON(new StringReader(data), options);
+			}},
+			new Read("input stream") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONReader.readJSON(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), options);
+			}},
+			new Read("byte array") {void read(String data, JSONReader.Options options) throws Exception {
+				byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+				JSONReader.readJSON(bytes, 0, bytes.length, options);
+			}},
+			new Read("file") {void read(String data, JSONReader.Options options) throws Exception {
+				Files.write(path, data.getBytes(StandardCharsets.UTF_8));
+				JSONReader.readJSON(path, options);
+			}},
+			new Read("class string") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONReader.readJSON(Node.class, data, options);
+			}},
+			new Read("class input stream") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONReader.readJSON(Node.class, new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), options);
+			}},
+			new Read("read all") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONReader.readAll(data, options).count();
+			}},
+			new Read("parser events") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONParser parser = new JSONParser(data, options);
+				while (parser.hasNext())
+					parser.next();
+			}},
+			new Read("parser value") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONParser parser = new JSONParser(data, options);
+				parser.next();
+				parser.readValue();
+			}},
+			new Read("parser class value") {void read(String data, JSONReader.Options options) throws Exception {
+				JSONParser parser = new JSONParser(data, options);
+				parser.next();
+				parser.readValue(Node.class);
+			}},
+			new Read("parallel lines") {void read(String data, JSONReader.Options options) throws Exception {
+				Files.write(path, data.getBytes(StandardCharsets.UTF_8));
+				JSONReader.readLinesParallel(path, JSONObject.class, (value) -> {}, true, options);
+			}},
+			new Read("parallel class lines") {void read(String data, JSONReader.Options options) throws Exception {
+				Files.write(path, data.getBytes(StandardCharsets.UTF_8));
+				JSONReader.readLinesParallel(path, Node.class, (value) -> {}, false, options);
+			}},
+		};
+	}
+
+	private static void checkError(Action action, String expected, String message)
+	{
+		JSONConversionException e = checkFails(action, message);
+		check(e.getMessage().endsWith(expected), message + ": wrong error: " + e.getMessage());
+	}
+
+	private static void checkIllegal(Action action, String message)
+	{
+		checkThrows(IllegalArgumentException.class, action, message);
+	}
+
+	private static abstract class Read
+	{
+		private final String name;
+
+		private Read(String name)
+		{
+			this.name = name;
+		}
+
+		abstract void read(String data, JSONReader.Options options) throws Exception;
+
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+	}
+
+	public static class Node
+	{
+		public String s;
+		public int[] n;
+		public Node next;
+	}
+
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public final class JSONLinesParallelTest
+{
+	private static final int LINES = 200000;
+
+	public static void main(String[] args) throws Exception
+	{
+		Path good = write(lines(0, LINES));
+		Path bad = write(lines(0, LINES) + "{\"a\": }\n" + lines(LINES, 1000));
+		Path small = write("\uFEFF{\"a\":0}\n\n{\"a\":1}");
+		try {
+			// Ordered, in file order.
+			List<JSONObject> ordered = new ArrayList<>();
+			JSONReader.readLinesParallel(good, JSONObject.class, ordered::add, true);
+			check(ordered.size() == LINES, "ordered count " + ordered.size());
+			for (int i = 0; i < LINES; i++)
+				check(ordered.get(i).get("a").getInt() == i, "ordered value at " + i);
+			System.out.println("Ordered OK");
+
+			// Unordered, every value once.
+			ConcurrentLinkedQueue<Value> unordered = new ConcurrentLinkedQueue<>();
+			JSONReader.readLinesParallel(good, Value.class, unordered::add, false);
+			boolean[] seen = new boolean[LINES];
+			for (Value v : unordered)
+			{
+				check(!seen[v.a], "unordered duplicate " + v.a);
+				seen[v.a] = true;
+			}
+			check(unordered.size() == LINES, "unordered count " + unordered.size());
+			System.out.println("Unordered OK");
+
+			// Byte order mark, blank lines, one chunk.
+			List<Value> smallValues = new ArrayList<>();
+			JSONReader.readLinesParallel(small, Value.class, smallValues::add, true);
+			check(smallValues.size() == 2 && smallValues.get(0).a == 0 && smallValues.get(1).a == 1, "small file");
+			System.out.println("Small OK");
+
+			// Parsing errors: file line numbers, and ordered values up to the bad line.
+			for (boolean order : new boolean[]{true, false})
+			{
+				List<JSONObject> delivered = new ArrayList<>();
+				JSONConversionException e = checkFails(() -> JSONReader.readLinesParallel(bad, JSONObject.class, (o) -> {synchronized (delivered) {delivered.add(o);}}, order), "parsing error, ordered=" + order);
+				check(e.getMessage().startsWith("Line " + (LINES + 1) + ","), "error line: " + e.getMessage());
+				if (order)
+				{
+					check(delivered.size() == LINES, "values before error " + delivered.size());
+					for (int i = 0; i < LINES; i++)
+						check(delivered.get(i).get("a").getInt() == i, "value before error at " + i);
+				}
+			}
+			System.out.println("Parsing errors OK");
+
+			// Exceptions thrown by the consumer.
+			for (boolean order : new boolean[]{true, false})
+			{
+				IllegalStateException e = checkThrows(IllegalStateException.class, () -> JSONReader.readLinesParallel(good, Value.class, (v) -> {
+					if (v.a == LINES / 2)
+						throw new IllegalStateException("consumer " + v.a);
+				}, order), "consumer exception, ordered=" + order);
+				check(e.getMessage().equals("consumer " + (LINES / 2)), "consumer exception: " + e.getMessage());
+			}
+			System.out.println("Consumer exceptions OK");
+
+			// Binding errors.
+			Path wrongType = write(lines(0, 10) + "{\"a\":\"x\"}\n");
+			try {
+				checkFails(() -> JSONReader.readLinesParallel(wrongType, Value.class, (v) -> {}, true), "binding error");
+			} finally {
+				Files.delete(wrongType);
+			}
+			System.out.println("Binding errors OK");
+		} finally {
+			for (Path p : Arrays.asList(good, bad, small))
+				Files.delete(p);
+		}
+	}
+
+	private static String lines(int start, int count)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = start; i < start + count; i++)
+			sb.append("{\"a\":").append(i).append("}\n");
+		return sb.toString();
+	}
+
+	private static Path write(String content) throws Exception
+	{
+		Path path = Files.createTempFile("jsonlines", ".jsonl");
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	public static class Value
+	{
+		public int a;
+	}
+
+}
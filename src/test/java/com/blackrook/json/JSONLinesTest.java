@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class JSONLinesTest
+{
+	private static final int COUNT = 20000;
+
+	public static void main(String[] args) throws Exception
+	{
+		List<Record> records = new ArrayList<>();
+		for (int i = 0; i < COUNT; i++)
+			records.add(new Record(i, "name " + i + (i % 7 == 0 ? "\nwith a newline, \u00e9 and \uD83D\uDE00" : ""), i % 3 == 0 ? null : new int[]{i, -i}));
+
+		JSONWriter.Options options = new JSONWriter.Options();
+		options.setIndentation("  ");
+
+		// Objects to an output stream, back through readAll.
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		JSONWriter.writeJSONLines(records.iterator(), options, bos);
+		String text = new String(bos.toByteArray(), StandardCharsets.UTF_8);
+		String[] lines = text.split("\n", -1);
+		check(lines.length == COUNT + 1 && lines[COUNT].isEmpty(), "one line per value, ending in a newline");
+		for (int i = 0; i < COUNT; i++)
+			check(lines[i].equals(JSONWriter.writeJSONString(records.get(i))), "line " + i + ": " + lines[i]);
+		Iterator<JSONObject> it = JSONReader.readAll(new ByteArrayInputStream(bos.toByteArray())).iterator();
+		for (int i = 0; i < COUNT; i++)
+			checkRecord(it.next().newObject(Record.class), records.get(i), "read " + i);
+		check(!it.hasNext(), "read end");
+		System.out.println("Output stream OK");
+
+		// JSONObjects from a stream to a writer, the same text.
+		StringWriter writer = new StringWriter();
+		JSONWriter.writeJSONLines(records.stream().map(JSONObject::create), options, writer);
+		check(writer.toString().equals(text), "writer text");
+		List<JSONObject> read = JSONReader.readAll(new StringReader(writer.toString())).collect(Collectors.toList());
+		check(read.size() == COUNT, "writer read count");
+		System.out.println("Writer OK");
+
+		// Back through the parallel line reader.
+		Path path = Files.createTempFile("jsonlines", ".jsonl");
+		try {
+			Files.write(path, bos.toByteArray());
+			List<Record> parallel = new ArrayList<>();
+			JSONReader.readLinesParallel(path, Record.class, parallel::add, true);
+			check(parallel.size() == COUNT, "parallel count");
+			for (int i = 0; i < COUNT; i++)
+				checkRecord(parallel.get(i), records.get(i), "parallel " + i);
+		} finally {
+			Files.delete(path);
+		}
+		System.out.println("Parallel read OK");
+
+		// Flushes.
+		for (int linesPerFlush : new int[]{0, 1, 1000, COUNT * 2})
+		{
+			options.setLinesPerFlush(linesPerFlush);
+			FlushCountingStream out = new FlushCountingStream();
+			JSONWriter.writeJSONLines(IntStream.range(0, COUNT).boxed(), options, out);
+			// one flush every linesPerFlush lines, and one at the end.
+			int expected = (linesPerFlush == 0 ? 0 : COUNT / linesPerFlush) + 1;
+			check(out.flushes == expected, "flushes for " + linesPerFlush + ": " + out.flushes);
+			check(out.size() == IntStream.range(0, COUNT).mapToObj((i) -> i + "\n").mapToInt(String::length).sum(), "flushed length");
+		}
+		check(new JSONWriter.Options().getLinesPerFlush() == 0, "default lines per flush");
+		checkThrows(IllegalArgumentException.class, () -> options.setLinesPerFlush(-1), "negative lines per flush");
+
+		// Empty input.
+		bos.reset();
+		JSONWriter.writeJSONLines(new ArrayList<Object>().iterator(), options, bos);
+		check(bos.size() == 0, "empty output");
+		System.out.println("Flushes OK");
+	}
+
+	private static void checkRecord(Record actual, Record expected, String message)
+	{
+		check(actual.id == expected.id, message + ": id");
+		check(actual.name.equals(expected.name), message + ": name");
+		check(expected.values == null ? actual.values == null : Arrays.equals(actual.values, expected.values), message + ": values");
+	}
+
+	private static class FlushCountingStream extends ByteArrayOutputStream
+	{
+		private int flushes = 0;
+
+		@Override
+		public void flush()
+		{
+			flushes++;
+		}
+	}
+
+	public static class Record
+	{
+		public int id;
+		public String name;
+		public int[] values;
+
+		public Record()
+		{
+		}
+
+		private Record(int id, String name, int[] values)
+		{
+			this.id = id;
+			this.name = name;
+			this.values = values;
+		}
+	}
+
+}
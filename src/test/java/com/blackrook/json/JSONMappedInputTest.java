@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class JSONMappedInputTest
+{
+	private static final String DOCUMENT = "{\"name\":\"caf\\u00e9 \u00e9\uD83D\uDE00\",\"list\":[1,2.5,-3e2,true,false,null],\"nested\":{\"x\":\"y\"}}";
+
+	public static void main(String[] args) throws Exception
+	{
+		String expected = JSONWriter.writeJSONString(JSONReader.readJSON(DOCUMENT));
+		Path path = Files.createTempFile("mapped", ".json");
+		try {
+			// Encodings, with and without byte order marks.
+			checkFile(path, bytes(DOCUMENT, StandardCharsets.UTF_8, null), expected, "UTF-8");
+			checkFile(path, bytes(DOCUMENT, StandardCharsets.UTF_8, new byte[]{(byte)0xEF, (byte)0xBB, (byte)0xBF}), expected, "UTF-8 BOM");
+			checkFile(path, bytes(DOCUMENT, StandardCharsets.UTF_16BE, null), expected, "UTF-16BE");
+			checkFile(path, bytes(DOCUMENT, StandardCharsets.UTF_16BE, new byte[]{(byte)0xFE, (byte)0xFF}), expected, "UTF-16BE BOM");
+			checkFile(path, bytes(DOCUMENT, StandardCharsets.UTF_16LE, null), expected, "UTF-16LE");
+			checkFile(path, bytes(DOCUMENT, StandardCharsets.UTF_16LE, new byte[]{(byte)0xFF, (byte)0xFE}), expected, "UTF-16LE BOM");
+			System.out.println("Encodings OK");
+
+			// From the channel's position, which is not changed.
+			byte[] prefix = "garbage".getBytes(StandardCharsets.UTF_8);
+			Files.write(path, bytes(DOCUMENT, StandardCharsets.UTF_8, prefix));
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+			{
+				channel.position(prefix.length);
+				check(JSONWriter.writeJSONString(JSONReader.readJSON(channel)).equals(expected), "channel position read");
+				check(channel.position() == prefix.length, "channel position kept");
+				check(JSONReader.readJSON(Document.class, channel).nested.x.equals("y"), "channel typed read");
+			}
+			System.out.println("Channel OK");
+
+			// A large file, with the limits applied.
+			StringBuilder sb = new StringBuilder("[");
+			for (int i = 0; i < 200000; i++)
+				sb.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"text\":\"\u00e9\u00e9\u00e9\"}");
+			Files.write(path, sb.append(']').toString().getBytes(StandardCharsets.UTF_8));
+			JSONObject large = JSONReader.readJSON(path);
+			check(large.length() == 200000, "large length");
+			for (int i = 0; i < 200000; i += 997)
+				check(large.get(i).get("id").getInt() == i && large.get(i).get("text").getString().equals("\u00e9\u00e9\u00e9"), "large value " + i);
+			Item[] items = JSONReader.readJSON(Item[].class, path);
+			check(items.length == 200000 && items[199999].id == 199999, "large typed read");
+			JSONReader.Options inputLimit = new JSONReader.Options();
+			inputLimit.setMaxInputLength(Files.size(path) - 1);
+			checkFails(() -> JSONReader.readJSON(path, inputLimit), "input limit");
+			JSONReader.Options memberLimit = new JSONReader.Options();
+			memberLimit.setMaxMembers(199999);
+			checkFails(() -> JSONReader.readJSON(path, memberLimit), "member limit");
+			System.out.println("Large OK");
+
+			// Errors.
+			Files.write(path, new byte[0]);
+			checkFails(() -> JSONReader.readJSON(path), "empty file");
+			Files.write(path, "{\"a\":\n [1, 2,".getBytes(StandardCharsets.UTF_8));
+			checkFails(() -> JSONReader.readJSON(path), "truncated file");
+			System.out.println("Errors OK");
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	private static byte[] bytes(String text, Charset charset, byte[] prefix) throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (prefix != null)
+			out.write(prefix);
+		out.write(text.getBytes(charset));
+		return out.toByteArray();
+	}
+
+	private static void checkFile(Path path, byte[] content, String expected, String message) throws Exception
+	{
+		Files.write(path, content);
+		check(JSONWriter.writeJSONString(JSONReader.readJSON(path)).equals(expected), message + ": path read");
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			check(JSONWriter.writeJSONString(JSONReader.readJSON(channel)).equals(expected), message + ": channel read");
+		}
+		Document document = JSONReader.readJSON(Document.class, path);
+		check(document.name.equals("caf\u00e9 \u00e9\uD83D\uDE00") && document.list.length == 6 && document.nested.x.equals("y"), message + ": typed read");
+	}
+
+	public static class Document
+	{
+		public String name;
+		public Object[] list;
+		public Nested nested;
+	}
+
+	public static class Nested
+	{
+		public String x;
+	}
+
+	public static class Item
+	{
+		public int id;
+		public String text;
+	}
+
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public final class JSONMemberMapTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Growth past the index threshold, then removal back below it.
+		JSONMemberMap map = new JSONMemberMap();
+		Map<String, JSONObject> model = new LinkedHashMap<>();
+		for (int i = 0; i < 1000; i++)
+		{
+			JSONObject value = JSONObject.create(i);
+			map.put("m" + i, value);
+			model.put("m" + i, value);
+			checkSame(map, model, "grow " + i);
+		}
+		for (int i = 0; i < 1000; i += 2)
+		{
+			check(map.remove("m" + i) == model.remove("m" + i), "remove m" + i);
+			check(map.remove("m" + i) == null, "remove again m" + i);
+		}
+		checkSame(map, model, "remove even");
+		for (int i = 999; i >= 0; i -= 2)
+		{
+			map.remove("m" + i);
+			model.remove("m" + i);
+			if (i % 50 == 1)
+				checkSame(map, model, "remove odd " + i);
+		}
+		checkSame(map, model, "remove all");
+		check(map.isEmpty(), "empty");
+		System.out.println("Growth and removal OK");
+
+		// Replacing a value keeps its place.
+		JSONObject object = JSONObject.createEmptyObject();
+		for (int i = 0; i < 20; i++)
+			object.addMember("m" + i, JSONObject.create(i));
+		object.addMember("m3", JSONObject.create(-3));
+		object.removeMember("m0");
+		object.addMember("m0", JSONObject.create(0));
+		String[] names = object.getMemberNames();
+		check(names.length == 20 && names[2].equals("m3") && names[19].equals("m0"), "member order");
+		check(object.get("m3").getInt() == -3, "replaced value");
+		System.out.println("Order OK");
+
+		// Entries set values in place, until the members move.
+		map = new JSONMemberMap();
+		for (int i = 0; i < 4; i++)
+			map.put("e" + i, JSONObject.create(i));
+		Iterator<Map.Entry<String, JSONObject>> entries = map.entrySet().iterator();
+		Map.Entry<String, JSONObject> first = entries.next();
+		first.setValue(JSONObject.create(-0.5));
+		check(map.get("e0").getDouble() == -0.5, "entry set");
+		entries.remove();
+		checkThrows(ConcurrentModificationException.class, () -> first.setValue(JSONObject.create(0)), "entry set after iterator remove");
+		Map.Entry<String, JSONObject> second = entries.next();
+		map.put("e1", JSONObject.create(-1));
+		second.setValue(JSONObject.create(-10));
+		check(map.get("e1").getInt() == -10, "entry set after replace");
+		map.remove("e3");
+		checkThrows(ConcurrentModificationException.class, () -> second.setValue(JSONObject.create(1)), "entry set after map remove");
+		check(map.size() == 2 && map.get("e1").getInt() == -10 && map.get("e2").getInt() == 2, "entries after stale sets");
+		System.out.println("Entries OK");
+
+		// Names with the same hash code.
+		List<String> colliding = new ArrayList<>();
+		colliding.add("");
+		for (int i = 0; i < 12; i++)
+		{
+			List<String> next = new ArrayList<>();
+			for (String s : colliding)
+			{
+				next.add(s + "Aa");
+				next.add(s + "BB");
+			}
+			colliding = next;
+		}
+		map = new JSONMemberMap();
+		model = new LinkedHashMap<>();
+		long t = System.nanoTime();
+		for (String name : colliding)
+		{
+			JSONObject value = JSONObject.create(name.length());
+			map.put(name, value);
+			model.put(name, value);
+		}
+		for (int i = 0; i < colliding.size(); i += 3)
+		{
+			map.remove(colliding.get(i));
+			model.remove(colliding.get(i));
+		}
+		checkSame(map, model, "colliding");
+		for (int i = 0; i < colliding.size(); i += 3)
+			check(!map.containsKey(colliding.get(i)), "colliding removed " + colliding.get(i));
+		t = System.nanoTime() - t;
+		check(t < 5000000000L, "colliding names took " + (t / 1000000) + "ms");
+		System.out.println("Colliding names OK");
+
+		// Random changes, against a map.
+		Random random = new Random(0L);
+		map = new JSONMemberMap();
+		model = new LinkedHashMap<>();
+		for (int i = 0; i < 200000; i++)
+		{
+			String name = "n" + random.nextInt(200);
+			switch (random.nextInt(8))
+			{
+				default:
+				{
+					JSONObject value = JSONObject.create(i);
+					check(map.put(name, value) == model.put(name, value), "put " + i);
+					break;
+				}
+				case 0:
+				case 1:
+				case 2:
+					check(map.remove(name) == model.remove(name), "remove " + i);
+					break;
+				case 3:
+					check(map.get(name) == model.get(name), "get " + i);
+					check(map.containsKey(name) == model.containsKey(name), "contains " + i);
+					break;
+				case 4:
+					if (random.nextInt(1000) == 0)
+					{
+						map.clear();
+						model.clear();
+					}
+					break;
+			}
+			if (i % 1000 == 0)
+				checkSame(map, model, "random " + i);
+		}
+		checkSame(map, model, "random end");
+		System.out.println("Random OK");
+	}
+
+	private static void checkSame(JSONMemberMap map, Map<String, JSONObject> model, String message)
+	{
+		check(map.size() == model.size(), message + ": size " + map.size() + ", expected " + model.size());
+		Iterator<Map.Entry<String, JSONObject>> it = map.entrySet().iterator();
+		for (Map.Entry<String, JSONObject> entry : model.entrySet())
+		{
+			check(it.hasNext(), message + ": missing " + entry.getKey());
+			Map.Entry<String, JSONObject> actual = it.next();
+			check(actual.getKey().equals(entry.getKey()) && actual.getValue() == entry.getValue(), message + ": order at " + entry.getKey());
+			check(map.get(entry.getKey()) == entry.getValue(), message + ": get " + entry.getKey());
+		}
+		check(!it.hasNext(), message + ": extra members");
+	}
+
+}
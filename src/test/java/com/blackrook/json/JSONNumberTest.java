@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public final class JSONNumberTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Written as Double.toString() and Float.toString() write them, or shorter where those are not the shortest.
+		double[] doubles = {
+			0.0, -0.0, 1.0, -1.0, 0.1, 0.001, 1.0E-4, 9999999.0, 1.0E7, 123456.789, 1.0E23, 2.0E-3,
+			Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE,
+			Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+		};
+		for (double d : doubles)
+			checkDouble(d);
+		check(JSONWriter.writeJSONString(1.0E23).equals("1.0E23"), "shortest 1.0E23");
+
+		float[] floats = {
+			0.0f, -0.0f, 1.0f, 0.1f, 1.0E7f, 1.0E-3f, 16777216f,
+			Float.MIN_VALUE, Float.MIN_NORMAL, Float.MAX_VALUE
+		};
+		for (float f : floats)
+			checkFloat(f);
+		check(JSONWriter.writeJSONString(Float.MIN_NORMAL).equals("1.1754944E-38"), "shortest Float.MIN_NORMAL");
+
+		long[] longs = {0L, -1L, 99L, 100L, Long.MAX_VALUE, Long.MIN_VALUE};
+		for (long l : longs)
+			check(JSONWriter.writeJSONString(l).equals(Long.toString(l)), "long " + l);
+
+		String[] numbers = {
+			"0", "-0.0", "1e23", "8.98846567431158e307", "2.2250738585072011e-308", "2.2250738585072012e-308", "4.9e-324", "2e-324",
+			"1.7976931348623157e308", "1.7976931348623159e308", "9007199254740993", "9007199254740993.0", "0.30000000000000004",
+			"123456789012345678901234567890e-10", "1.00000000000000011102230246251565404236316680908203125", "1E400", "-1e-400"
+		};
+		for (String number : numbers)
+			check(Double.doubleToLongBits(JSONReader.readJSON(number).getDouble()) == Double.doubleToLongBits(Double.parseDouble(number)), "read of " + number);
+		System.out.println("Fixed values OK");
+
+		// Raw numbers keep their text.
+		JSONReader.Options readerOptions = new JSONReader.Options();
+		readerOptions.setKeepingRawNumbers(true);
+		String rawDocument = "[12345678901234567890.123456789,123456789012345678901234567890,0.10,1E+2,-7]";
+		JSONObject raw = JSONReader.readJSON(rawDocument, readerOptions);
+		check(JSONWriter.writeJSONString(raw).equals(rawDocument), "raw numbers written: " + JSONWriter.writeJSONString(raw));
+		check(raw.get(0).getBigDecimal().equals(new BigDecimal("12345678901234567890.123456789")), "raw BigDecimal");
+		check(raw.get(1).getBigInteger().equals(new BigInteger("123456789012345678901234567890")), "raw BigInteger");
+		check(raw.get(2).getDouble() == 0.1 && raw.get(3).getInt() == 100 && raw.get(4).getLong() == -7L, "raw number values");
+		check(JSONWriter.writeJSONString(JSONReader.readJSON("[0.10,1E+2,-7]")).equals("[0.1,100.0,-7]"), "numbers not raw by default");
+		String lenient = JSONWriter.writeJSONString(JSONReader.readJSON("[.5, 5., -.5, 0123, -00, 1.e5, 0x1F]", readerOptions));
+		check(lenient.equals("[0.5,5.0,-0.5,123,-0,1.0e5,31]"), "lenient raw numbers written: " + lenient);
+		System.out.println("Raw numbers OK");
+
+		// Malformed numbers, and what follows numbers, the same from each kind of input.
+		checkScanned("[1e]", "Line 1, Token \"1e\": Malformed number.");
+		checkScanned("[1x]", "Line 1, Token \"1x\": Malformed number.");
+		checkScanned("[-]", "Line 1, Token \"-\": Malformed number.");
+		checkScanned("[1.5e+,2]", "Line 1, Token \"1.5e+\": Malformed number.");
+		checkScanned("[1\u00e9]", "Line 1, Token \"1\u00e9\": Malformed number.");
+		checkScanned("[1\ud835\udc00]", "Line 1, Token \"1\ud835\udc00\": Malformed number.");
+		checkScanned("[1\u20ac]", "Line 1, Token \"\u20ac\": Unexpected character.");
+		checkScanned("[1\u2003,2]", "[1,2]");
+		checkScanned("{\"a\":\ud835\udc00}", "Line 1, Token \"\ud835\udc00\": Expected value.");
+		checkScanned("[a\ud835\udc00b]", "Line 1, Token \"a\ud835\udc00b\": Expected value.");
+		checkScanned("[a\u20ac]", "Line 1, Token \"a\u20ac\": Unexpected character.");
+		System.out.println("Malformed numbers OK");
+
+		// Round trips.
+		Random random = new Random(0L);
+		for (int i = 0; i < 1000000; i++)
+		{
+			checkDouble(Double.longBitsToDouble(random.nextLong()));
+			checkFloat(Float.intBitsToFloat(random.nextInt()));
+			String s = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(600) - 300));
+			check(JSONReader.readJSON(s).getDouble() == Double.parseDouble(s), "double read of " + s);
+		}
+		System.out.println("Round trips OK");
+	}
+
+	// Checks what a document reads as (or the error it reads with), from a String, a Reader, and UTF-8 bytes.
+	private static void checkScanned(String document, String expected)
+	{
+		check(scanned(() -> JSONReader.readJSON(document)).equals(expected), "string read of " + document + ": " + scanned(() -> JSONReader.readJSON(document)));
+		check(scanned(() -> JSONReader.readJSON(new StringReader(document))).equals(expected), "reader read of " + document);
+		check(scanned(() -> JSONReader.readJSON(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)))).equals(expected), "input stream read of " + document);
+	}
+
+	private static String scanned(Read read)
+	{
+		try {
+			return JSONWriter.writeJSONString(read.read());
+		} catch (JSONConversionException e) {
+			return e.getMessage();
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Read
+	{
+		JSONObject read() throws IOException;
+	}
+
+	private static void checkDouble(double d) throws IOException
+	{
+		String out = JSONWriter.writeJSONString(d);
+		String expected = Double.toString(d);
+		check(out.equals(expected) || (out.length() <= expected.length() && Double.parseDouble(out) == d), "double " + expected + " written as " + out);
+	}
+
+	private static void checkFloat(float f) throws IOException
+	{
+		String out = JSONWriter.writeJSONString(f);
+		String expected = Float.toString(f);
+		check(out.equals(expected) || (out.length() <= expected.length() && Float.parseFloat(out) == f), "float " + expected + " written as " + out);
+	}
+
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class JSONOrderTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Members read keep the document's order, when read and written.
+		String document = "{\"z\":1,\"b\":{\"y\":2,\"a\":[{\"q\":1,\"p\":2}]},\"m\":null,\"a\":\"s\"}";
+		JSONObject object = JSONReader.readJSON(document);
+		check(String.join(",", object.getMemberNames()).equals("z,b,m,a"), "read order");
+		check(JSONWriter.writeJSONString(object).equals(document), "written order");
+		check(JSONWriter.writeJSONString(JSONReader.readJSON(JSONWriter.writeJSONString(object))).equals(document), "order after round trip");
+
+		// Added members go at the end; replaced members keep their place.
+		object.addMember("c", JSONObject.create(3));
+		object.addMember("z", JSONObject.create(0));
+		object.removeMember("b");
+		object.addMember("b", JSONObject.create(4));
+		check(String.join(",", object.getMemberNames()).equals("z,m,a,c,b"), "changed order");
+		check(JSONWriter.writeJSONString(object).equals("{\"z\":0,\"m\":null,\"a\":\"s\",\"c\":3,\"b\":4}"), "changed written order");
+
+		// Many members, past the point where they are indexed.
+		JSONObject many = JSONObject.createEmptyObject();
+		StringBuilder expected = new StringBuilder("{");
+		for (int i = 100; i > 0; i--)
+		{
+			many.addMember("m" + i, JSONObject.create(i));
+			expected.append(i < 100 ? "," : "").append("\"m").append(i).append("\":").append(i);
+		}
+		check(JSONWriter.writeJSONString(many).equals(expected.append('}').toString()), "many members order");
+		System.out.println("Insertion order OK");
+
+		// Sorted output, for trees, maps and objects, at every depth.
+		JSONWriter.Options sorted = new JSONWriter.Options();
+		sorted.setSortingMembers(true);
+		check(!new JSONWriter.Options().isSortingMembers() && sorted.isSortingMembers(), "sorting setting");
+		String sortedDocument = "{\"a\":\"s\",\"b\":{\"a\":[{\"p\":2,\"q\":1}],\"y\":2},\"m\":null,\"z\":1}";
+		check(JSONWriter.writeJSONString(JSONReader.readJSON(document), sorted).equals(sortedDocument), "sorted tree");
+		JSONObject other = JSONReader.readJSON("{\"m\":null,\"a\":\"s\",\"z\":1,\"b\":{\"a\":[{\"p\":2,\"q\":1}],\"y\":2}}");
+		check(JSONWriter.writeJSONString(other, sorted).equals(sortedDocument), "sorted tree from another order");
+
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("k", 1);
+		map.put("B", 2);
+		map.put("a", Arrays.asList(new Point(), null));
+		String point = JSONWriter.writeJSONString(new Point());
+		check(JSONWriter.writeJSONString(map).equals("{\"k\":1,\"B\":2,\"a\":[" + point + ",null]}"), "map order");
+		check(JSONWriter.writeJSONString(map, sorted).equals("{\"B\":2,\"a\":[{\"x\":1,\"y\":2},null],\"k\":1}"), "sorted map: " + JSONWriter.writeJSONString(map, sorted));
+		check(JSONWriter.writeJSONString(JSONObject.create(map), sorted).equals(JSONWriter.writeJSONString(map, sorted)), "sorted map tree");
+
+		// Objects of a type are always written in the same order.
+		for (int i = 0; i < 100; i++)
+			check(JSONWriter.writeJSONString(new Point()).equals(point), "object order");
+		check(JSONWriter.writeJSONString(new Point(), sorted).equals("{\"x\":1,\"y\":2}"), "sorted object");
+		System.out.println("Sorted OK");
+	}
+
+	public static class Point
+	{
+		public int y = 2;
+		public int x = 1;
+	}
+
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+import static com.blackrook.json.JSONTestUtils.checkThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.blackrook.json.JSONTest.Pair;
+
+public final class JSONParserTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Events and depths, from each kind of input.
+		String document = "{\"a\":[1, -2.5, \"s\\n\", true, false, null], \"b\":{}, \"c\":[[]], \"\\u00e9\":{\"d\":3e2}}";
+		String expected = "1:START_OBJECT 1:FIELD_NAME=a 2:START_ARRAY 2:VALUE_NUMBER=1 2:VALUE_NUMBER=-2.5 2:VALUE_STRING=s\n 2:VALUE_TRUE 2:VALUE_FALSE 2:VALUE_NULL 1:END_ARRAY"
+			+ " 1:FIELD_NAME=b 2:START_OBJECT 1:END_OBJECT 1:FIELD_NAME=c 2:START_ARRAY 3:START_ARRAY 2:END_ARRAY 1:END_ARRAY"
+			+ " 1:FIELD_NAME=\u00e9 2:START_OBJECT 2:FIELD_NAME=d 2:VALUE_NUMBER=3e2 1:END_OBJECT 0:END_OBJECT";
+		check(events(new JSONParser(document)).equals(expected), "string events: " + events(new JSONParser(document)));
+		check(events(new JSONParser(new StringReader(document))).equals(expected), "reader events");
+		check(events(new JSONParser(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)))).equals(expected), "input stream events");
+		check(events(new JSONParser(" 42 ")).equals("0:VALUE_NUMBER=42"), "single value");
+		check(events(new JSONParser("\"x\"")).equals("0:VALUE_STRING=x"), "single string");
+		System.out.println("Events OK");
+
+		// Values of events.
+		JSONParser parser = new JSONParser("[12, 2.5e1, 9007199254740993, true, false]");
+		check(parser.getEvent() == null && parser.getDepth() == 0 && parser.hasNext(), "before first event");
+		parser.next();
+		checkThrows(IllegalStateException.class, () -> parser.getString(), "getString on START_ARRAY");
+		checkThrows(IllegalStateException.class, () -> parser.getLong(), "getLong on START_ARRAY");
+		checkThrows(IllegalStateException.class, () -> parser.getBoolean(), "getBoolean on START_ARRAY");
+		parser.next();
+		check(parser.isIntegerNumber() && parser.getInt() == 12 && parser.getLong() == 12L && parser.getDouble() == 12.0, "integer");
+		parser.next();
+		check(!parser.isIntegerNumber() && parser.getDouble() == 25.0 && parser.getLong() == 25L && parser.getString().equals("2.5e1"), "decimal");
+		parser.next();
+		check(parser.getLong() == 9007199254740993L, "long");
+		checkFails(() -> parser.getInt(), "int overflow");
+		parser.next();
+		check(parser.getBoolean(), "true");
+		parser.next();
+		check(!parser.getBoolean(), "false");
+		System.out.println("Values OK");
+
+		// The end of the first value.
+		JSONParser twoValues = new JSONParser("[1] [2]");
+		check(events(twoValues).equals("1:START_ARRAY 1:VALUE_NUMBER=1 0:END_ARRAY"), "first value only");
+		check(!twoValues.hasNext(), "no events after first value");
+		checkThrows(NoSuchElementException.class, () -> twoValues.next(), "next after first value");
+		System.out.println("End OK");
+
+		// Whole values read from the current event, and skipped children.
+		String json = JSONTest.getTextualContents(ClassLoader.getSystemClassLoader().getResourceAsStream("com/blackrook/json/test.json"));
+		JSONParser pairs = new JSONParser(json);
+		pairs.next();
+		List<Pair> read = new ArrayList<>();
+		while (pairs.next() != JSONParser.Event.END_ARRAY)
+		{
+			check(pairs.getEvent() == JSONParser.Event.START_OBJECT && pairs.getDepth() == 2, "pair start");
+			read.add(pairs.readValue(Pair.class));
+			check(pairs.getEvent() == JSONParser.Event.END_OBJECT && pairs.getDepth() == 1, "pair end");
+		}
+		check(read.size() == 3 && read.get(1).y == 1 && read.get(2).y == -6, "pairs " + read);
+		check(pairs.getDepth() == 0 && !pairs.hasNext(), "pairs done");
+
+		JSONParser values = new JSONParser("{\"a\":[1,{\"b\":2}], \"c\":3, \"d\":{\"e\":[4]}, \"f\":5}");
+		values.next();
+		values.next();
+		checkThrows(IllegalStateException.class, () -> values.readValue(), "readValue on FIELD_NAME");
+		values.next();
+		check(JSONWriter.writeJSONString(values.readValue()).equals("[1,{\"b\":2}]"), "array value");
+		check(values.getEvent() == JSONParser.Event.END_ARRAY && values.getDepth() == 1, "after array value");
+		checkThrows(IllegalStateException.class, () -> values.readValue(), "readValue on END_ARRAY");
+		values.next();
+		values.next();
+		check(values.readValue().getInt() == 3, "number value");
+		check(values.getEvent() == JSONParser.Event.VALUE_NUMBER && values.getDepth() == 1, "after number value");
+		values.next();
+		values.next();
+		values.skipChildren();
+		check(values.getEvent() == JSONParser.Event.END_OBJECT && values.getDepth() == 1, "after skipped children");
+		values.next();
+		check(values.getString().equals("f"), "member after skipped children");
+		values.next();
+		values.skipChildren();
+		check(values.getInt() == 5, "skipChildren on a value");
+		check(values.next() == JSONParser.Event.END_OBJECT && !values.hasNext(), "values done");
+		System.out.println("Read value OK");
+
+		// Malformed input, after the events before the error.
+		checkMalformed("[1 2]", "1:START_ARRAY 1:VALUE_NUMBER=1");
+		checkMalformed("{\"a\" 1}", "1:START_OBJECT 1:FIELD_NAME=a");
+		checkMalformed("[1,]", "1:START_ARRAY 1:VALUE_NUMBER=1");
+		checkMalformed("{\"a\":1,}", "1:START_OBJECT 1:FIELD_NAME=a 1:VALUE_NUMBER=1");
+		checkMalformed("{\"a\":1]", "1:START_OBJECT 1:FIELD_NAME=a 1:VALUE_NUMBER=1");
+		checkMalformed("[1}", "1:START_ARRAY 1:VALUE_NUMBER=1");
+		checkMalformed("{1:2}", "1:START_OBJECT");
+		checkMalformed("[1, [2", "1:START_ARRAY 1:VALUE_NUMBER=1 2:START_ARRAY 2:VALUE_NUMBER=2");
+		checkMalformed("]", "");
+		checkMalformed("", "");
+		System.out.println("Malformed OK");
+	}
+
+	// Reads all events, as "depth:EVENT" or "depth:EVENT=text".
+	private static String events(JSONParser parser) throws Exception
+	{
+		List<String> out = new ArrayList<>();
+		while (parser.hasNext())
+			out.add(event(parser, parser.next()));
+		return String.join(" ", out);
+	}
+
+	private static String event(JSONParser parser, JSONParser.Event event)
+	{
+		switch (event)
+		{
+			case FIELD_NAME:
+			case VALUE_STRING:
+			case VALUE_NUMBER:
+				return parser.getDepth() + ":" + event + "=" + parser.getString();
+			default:
+				return parser.getDepth() + ":" + event;
+		}
+	}
+
+	// Checks that input fails to parse, after a set of events.
+	private static void checkMalformed(String data, String expected)
+	{
+		JSONParser parser = new JSONParser(data);
+		List<String> out = new ArrayList<>();
+		checkFails(() -> {
+			while (parser.hasNext())
+				out.add(event(parser, parser.next()));
+		}, "malformed " + data);
+		check(String.join(" ", out).equals(expected), "events before error in " + data + ": " + out);
+	}
+
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+import static com.blackrook.json.JSONTestUtils.checkFails;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public final class JSONReadAllTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Concatenated values, with and without separators.
+		String data = "{\"a\":1}{\"b\":[2]}[1,2]\"s\"3 4.5\ttrue\nnull\r\n{}[]";
+		String expected = "[{\"a\":1}, {\"b\":[2]}, [1,2], \"s\", 3, 4.5, true, null, {}, []]";
+		check(written(JSONReader.readAll(data)).equals(expected), "string");
+		check(written(JSONReader.readAll(new StringReader(data))).equals(expected), "reader");
+		check(written(JSONReader.readAll(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)))).equals(expected), "input stream");
+		check(JSONReader.readAll("").count() == 0, "empty");
+		check(JSONReader.readAll(" \n\t\r\n ").count() == 0, "whitespace");
+		System.out.println("Concatenated OK");
+
+		// JSON Lines, with a large input that goes past the scanner buffer.
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 50000; i++)
+			sb.append("{\"id\":").append(i).append(",\"name\":\"n").append(i).append("\"}\n");
+		byte[] lines = sb.toString().getBytes(StandardCharsets.UTF_8);
+		Iterator<JSONObject> it = JSONReader.readAll(new ByteArrayInputStream(lines)).iterator();
+		for (int i = 0; i < 50000; i++)
+		{
+			JSONObject value = it.next();
+			check(value.get("id").getInt() == i && value.get("name").getString().equals("n" + i), "line " + i);
+		}
+		check(!it.hasNext(), "lines end");
+		System.out.println("Lines OK");
+
+		// Values are read as the stream is consumed.
+		check(written(JSONReader.readAll(new StringReader("1 2 {bad")).limit(2)).equals("[1, 2]"), "lazy read");
+		List<JSONObject> before = new ArrayList<>();
+		JSONConversionException e = checkFails(() -> JSONReader.readAll(new StringReader("1 2\n{\"a\" 1}")).forEach(before::add), "error");
+		check(e.getMessage().startsWith("Line 2,"), "error line: " + e.getMessage());
+		check(before.size() == 2, "values before error");
+		checkFails(() -> JSONReader.readAll("[1, 2").count(), "unterminated array");
+		checkFails(() -> JSONReader.readAll("1 ,2").count(), "stray comma");
+		System.out.println("Errors OK");
+
+		// The input limit covers the whole input.
+		JSONReader.Options options = new JSONReader.Options();
+		options.setMaxInputLength(20);
+		check(JSONReader.readAll(new StringReader("[1] [2] [3] [4]"), options).count() == 4, "under input limit");
+		checkFails(() -> JSONReader.readAll(new StringReader("[1] [2] [3] [4] [5] [6]"), options).count(), "over input limit");
+		System.out.println("Limits OK");
+	}
+
+	private static String written(Stream<JSONObject> stream) throws IOException
+	{
+		StringBuilder sb = new StringBuilder("[");
+		for (Iterator<JSONObject> it = stream.iterator(); it.hasNext(); )
+			sb.append(JSONWriter.writeJSONString(it.next())).append(it.hasNext() ? ", " : "");
+		return sb.append(']').toString();
+	}
+
+}
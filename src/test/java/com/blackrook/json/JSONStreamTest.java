@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public final class JSONStreamTest
+{
+	private static final int COUNT = 100000;
+
+	public static void main(String[] args) throws Exception
+	{
+		JSONObject array = JSONObject.createEmptyArray();
+		JSONObject object = JSONObject.createEmptyObject();
+		long sum = 0L;
+		for (int i = 0; i < COUNT; i++)
+		{
+			array.append(JSONObject.create(i));
+			object.addMember("m" + i, JSONObject.create(i));
+			sum += i;
+		}
+		// move the array's head, so the elements wrap around its buffer.
+		for (int i = 0; i < 10; i++)
+			array.append(array.pop());
+
+		// Streams.
+		check(array.stream().mapToLong(JSONObject::getLong).sum() == sum, "array stream sum");
+		check(array.parallelStream().mapToLong(JSONObject::getLong).sum() == sum, "array parallel stream sum");
+		check(object.stream().mapToLong(JSONObject::getLong).sum() == sum, "object stream sum");
+		check(object.parallelStream().mapToLong(JSONObject::getLong).sum() == sum, "object parallel stream sum");
+		List<Integer> values = array.parallelStream().map(JSONObject::getInt).collect(Collectors.toList());
+		for (int i = 0; i < COUNT; i++)
+			check(values.get(i) == (i + 10) % COUNT, "array parallel stream order at " + i);
+		List<String> names = object.parallelMemberStream().map(Map.Entry::getKey).collect(Collectors.toList());
+		for (int i = 0; i < COUNT; i++)
+			check(names.get(i).equals("m" + i), "object parallel member stream order at " + i);
+		check(array.memberStream().allMatch((e) -> array.get(Integer.parseInt(e.getKey())) == e.getValue()), "array member names");
+		check(object.parallelMemberStream().allMatch((e) -> object.get(e.getKey()) == e.getValue()), "object member values");
+		check(JSONObject.create(5).stream().count() == 0 && JSONObject.NULL.memberStream().count() == 0, "non-container streams");
+		System.out.println("Streams OK");
+
+		// Splitting.
+		checkSplits(() -> array.stream().spliterator(), "array");
+		checkSplits(() -> object.stream().spliterator(), "object");
+		checkSplits(array::memberSpliterator, "array members");
+		checkSplits(object::memberSpliterator, "object members");
+		System.out.println("Splitting OK");
+	}
+
+	// Splits Spliterators down to small parts, and checks that the parts are sized and cover the whole in order.
+	private static <T> void checkSplits(Supplier<Spliterator<T>> supplier, String message)
+	{
+		List<T> whole = new ArrayList<>();
+		supplier.get().forEachRemaining(whole::add);
+		check(whole.size() == COUNT, message + ": whole size " + whole.size());
+
+		Spliterator<T> spliterator = supplier.get();
+		check(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED), message + ": characteristics");
+		List<T> parts = new ArrayList<>();
+		int count = split(spliterator, parts, message);
+		check(count > 1, message + ": no splits");
+		check(parts.equals(whole), message + ": parts differ from whole");
+
+		// split after partial traversal.
+		spliterator = supplier.get();
+		List<T> rest = new ArrayList<>();
+		for (int i = 0; i < 7; i++)
+			spliterator.tryAdvance(rest::add);
+		split(spliterator, rest, message + " (advanced)");
+		check(rest.equals(whole), message + ": advanced parts differ from whole");
+	}
+
+	// Splits a Spliterator down to parts of 1000 or less, adding their elements in order. Returns the part count.
+	private static <T> int split(Spliterator<T> spliterator, List<T> out, String message)
+	{
+		long size = spliterator.estimateSize();
+		if (size > 1000)
+		{
+			Spliterator<T> prefix = spliterator.trySplit();
+			check(prefix != null, message + ": no split at size " + size);
+			check(prefix.estimateSize() + spliterator.estimateSize() == size, message + ": split sizes");
+			check(Math.abs(prefix.estimateSize() - spliterator.estimateSize()) <= 1, message + ": uneven split");
+			return split(prefix, out, message) + split(spliterator, out, message);
+		}
+		int before = out.size();
+		spliterator.forEachRemaining(out::add);
+		check(out.size() - before == size, message + ": part size");
+		check(!spliterator.tryAdvance(out::add), message + ": part not done");
+		return 1;
+	}
+
+}
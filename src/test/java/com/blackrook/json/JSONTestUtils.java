@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+/**
+ * Checks shared by the test programs.
+ * A failed check throws an {@link AssertionError}, which ends the program.
+ */
+final class JSONTestUtils
+{
+	private JSONTestUtils() {}
+
+	/**
+	 * Checks that a condition is true.
+	 * @param condition the condition.
+	 * @param message the message for the error, if the condition is false.
+	 * @throws AssertionError if the condition is false.
+	 */
+	static void check(boolean condition, String message)
+	{
+		if (!condition)
+			throw new AssertionError(message);
+	}
+
+	/**
+	 * Runs an action, and checks that it throws an exception of a certain type.
+	 * @param <T> the exception type.
+	 * @param type the exception class.
+	 * @param action the action to run.
+	 * @param message the message for the error, if nothing or something else is thrown.
+	 * @return the exception thrown.
+	 * @throws AssertionError if the action does not throw an exception of the type.
+	 */
+	static <T extends Throwable> T checkThrows(Class<T> type, Action action, String message)
+	{
+		try {
+			action.run();
+		} catch (Throwable t) {
+			if (type.isInstance(t))
+				return type.cast(t);
+			throw new AssertionError(message + ": expected " + type.getSimpleName() + ", got " + t, t);
+		}
+		throw new AssertionError(message + ": no " + type.getSimpleName());
+	}
+
+	/**
+	 * Runs an action, and checks that it throws a {@link JSONConversionException}.
+	 * @param action the action to run.
+	 * @param message the message for the error, if nothing or something else is thrown.
+	 * @return the exception thrown.
+	 * @throws AssertionError if the action does not throw a JSONConversionException.
+	 */
+	static JSONConversionException checkFails(Action action, String message)
+	{
+		return checkThrows(JSONConversionException.class, action, message);
+	}
+
+	/**
+	 * An action that may throw anything.
+	 */
+	@FunctionalInterface
+	interface Action
+	{
+		void run() throws Exception;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+
+import java.util.Random;
+
+public final class JSONValueTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Value class, value, getters, written form, and type, for numbers stored as primitives and other values.
+		Object[][] cases = {
+			{JSONObject.create(5), "Integer 5 | 5 5 5.0 5.0 5 5 true 5 | 5 | NUMBER"},
+			{JSONObject.create(5L), "Long 5 | 5 5 5.0 5.0 5 5 true 5 | 5 | NUMBER"},
+			{JSONObject.create(Long.MAX_VALUE), "Long 9223372036854775807 | -1 9223372036854775807 9.223372036854776E18 9.223372E18 -1 -1 true 9223372036854775807 | 9223372036854775807 | NUMBER"},
+			{JSONObject.create(2.75), "Double 2.75 | 2 2 2.75 2.75 2 2 true 2.75 | 2.75 | NUMBER"},
+			{JSONObject.create(-2.5f), "Float -2.5 | -2 -2 -2.5 -2.5 -2 -2 true -2.5 | -2.5 | NUMBER"},
+			{JSONObject.create((Object)(short)3), "Short 3 | 3 3 3.0 3.0 3 3 true 3 | 3 | NUMBER"},
+			{JSONObject.create((Object)(byte)-3), "Byte -3 | -3 -3 -3.0 -3.0 -3 -3 true -3 | -3 | NUMBER"},
+			{JSONReader.readJSON("9007199254740993"), "Long 9007199254740993 | 1 9007199254740993 9.007199254740992E15 9.0071993E15 1 1 true 9007199254740993 | 9007199254740993 | NUMBER"},
+			{JSONReader.readJSON("-12"), "Long -12 | -12 -12 -12.0 -12.0 -12 -12 true -12 | -12 | NUMBER"},
+			{JSONReader.readJSON("1e3"), "Double 1000.0 | 1000 1000 1000.0 1000.0 1000 -24 true 1000.0 | 1000.0 | NUMBER"},
+			{JSONReader.readJSON("0.1"), "Double 0.1 | 0 0 0.1 0.1 0 0 true 0.1 | 0.1 | NUMBER"},
+			{JSONReader.readJSON("1e400"), "Double Infinity | 2147483647 9223372036854775807 Infinity Infinity -1 -1 true Infinity | Infinity | NUMBER"},
+			{JSONReader.readJSON("-0"), "Long 0 | 0 0 0.0 0.0 0 0 false 0 | 0 | NUMBER"},
+			{JSONReader.readJSON("-0.0"), "Double -0.0 | 0 0 -0.0 -0.0 0 0 false -0.0 | -0.0 | NUMBER"},
+			{JSONReader.readJSON("\"12\""), "String 12 | 12 12 12.0 12.0 12 12 false 12 | \"12\" | STRING"},
+			{JSONReader.readJSON("true"), "Boolean true | 1 1 1.0 1.0 1 1 true true | true | BOOLEAN"},
+		};
+		for (Object[] c : cases)
+		{
+			String description = describe((JSONObject)c[0]);
+			check(description.equals(c[1]), "expected " + c[1] + ", got " + description);
+		}
+		System.out.println("Values OK");
+
+		// Integers keep every bit, and doubles round trip, through reading and writing.
+		Random random = new Random(0L);
+		JSONObject array = JSONObject.createEmptyArray();
+		long[] longs = new long[10000];
+		double[] doubles = new double[10000];
+		for (int i = 0; i < longs.length; i++)
+		{
+			longs[i] = random.nextLong() >> random.nextInt(64);
+			doubles[i] = Double.longBitsToDouble(random.nextLong());
+			if (Double.isNaN(doubles[i]) || Double.isInfinite(doubles[i]))
+				doubles[i] = i;
+			array.append(JSONObject.create(longs[i]));
+			array.append(JSONObject.create(doubles[i]));
+		}
+		JSONObject read = JSONReader.readJSON(JSONWriter.writeJSONString(array));
+		for (int i = 0; i < longs.length; i++)
+		{
+			check(array.get(i * 2).getLong() == longs[i] && read.get(i * 2).getLong() == longs[i], "long " + longs[i]);
+			check(Double.doubleToLongBits(array.get(i * 2 + 1).getDouble()) == Double.doubleToLongBits(doubles[i]), "double " + doubles[i]);
+			check(Double.doubleToLongBits(read.get(i * 2 + 1).getDouble()) == Double.doubleToLongBits(doubles[i]), "read double " + doubles[i]);
+		}
+		System.out.println("Round trips OK");
+	}
+
+	private static String describe(JSONObject object) throws Exception
+	{
+		Object value = object.getValue();
+		String getters;
+		try {
+			getters = object.getInt() + " " + object.getLong() + " " + object.getDouble() + " " + object.getFloat() + " " + object.getShort() 
+				+ " " + object.getByte() + " " + object.getBoolean() + " " + object.getString();
+		} catch (Exception e) {
+			getters = e.toString();
+		}
+		return (value == null ? null : value.getClass().getSimpleName()) + " " + value + " | " + getters 
+			+ " | " + JSONWriter.writeJSONString(object) + " | " + object.getType();
+	}
+
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2019-2023 Black Rook Software
+ * This program and the accompanying materials are made available under the
+ * terms of the GNU Lesser Public License v2.1 which accompanies this
+ * distribution, and is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ ******************************************************************************/
+package com.blackrook.json;
+
+import static com.blackrook.json.JSONTestUtils.check;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.blackrook.json.annotation.JSONIgnore;
+import com.blackrook.json.annotation.JSONName;
+
+public final class JSONWriterTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Objects written directly give the same output as their JSONObject trees.
+		Record record = new Record();
+		JSONWriter.Options[] optionSets = new JSONWriter.Options[4];
+		for (int i = 0; i < optionSets.length; i++)
+			optionSets[i] = new JSONWriter.Options();
+		optionSets[1].setIndentation("\t");
+		optionSets[2].setOmittingNullMembers(true);
+		optionSets[3].setSortingMembers(true);
+		Object[] objects = {
+			record, new Record[]{record, null}, Arrays.asList(1, "two", null, 3.5), record.map,
+			new int[]{1, 2}, "text", 42, -0.5f, true, null, JSONObject.create(record)
+		};
+		for (JSONWriter.Options options : optionSets)
+			for (Object object : objects)
+			{
+				String direct = JSONWriter.writeJSONString(object, options);
+				String tree = JSONWriter.writeJSONString(JSONObject.create(object), options);
+				check(direct.equals(tree), "direct and tree: " + direct + " vs. " + tree);
+			}
+		String written = JSONWriter.writeJSONString(record);
+		check(written.contains("\"alias\":\"named\"") && !written.contains("ignored") && written.contains("\"getter\":5"), "names and getters: " + written);
+		check(JSONReader.readJSON(Record.class, written).nested.values[1] == 2, "read back");
+		System.out.println("Direct OK");
+
+		// Output streams get the same text as writers, in UTF-8, across many buffer fills.
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 3000; i++)
+			sb.append(i % 10);
+		JSONObject large = JSONObject.createEmptyArray();
+		for (int i = 0; i < 200; i++)
+		{
+			large.append(JSONObject.create(sb.substring(0, i * 13)));
+			large.append(JSONObject.create(record));
+		}
+		for (JSONWriter.Options options : optionSets)
+		{
+			checkOutput(large, options, "large tree");
+			checkOutput(new Object[]{record, sb.toString(), record}, options, "large object");
+		}
+		TrackingStream stream = new TrackingStream();
+		JSONWriter.writeJSON(large, stream);
+		check(stream.flushed == stream.size() && !stream.closed, "stream flushed and not closed");
+		System.out.println("Output OK");
+
+		// Escapes: every character, alone and all in one string, written and read back.
+		StringBuilder all = new StringBuilder();
+		StringBuilder allEscaped = new StringBuilder("\"");
+		for (int c = 0; c <= 0xFFFF; c++)
+		{
+			String s = "a" + (char)c + "b";
+			String escaped = "\"a" + escape((char)c) + "b\"";
+			String out = JSONWriter.writeJSONString(s);
+			check(out.equals(escaped), "escape of " + Integer.toHexString(c) + ": " + out);
+			check(JSONReader.readJSON(out).getString().equals(s), "read back of " + Integer.toHexString(c));
+			all.append((char)c);
+			allEscaped.append(escape((char)c));
+		}
+		String out = JSONWriter.writeJSONString(all.toString());
+		check(out.equals(allEscaped.append('"').toString()), "all characters");
+		check(JSONReader.readJSON(out).getString().equals(all.toString()), "all characters read back");
+		checkOutput(all.toString(), optionSets[0], "all characters");
+		System.out.println("Escapes OK");
+
+		// Non-ASCII characters written as-is, except for controls, unpaired surrogates, and line separators.
+		JSONWriter.Options unescaped = new JSONWriter.Options();
+		unescaped.setEscapingNonASCII(false);
+		check(new JSONWriter.Options().isEscapingNonASCII() && !unescaped.isEscapingNonASCII(), "escaping setting");
+		for (int c = 0; c <= 0xFFFF; c++)
+		{
+			String s = "a" + (char)c + "b";
+			boolean raw = c >= 0xA0 && c != 0x2028 && c != 0x2029 && !Character.isSurrogate((char)c);
+			String escaped = "\"a" + (raw ? String.valueOf((char)c) : escape((char)c)) + "b\"";
+			String unescapedOut = JSONWriter.writeJSONString(s, unescaped);
+			check(unescapedOut.equals(escaped), "unescaped " + Integer.toHexString(c) + ": " + unescapedOut);
+			check(JSONReader.readJSON(unescapedOut).getString().equals(s), "unescaped read back of " + Integer.toHexString(c));
+		}
+		String pairs = "\uD83D\uDE00 \uD800\uDC00 \uDBFF\uDFFF";
+		check(JSONWriter.writeJSONString(pairs, unescaped).equals("\"" + pairs + "\""), "surrogate pairs");
+		check(JSONWriter.writeJSONString("\uDE00\uD83D", unescaped).equals("\"\\uDE00\\uD83D\""), "reversed surrogates");
+		check(JSONWriter.writeJSONString("x\uD83D", unescaped).equals("\"x\\uD83D\""), "high surrogate at end");
+		// characters of every UTF-8 length, at every position around the ends of the output buffer.
+		String prefix = sb.toString() + sb + sb;
+		for (int n = 8180; n < 8200; n++)
+			checkOutput(prefix.substring(0, n) + "\u00e9\u20ac\uD83D\uDE00" + sb.substring(0, 100), unescaped, "buffer end at " + n);
+		checkOutput(all.toString(), unescaped, "all characters unescaped");
+		checkOutput(large, unescaped, "large tree unescaped");
+		System.out.println("Unescaped OK");
+	}
+
+	// Escapes a character in a string, as written with non-ASCII escaping.
+	private static String escape(char c)
+	{
+		switch (c)
+		{
+			case '\0':
+				return "\\0";
+			case '\b':
+				return "\\b";
+			case '\t':
+				return "\\t";
+			case '\n':
+				return "\\n";
+			case '\f':
+				return "\\f";
+			case '\r':
+				return "\\r";
+			case '\\':
+				return "\\\\";
+			case '"':
+				return "\\\"";
+			default:
+				if (c < 0x20 || c >= 0x7f)
+					return String.format("\\u%04X", (int)c);
+				return String.valueOf(c);
+		}
+	}
+
+	// Checks that an object written to an output stream is the same as the UTF-8 encoded text written to a writer.
+	private static void checkOutput(Object object, JSONWriter.Options options, String message) throws Exception
+	{
+		StringWriter writer = new StringWriter();
+		JSONWriter.writeJSON(object, options, writer);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JSONWriter.writeJSON(object, options, out);
+		check(Arrays.equals(out.toByteArray(), writer.toString().getBytes(StandardCharsets.UTF_8)), message + ": stream and writer differ");
+		check(writer.toString().equals(JSONWriter.writeJSONString(object, options)), message + ": writer and string differ");
+	}
+
+	private static class TrackingStream extends ByteArrayOutputStream
+	{
+		private int flushed = 0;
+		private boolean closed = false;
+
+		@Override
+		public void flush()
+		{
+			flushed = size();
+		}
+
+		@Override
+		public void close()
+		{
+			closed = true;
+		}
+	}
+
+	public enum Color
+	{
+		RED,
+		GREEN;
+	}
+
+	public static class Nested
+	{
+		public int[] values = {1, 2};
+		public String nothing = null;
+	}
+
+	public static class Record
+	{
+		public int i = -7;
+		public long l = Long.MIN_VALUE;
+		public double d = 1.0e23;
+		public float f = 0.1f;
+		public boolean bool = true;
+		public Integer boxed = 12;
+		public String text = "line\n\"quoted\" caf\u00e9";
+		public String empty = null;
+		public Color color = Color.GREEN;
+		public Nested nested = new Nested();
+		public Nested[] nesteds = {new Nested(), null};
+		public List<Object> list = Arrays.asList("a", 1, null);
+		public Map<String, Object> map = new LinkedHashMap<>();
+		public JSONObject tree = JSONObject.create(Arrays.asList(1, 2));
+		@JSONName("alias")
+		public String named = "named";
+		@JSONIgnore
+		public String ignored = "ignored";
+
+		public Record()
+		{
+			map.put("z", 1);
+			map.put("a", null);
+			map.put("m", Arrays.asList(true, false));
+		}
+
+		public int getGetter()
+		{
+			return 5;
+		}
+	}
+
+}